@@ -0,0 +1,133 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates a converter class for each pair of Java bean types declared by `@BeanMapping`,
+ * see `tech.firas.framework.bean.BeanMapping` for the name of the generated class
+ *
+ * A pair whose mapping can not be written in plain Java (e.g. a private field read directly) is skipped
+ * with a warning, so that `BeanConverters.getConverter` falls back to `ByFieldNameBeanConverter` at runtime
+ */
+@SupportedAnnotationTypes({BeanMappingProcessor.BEAN_MAPPING, BeanMappingProcessor.BEAN_MAPPINGS})
+public class BeanMappingProcessor extends AbstractProcessor {
+
+    static final String BEAN_MAPPING = "tech.firas.framework.bean.BeanMapping";
+    static final String BEAN_MAPPINGS = "tech.firas.framework.bean.BeanMappings";
+
+    /**
+     * the names of the classes generated in the previous rounds
+     */
+    private final Set<String> generated = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnv) {
+        final Set<Element> elements = new LinkedHashSet<>();
+        for (final TypeElement annotation : annotations) {
+            elements.addAll(roundEnv.getElementsAnnotatedWith(annotation));
+        }
+        for (final Element element : elements) {
+            for (final AnnotationMirror mirror : element.getAnnotationMirrors()) {
+                final String name = ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName()
+                        .toString();
+                if (BEAN_MAPPING.equals(name)) {
+                    generate(element, mirror);
+                } else if (BEAN_MAPPINGS.equals(name)) {
+                    for (final Object value : (List<?>) getValue(mirror, "value")) {
+                        generate(element, (AnnotationMirror) ((AnnotationValue) value).getValue());
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private void generate(final Element element, final AnnotationMirror mirror) {
+        final Object fromType = getValue(mirror, "from");
+        final Object toType = getValue(mirror, "to");
+        if (!(fromType instanceof DeclaredType) || !(toType instanceof DeclaredType)) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "@BeanMapping requires a class for both \"from\" and \"to\"", element, mirror);
+            return;
+        }
+        final TypeElement from = (TypeElement) ((DeclaredType) fromType).asElement();
+        final TypeElement to = (TypeElement) ((DeclaredType) toType).asElement();
+        final BeanMappingWriter writer = new BeanMappingWriter(processingEnv, from, to,
+                (Boolean) getValue(mirror, "allowGetTransient"), (Boolean) getValue(mirror, "allowSetTransient"),
+                (Boolean) getValue(mirror, "allowGetBoolean"), (Boolean) getValue(mirror, "allowDirectlyGetField"),
+                (Boolean) getValue(mirror, "allowDirectlySetField"));
+        final String className = writer.getClassName();
+        if (!this.generated.add(className)) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                    "Duplicated @BeanMapping from " + from + " to " + to, element, mirror);
+            return;
+        }
+
+        final String source;
+        try {
+            source = writer.write();
+        } catch (IllegalStateException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, "Not generating a converter from " +
+                    from + " to " + to + ": " + ex.getMessage(), element, mirror);
+            return;
+        }
+        try (final Writer out = processingEnv.getFiler().createSourceFile(className, element).openWriter()) {
+            out.write(source);
+        } catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Fail to write " + className + ": " + ex.getMessage(), element, mirror);
+        }
+    }
+
+    /**
+     *
+     * @return  the value of the element `name` of the annotation, including the default value
+     */
+    private Object getValue(final AnnotationMirror mirror, final String name) {
+        for (final Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+                processingEnv.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+            if (entry.getKey().getSimpleName().contentEquals(name)) {
+                return entry.getValue().getValue();
+            }
+        }
+        throw new IllegalArgumentException("No element \"" + name + "\" in " + mirror);
+    }
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+
+/**
+ * Writes the source of the converter class of a pair of Java bean types,
+ * mapping the fields by the same rules as `ByFieldNameBeanConverter`, `FieldGetter` and `FieldSetter`
+ * (of the default configuration except the options of `@BeanMapping`)
+ */
+final class BeanMappingWriter {
+
+    private final Elements elements;
+    private final Types types;
+    private final TypeElement from;
+    private final TypeElement to;
+    private final boolean allowGetTransient;
+    private final boolean allowSetTransient;
+    private final boolean allowGetBoolean;
+    private final boolean allowDirectlyGetField;
+    private final boolean allowDirectlySetField;
+
+    private final PackageElement targetPackage;
+    private final String simpleClassName;
+
+    BeanMappingWriter(final ProcessingEnvironment env, final TypeElement from, final TypeElement to,
+            final boolean allowGetTransient, final boolean allowSetTransient, final boolean allowGetBoolean,
+            final boolean allowDirectlyGetField, final boolean allowDirectlySetField) {
+        this.elements = env.getElementUtils();
+        this.types = env.getTypeUtils();
+        this.from = from;
+        this.to = to;
+        this.allowGetTransient = allowGetTransient;
+        this.allowSetTransient = allowSetTransient;
+        this.allowGetBoolean = allowGetBoolean;
+        this.allowDirectlyGetField = allowDirectlyGetField;
+        this.allowDirectlySetField = allowDirectlySetField;
+
+        this.targetPackage = this.elements.getPackageOf(to);
+        final String toName = this.elements.getBinaryName(to).toString();
+        final String toSimpleName = this.targetPackage.isUnnamed() ? toName :
+                toName.substring(this.targetPackage.getQualifiedName().length() + 1);
+        this.simpleClassName = "BeanMappingConverter$" +
+                mangle(this.elements.getBinaryName(from).toString()) + '$' + mangle(toSimpleName);
+    }
+
+    /**
+     * Encode a binary name as a part of a class name, the same as `BeanConverters.mangle`:
+     * '_' is replaced by "_1", '$' by "_2" and '.' by '_'
+     */
+    private static String mangle(final String binaryName) {
+        final StringBuilder builder = new StringBuilder(binaryName.length() + 8);
+        for (int i = 0; i < binaryName.length(); i += 1) {
+            final char c = binaryName.charAt(i);
+            if ('_' == c) {
+                builder.append("_1");
+            } else if ('$' == c) {
+                builder.append("_2");
+            } else if ('.' == c) {
+                builder.append('_');
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     *
+     * @return  the qualified name of the generated class
+     */
+    String getClassName() {
+        return this.targetPackage.isUnnamed() ? this.simpleClassName :
+                this.targetPackage.getQualifiedName() + "." + this.simpleClassName;
+    }
+
+    /**
+     *
+     * @return  the source of the generated class
+     * @throws IllegalStateException  if the mapping can not be written in plain Java
+     */
+    String write() {
+        checkAccessible(this.from);
+        checkAccessible(this.to);
+        checkConstructor();
+
+        final String fromName = this.from.getQualifiedName().toString();
+        final String toName = this.to.getQualifiedName().toString();
+        final StringBuilder sb = new StringBuilder();
+        if (!this.targetPackage.isUnnamed()) {
+            sb.append("package ").append(this.targetPackage.getQualifiedName()).append(";\n\n");
+        }
+        sb.append("/**\n * Converts ").append(fromName).append(" to ").append(toName)
+                .append(", generated by ").append(BeanMappingProcessor.class.getName()).append("\n */\n")
+                .append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("public final class ").append(this.simpleClassName)
+                .append(" implements org.springframework.core.convert.converter.Converter<")
+                .append(fromName).append(", ").append(toName).append("> {\n\n")
+                .append("    @Override\n")
+                .append("    public ").append(toName).append(" convert(final ").append(fromName).append(" src) {\n")
+                .append("        if (null == src) {\n")
+                .append("            return null;\n")
+                .append("        }\n")
+                .append("        final ").append(toName).append(" dest = new ").append(toName).append("();\n");
+        for (final VariableElement field : fields(this.from)) {
+            if (!this.allowGetTransient && field.getModifiers().contains(Modifier.TRANSIENT)) {
+                continue;
+            }
+            final String statement = copyStatement(field);
+            if (null != statement) {
+                sb.append("        ").append(statement).append('\n');
+            }
+        }
+        return sb.append("        return dest;\n")
+                .append("    }\n")
+                .append("}\n").toString();
+    }
+
+    /**
+     *
+     * @return  the statement copying `srcField`, or null if the field is not mapped
+     */
+    private String copyStatement(final VariableElement srcField) {
+        final String name = srcField.getSimpleName().toString();
+        final String capitalized = capitalize(name);
+        final TypeMirror fieldType = erasure(srcField.asType());
+
+        // FieldGetter
+        final List<ExecutableElement> candidates = new ArrayList<>();
+        if (fieldType.getKind() == TypeKind.BOOLEAN) {
+            candidates.addAll(publicMethods(this.from, "is" + capitalized));
+        }
+        if (fieldType.getKind() != TypeKind.BOOLEAN || this.allowGetBoolean) {
+            candidates.addAll(publicMethods(this.from, "get" + capitalized));
+        }
+        String value = null;
+        TypeMirror valueType = null;
+        for (final ExecutableElement method : candidates) {
+            if (method.getParameters().isEmpty() && isAssignable(erasure(method.getReturnType()), fieldType)) {
+                value = "src." + method.getSimpleName() + "()";
+                valueType = method.getReturnType();
+                break;
+            }
+        }
+        if (null == value) {
+            if (!this.allowDirectlyGetField) {
+                return null;
+            }
+            checkAccessible(srcField, false);
+            value = "src." + name;
+            valueType = srcField.asType();
+        }
+        final TypeMirror srcFieldType = objectType(valueType);
+
+        // ByFieldNameBeanConverter.getFieldCopier and FieldSetter
+        for (final VariableElement destField : fields(this.to)) {
+            if (!destField.getSimpleName().contentEquals(name) ||
+                    (!this.allowSetTransient && destField.getModifiers().contains(Modifier.TRANSIENT)) ||
+                    !isAssignable(objectType(destField.asType()), srcFieldType)) {
+                continue;
+            }
+            TypeMirror parameterType = null;
+            String setter = null;
+            for (final ExecutableElement method : publicMethods(this.to, "set" + capitalized)) {
+                if (method.getParameters().size() == 1 && isAssignable(objectType(destField.asType()),
+                        objectType(method.getParameters().get(0).asType()))) {
+                    parameterType = method.getParameters().get(0).asType();
+                    setter = "dest." + method.getSimpleName() + "(%s);";
+                    break;
+                }
+            }
+            if (null == setter) {
+                if (!this.allowDirectlySetField) {
+                    return null;
+                }
+                checkAccessible(destField, true);
+                parameterType = destField.asType();
+                setter = "dest." + name + " = %s;";
+            }
+            if (isAssignable(objectType(parameterType), srcFieldType)) {
+                return String.format(setter, cast(value, valueType, parameterType));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cast a reference value to the raw type if the declared types are not assignable, e.g. of other type arguments
+     */
+    private String cast(final String value, final TypeMirror valueType, final TypeMirror parameterType) {
+        if (valueType.getKind().isPrimitive() || parameterType.getKind().isPrimitive() ||
+                this.types.isAssignable(valueType, parameterType)) {
+            return value;
+        }
+        return "(" + erasure(parameterType) + ") " + value;
+    }
+
+    /**
+     *
+     * @return  the non-static fields from `type` up to its base classes (except Object),
+     *          in the order of `BeanMetadata`
+     */
+    private List<VariableElement> fields(final TypeElement type) {
+        final List<VariableElement> result = new ArrayList<>();
+        for (TypeElement t = type; t != null && !t.getQualifiedName().contentEquals("java.lang.Object");
+                t = superclass(t)) {
+            for (final VariableElement field : ElementFilter.fieldsIn(t.getEnclosedElements())) {
+                if (!field.getModifiers().contains(Modifier.STATIC)) {
+                    result.add(field);
+                }
+            }
+        }
+        return result;
+    }
+
+    private TypeElement superclass(final TypeElement type) {
+        final TypeMirror superclass = type.getSuperclass();
+        return superclass.getKind() == TypeKind.DECLARED ?
+                (TypeElement) ((DeclaredType) superclass).asElement() : null;
+    }
+
+    /**
+     *
+     * @return  the public instance methods of the name, including the inherited ones
+     */
+    private List<ExecutableElement> publicMethods(final TypeElement type, final String name) {
+        final List<ExecutableElement> result = new ArrayList<>();
+        for (final ExecutableElement method : ElementFilter.methodsIn(this.elements.getAllMembers(type))) {
+            final Set<Modifier> modifiers = method.getModifiers();
+            if (method.getSimpleName().contentEquals(name) && modifiers.contains(Modifier.PUBLIC) &&
+                    !modifiers.contains(Modifier.STATIC)) {
+                result.add(method);
+            }
+        }
+        return result;
+    }
+
+    /**
+     *
+     * @return  whether `derived` can be assigned to `base`, like `Class.isAssignableFrom` of the erased types
+     */
+    private boolean isAssignable(final TypeMirror base, final TypeMirror derived) {
+        if (base.getKind().isPrimitive() || derived.getKind().isPrimitive()) {
+            return this.types.isSameType(base, derived);
+        }
+        return this.types.isSubtype(erasure(derived), erasure(base));
+    }
+
+    /**
+     *
+     * @return  the erased boxed type if `type` is primitive, or else the erased type
+     */
+    private TypeMirror objectType(final TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return this.types.boxedClass(this.types.getPrimitiveType(type.getKind())).asType();
+        }
+        return erasure(type);
+    }
+
+    private TypeMirror erasure(final TypeMirror type) {
+        return this.types.erasure(type);
+    }
+
+    private void checkConstructor() {
+        if (this.to.getModifiers().contains(Modifier.ABSTRACT) || (this.to.getNestingKind() == NestingKind.MEMBER &&
+                !this.to.getModifiers().contains(Modifier.STATIC))) {
+            throw new IllegalStateException(this.to + " can not be instantiated");
+        }
+        for (final ExecutableElement constructor : ElementFilter.constructorsIn(this.to.getEnclosedElements())) {
+            if (constructor.getParameters().isEmpty() && constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                return;
+            }
+        }
+        throw new IllegalStateException("There is no public default constructor (no parameter) for " + this.to);
+    }
+
+    /**
+     * @throws IllegalStateException  if the generated class can not refer to `type`
+     */
+    private void checkAccessible(final TypeElement type) {
+        for (Element e = type; e.getKind().isClass() || e.getKind().isInterface(); e = e.getEnclosingElement()) {
+            if (!isAccessible(e)) {
+                throw new IllegalStateException(type + " is not accessible from " + getClassName());
+            }
+        }
+    }
+
+    /**
+     * @throws IllegalStateException  if the generated class can not read (or write) `field` directly
+     */
+    private void checkAccessible(final VariableElement field, final boolean write) {
+        if (!isAccessible(field) || (write && field.getModifiers().contains(Modifier.FINAL))) {
+            throw new IllegalStateException("The field \"" + field.getSimpleName() + "\" of " +
+                    field.getEnclosingElement() + " is not accessible from " + getClassName());
+        }
+    }
+
+    private boolean isAccessible(final Element element) {
+        final Set<Modifier> modifiers = element.getModifiers();
+        if (modifiers.contains(Modifier.PUBLIC)) {
+            return true;
+        }
+        return !modifiers.contains(Modifier.PRIVATE) && this.elements.getPackageOf(element).equals(this.targetPackage);
+    }
+
+    private static String capitalize(final String name) {
+        return name.substring(0, 1).toUpperCase(Locale.US) + name.substring(1);
+    }
+}
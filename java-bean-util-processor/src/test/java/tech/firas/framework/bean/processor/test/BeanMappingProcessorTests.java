@@ -0,0 +1,212 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.processor.test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.core.convert.converter.Converter;
+
+import tech.firas.framework.bean.BeanConverters;
+import tech.firas.framework.bean.ByFieldNameBeanConverter;
+import tech.firas.framework.bean.processor.BeanMappingProcessor;
+
+public class BeanMappingProcessorTests {
+
+    private static final String MAPPINGS = "package sample;\n" +
+            "import tech.firas.framework.bean.BeanMapping;\n" +
+            "import tech.firas.framework.bean.BeanMappings;\n" +
+            "@BeanMappings({\n" +
+            "    @BeanMapping(from = Source.class, to = Target.class),\n" +
+            "    @BeanMapping(from = Source.class, to = Target.Nested.class, allowDirectlySetField = true),\n" +
+            "    @BeanMapping(from = Source.class, to = Hidden.class, allowDirectlySetField = true),\n" +
+            "    @BeanMapping(from = Source.Inner.class, to = Target.class),\n" +
+            "    @BeanMapping(from = Source_Inner.class, to = Target.class)\n" +
+            "})\n" +
+            "public class Mappings {}\n";
+
+    private static final String SOURCE = "package sample;\n" +
+            "import java.util.List;\n" +
+            "public class Source {\n" +
+            "    private int id = 3;\n" +
+            "    private boolean active = true;\n" +
+            "    private String name = \"name\";\n" +
+            "    private transient String secret = \"secret\";\n" +
+            "    private List<String> tags = java.util.Arrays.asList(\"a\", \"b\");\n" +
+            "    private long count = 5;\n" +
+            "    public int getId() { return id; }\n" +
+            "    public boolean isActive() { return active; }\n" +
+            "    public String getName() { return name; }\n" +
+            "    public String getSecret() { return secret; }\n" +
+            "    public List<String> getTags() { return tags; }\n" +
+            "    public long getCount() { return count; }\n" +
+            "    public static class Inner {\n" +
+            "        private String name = \"inner\";\n" +
+            "        public String getName() { return name; }\n" +
+            "    }\n" +
+            "}\n";
+
+    /**
+     * the binary names of `Source.Inner` and `Source_Inner` differ only in '$' and '_'
+     */
+    private static final String SOURCE_INNER = "package sample;\n" +
+            "public class Source_Inner {\n" +
+            "    private String name = \"underscore\";\n" +
+            "    public String getName() { return name; }\n" +
+            "}\n";
+
+    private static final String TARGET = "package sample;\n" +
+            "import java.util.Collection;\n" +
+            "public class Target {\n" +
+            "    private Integer id;\n" +
+            "    private boolean active;\n" +
+            "    private Object name;\n" +
+            "    private String secret;\n" +
+            "    private Collection<Object> tags;\n" +
+            "    private int count;\n" +
+            "    public Integer getId() { return id; }\n" +
+            "    public void setId(Integer id) { this.id = id; }\n" +
+            "    public boolean isActive() { return active; }\n" +
+            "    public void setActive(boolean active) { this.active = active; }\n" +
+            "    public Object getName() { return name; }\n" +
+            "    public void setName(Object name) { this.name = name; }\n" +
+            "    public String getSecret() { return secret; }\n" +
+            "    public void setSecret(String secret) { this.secret = secret; }\n" +
+            "    public Collection<Object> getTags() { return tags; }\n" +
+            "    public void setTags(Collection<Object> tags) { this.tags = tags; }\n" +
+            "    public int getCount() { return count; }\n" +
+            "    public void setCount(int count) { this.count = count; }\n" +
+            "    public static class Nested {\n" +
+            "        int id;\n" +
+            "        public String name;\n" +
+            "        public int getId() { return id; }\n" +
+            "    }\n" +
+            "}\n";
+
+    private static final String HIDDEN = "package sample;\n" +
+            "public class Hidden {\n" +
+            "    private String name;\n" +
+            "    public String getName() { return name; }\n" +
+            "}\n";
+
+    @Test
+    public void test() throws Exception {
+        final File dir = Files.createTempDirectory("bean-mapping").toFile();
+        final File classes = new File(dir, "classes");
+        Assert.assertTrue(classes.mkdir());
+        final List<File> sources = new ArrayList<>();
+        sources.add(write(dir, "Mappings", MAPPINGS));
+        sources.add(write(dir, "Source", SOURCE));
+        sources.add(write(dir, "Source_Inner", SOURCE_INNER));
+        sources.add(write(dir, "Target", TARGET));
+        sources.add(write(dir, "Hidden", HIDDEN));
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        final StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null);
+        final String classpath = location(BeanConverters.class) + File.pathSeparator + location(Converter.class);
+        final JavaCompiler.CompilationTask task = compiler.getTask(new StringWriter(), fileManager, diagnostics,
+                Arrays.asList("-classpath", classpath, "-d", classes.getPath(), "-s", dir.getPath()), null,
+                fileManager.getJavaFileObjectsFromFiles(sources));
+        task.setProcessors(Arrays.asList(new BeanMappingProcessor()));
+        final boolean success = task.call();
+        fileManager.close();
+
+        boolean warned = false;
+        for (final Diagnostic<? extends JavaFileObject> diagnostic : diagnostics.getDiagnostics()) {
+            final String message = diagnostic.getMessage(Locale.US);
+            warned |= diagnostic.getKind() == Diagnostic.Kind.WARNING && message.contains("sample.Hidden");
+            Assert.assertFalse(message, message.contains("Duplicated"));
+        }
+        Assert.assertTrue(diagnostics.getDiagnostics().toString(), success);
+        Assert.assertTrue(diagnostics.getDiagnostics().toString(), warned);
+
+        try (final URLClassLoader loader = new URLClassLoader(new URL[] {classes.toURI().toURL()},
+                BeanMappingProcessorTests.class.getClassLoader())) {
+            final Class<?> source = loader.loadClass("sample.Source");
+            final Class<?> target = loader.loadClass("sample.Target");
+
+            final Converter<?, ?> generated = BeanConverters.getConverter(source, target);
+            Assert.assertEquals("sample.BeanMappingConverter$sample_Source$Target", generated.getClass().getName());
+            final Object expected = convert(new ByFieldNameBeanConverter<>(source, target, null),
+                    source.newInstance());
+            final Object actual = convert(generated, source.newInstance());
+            for (final String getter : new String[] {"getId", "isActive", "getName", "getSecret", "getTags",
+                    "getCount"}) {
+                final Method method = target.getMethod(getter);
+                Assert.assertEquals(getter, method.invoke(expected), method.invoke(actual));
+            }
+            Assert.assertEquals(3, target.getMethod("getId").invoke(actual));
+            Assert.assertNull(target.getMethod("getSecret").invoke(actual));
+            Assert.assertEquals(0, target.getMethod("getCount").invoke(actual));
+
+            final Class<?> nested = loader.loadClass("sample.Target$Nested");
+            final Object nestedResult = convert(BeanConverters.getConverter(source, nested), source.newInstance());
+            Assert.assertEquals("sample.BeanMappingConverter$sample_Source$Target_2Nested",
+                    BeanConverters.getConverter(source, nested).getClass().getName());
+            Assert.assertEquals(3, nested.getMethod("getId").invoke(nestedResult));
+            Assert.assertEquals("name", nested.getField("name").get(nestedResult));
+
+            Assert.assertTrue(BeanConverters.getConverter(source, loader.loadClass("sample.Hidden"))
+                    instanceof ByFieldNameBeanConverter);
+
+            final Class<?> inner = loader.loadClass("sample.Source$Inner");
+            final Class<?> underscore = loader.loadClass("sample.Source_Inner");
+            Assert.assertEquals("sample.BeanMappingConverter$sample_Source_2Inner$Target",
+                    BeanConverters.getConverter(inner, target).getClass().getName());
+            Assert.assertEquals("sample.BeanMappingConverter$sample_Source_1Inner$Target",
+                    BeanConverters.getConverter(underscore, target).getClass().getName());
+            Assert.assertEquals("inner", target.getMethod("getName").invoke(
+                    convert(BeanConverters.getConverter(inner, target), inner.newInstance())));
+            Assert.assertEquals("underscore", target.getMethod("getName").invoke(
+                    convert(BeanConverters.getConverter(underscore, target), underscore.newInstance())));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Object convert(final Converter<?, ?> converter, final Object src) {
+        return ((Converter<Object, ?>) converter).convert(src);
+    }
+
+    private static File write(final File dir, final String name, final String source) throws IOException {
+        final File file = new File(dir, name + ".java");
+        Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static String location(final Class<?> clazz) throws Exception {
+        return new File(clazz.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tech.firas.framework.bean.FieldGetter;
+import tech.firas.framework.bean.FieldSetter;
+
+/**
+ * The getter-only and setter-only paths, through a getter / setter method or directly to the field
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccessorBenchmark {
+
+    private FieldGetter<Beans.PrimitiveBean> longGetter;
+    private FieldGetter<Beans.ReferenceBean> stringGetter;
+    private FieldSetter<Beans.PrimitiveDto> longSetter;
+    private FieldSetter<Beans.ReferenceDto> stringSetter;
+    private FieldGetter<Beans.FieldBean> longFieldGetter;
+    private FieldGetter<Beans.FieldBean> stringFieldGetter;
+    private FieldSetter<Beans.FieldBean> longFieldSetter;
+    private FieldSetter<Beans.FieldBean> stringFieldSetter;
+
+    private final Beans.PrimitiveBean primitiveBean = new Beans.PrimitiveBean();
+    private final Beans.ReferenceBean referenceBean = new Beans.ReferenceBean();
+    private final Beans.PrimitiveDto primitiveDto = new Beans.PrimitiveDto();
+    private final Beans.ReferenceDto referenceDto = new Beans.ReferenceDto();
+    private final Beans.FieldBean fieldBean = new Beans.FieldBean();
+    private long longValue = 42L;
+
+    @Setup
+    public void setup() throws NoSuchFieldException, NoSuchMethodException {
+        final FieldGetter.Configuration getterConf = new FieldGetter.Configuration();
+        getterConf.setAllowDirectlyGetField(true);
+        final FieldSetter.Configuration setterConf = new FieldSetter.Configuration();
+        setterConf.setAllowDirectlySetField(true);
+        longGetter = new FieldGetter<>(Beans.PrimitiveBean.class,
+                Beans.PrimitiveBean.class.getDeclaredField("l1"), getterConf);
+        stringGetter = new FieldGetter<>(Beans.ReferenceBean.class,
+                Beans.ReferenceBean.class.getDeclaredField("s1"), getterConf);
+        longSetter = new FieldSetter<>(Beans.PrimitiveDto.class,
+                Beans.PrimitiveDto.class.getDeclaredField("l1"), setterConf);
+        stringSetter = new FieldSetter<>(Beans.ReferenceDto.class,
+                Beans.ReferenceDto.class.getDeclaredField("s1"), setterConf);
+        longFieldGetter = new FieldGetter<>(Beans.FieldBean.class,
+                Beans.FieldBean.class.getDeclaredField("l1"), getterConf);
+        stringFieldGetter = new FieldGetter<>(Beans.FieldBean.class,
+                Beans.FieldBean.class.getDeclaredField("s1"), getterConf);
+        longFieldSetter = new FieldSetter<>(Beans.FieldBean.class,
+                Beans.FieldBean.class.getDeclaredField("l1"), setterConf);
+        stringFieldSetter = new FieldSetter<>(Beans.FieldBean.class,
+                Beans.FieldBean.class.getDeclaredField("s1"), setterConf);
+    }
+
+    @Benchmark
+    public long getLongByMethod() throws InvocationTargetException, IllegalAccessException {
+        return longGetter.getLong(primitiveBean);
+    }
+
+    @Benchmark
+    public Object getBoxedLongByMethod() throws InvocationTargetException, IllegalAccessException {
+        return longGetter.get(primitiveBean);
+    }
+
+    @Benchmark
+    public Object getStringByMethod() throws InvocationTargetException, IllegalAccessException {
+        return stringGetter.get(referenceBean);
+    }
+
+    @Benchmark
+    public void setLongByMethod() throws InvocationTargetException, IllegalAccessException {
+        longSetter.setLong(primitiveDto, longValue);
+    }
+
+    @Benchmark
+    public void setStringByMethod() throws InvocationTargetException, IllegalAccessException {
+        stringSetter.set(referenceDto, "s");
+    }
+
+    @Benchmark
+    public long getLongByField() throws InvocationTargetException, IllegalAccessException {
+        return longFieldGetter.getLong(fieldBean);
+    }
+
+    @Benchmark
+    public Object getStringByField() throws InvocationTargetException, IllegalAccessException {
+        return stringFieldGetter.get(fieldBean);
+    }
+
+    @Benchmark
+    public void setLongByField() throws InvocationTargetException, IllegalAccessException {
+        longFieldSetter.setLong(fieldBean, longValue);
+    }
+
+    @Benchmark
+    public void setStringByField() throws InvocationTargetException, IllegalAccessException {
+        stringFieldSetter.set(fieldBean, "s");
+    }
+}
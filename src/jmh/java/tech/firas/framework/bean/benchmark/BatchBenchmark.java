@@ -0,0 +1,74 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tech.firas.framework.bean.ByFieldNameBeanConverter;
+
+/**
+ * The per-element cost of converting an array by {@link ByFieldNameBeanConverter#convertAll(Object[])},
+ * compared with calling {@link ByFieldNameBeanConverter#convert(Object)} for each element
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchBenchmark {
+
+    private static final int SIZE = 1000;
+
+    private ByFieldNameBeanConverter<Beans.PrimitiveBean, Beans.PrimitiveDto> converter;
+    private final Beans.PrimitiveBean[] beans = new Beans.PrimitiveBean[SIZE];
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        converter = new ByFieldNameBeanConverter<>(Beans.PrimitiveBean.class, Beans.PrimitiveDto.class, null);
+        for (int i = 0; i < SIZE; i += 1) {
+            beans[i] = new Beans.PrimitiveBean();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public Beans.PrimitiveDto[] convertEach() {
+        final Beans.PrimitiveDto[] result = new Beans.PrimitiveDto[SIZE];
+        for (int i = 0; i < SIZE; i += 1) {
+            result[i] = converter.convert(beans[i]);
+        }
+        return result;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public Beans.PrimitiveDto[] convertAll() {
+        return converter.convertAll(beans);
+    }
+}
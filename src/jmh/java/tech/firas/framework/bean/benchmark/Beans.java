@@ -0,0 +1,550 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The Java beans converted in the benchmarks
+ */
+public final class Beans {
+
+    private Beans() {}
+
+    public static class PrimitiveBean {
+        private int i1 = 1;
+        private int i2 = 2;
+        private long l1 = 3L;
+        private long l2 = 4L;
+        private double d1 = 5.0;
+        private double d2 = 6.0;
+        private float f1 = 7f;
+        private short s1 = (short) 8;
+        private byte b1 = (byte) 9;
+        private boolean z1 = true;
+        private char c1 = 'c';
+
+        public int getI1() {
+            return i1;
+        }
+
+        public void setI1(final int i1) {
+            this.i1 = i1;
+        }
+
+        public int getI2() {
+            return i2;
+        }
+
+        public void setI2(final int i2) {
+            this.i2 = i2;
+        }
+
+        public long getL1() {
+            return l1;
+        }
+
+        public void setL1(final long l1) {
+            this.l1 = l1;
+        }
+
+        public long getL2() {
+            return l2;
+        }
+
+        public void setL2(final long l2) {
+            this.l2 = l2;
+        }
+
+        public double getD1() {
+            return d1;
+        }
+
+        public void setD1(final double d1) {
+            this.d1 = d1;
+        }
+
+        public double getD2() {
+            return d2;
+        }
+
+        public void setD2(final double d2) {
+            this.d2 = d2;
+        }
+
+        public float getF1() {
+            return f1;
+        }
+
+        public void setF1(final float f1) {
+            this.f1 = f1;
+        }
+
+        public short getS1() {
+            return s1;
+        }
+
+        public void setS1(final short s1) {
+            this.s1 = s1;
+        }
+
+        public byte getB1() {
+            return b1;
+        }
+
+        public void setB1(final byte b1) {
+            this.b1 = b1;
+        }
+
+        public boolean isZ1() {
+            return z1;
+        }
+
+        public void setZ1(final boolean z1) {
+            this.z1 = z1;
+        }
+
+        public char getC1() {
+            return c1;
+        }
+
+        public void setC1(final char c1) {
+            this.c1 = c1;
+        }
+    }
+
+    public static class PrimitiveDto {
+        private int i1;
+        private int i2;
+        private long l1;
+        private long l2;
+        private double d1;
+        private double d2;
+        private float f1;
+        private short s1;
+        private byte b1;
+        private boolean z1;
+        private char c1;
+
+        public int getI1() {
+            return i1;
+        }
+
+        public void setI1(final int i1) {
+            this.i1 = i1;
+        }
+
+        public int getI2() {
+            return i2;
+        }
+
+        public void setI2(final int i2) {
+            this.i2 = i2;
+        }
+
+        public long getL1() {
+            return l1;
+        }
+
+        public void setL1(final long l1) {
+            this.l1 = l1;
+        }
+
+        public long getL2() {
+            return l2;
+        }
+
+        public void setL2(final long l2) {
+            this.l2 = l2;
+        }
+
+        public double getD1() {
+            return d1;
+        }
+
+        public void setD1(final double d1) {
+            this.d1 = d1;
+        }
+
+        public double getD2() {
+            return d2;
+        }
+
+        public void setD2(final double d2) {
+            this.d2 = d2;
+        }
+
+        public float getF1() {
+            return f1;
+        }
+
+        public void setF1(final float f1) {
+            this.f1 = f1;
+        }
+
+        public short getS1() {
+            return s1;
+        }
+
+        public void setS1(final short s1) {
+            this.s1 = s1;
+        }
+
+        public byte getB1() {
+            return b1;
+        }
+
+        public void setB1(final byte b1) {
+            this.b1 = b1;
+        }
+
+        public boolean isZ1() {
+            return z1;
+        }
+
+        public void setZ1(final boolean z1) {
+            this.z1 = z1;
+        }
+
+        public char getC1() {
+            return c1;
+        }
+
+        public void setC1(final char c1) {
+            this.c1 = c1;
+        }
+    }
+
+    public static class ReferenceBean {
+        private String s1 = "s1";
+        private String s2 = "s2";
+        private Integer i1 = 1;
+        private Long l1 = 2L;
+        private Double d1 = 3.0;
+        private BigDecimal n1 = BigDecimal.TEN;
+        private Date t1 = new Date(0L);
+        private List<String> list = Collections.singletonList("x");
+
+        public String getS1() {
+            return s1;
+        }
+
+        public void setS1(final String s1) {
+            this.s1 = s1;
+        }
+
+        public String getS2() {
+            return s2;
+        }
+
+        public void setS2(final String s2) {
+            this.s2 = s2;
+        }
+
+        public Integer getI1() {
+            return i1;
+        }
+
+        public void setI1(final Integer i1) {
+            this.i1 = i1;
+        }
+
+        public Long getL1() {
+            return l1;
+        }
+
+        public void setL1(final Long l1) {
+            this.l1 = l1;
+        }
+
+        public Double getD1() {
+            return d1;
+        }
+
+        public void setD1(final Double d1) {
+            this.d1 = d1;
+        }
+
+        public BigDecimal getN1() {
+            return n1;
+        }
+
+        public void setN1(final BigDecimal n1) {
+            this.n1 = n1;
+        }
+
+        public Date getT1() {
+            return t1;
+        }
+
+        public void setT1(final Date t1) {
+            this.t1 = t1;
+        }
+
+        public List<String> getList() {
+            return list;
+        }
+
+        public void setList(final List<String> list) {
+            this.list = list;
+        }
+    }
+
+    public static class ReferenceDto {
+        private String s1;
+        private String s2;
+        private Integer i1;
+        private Long l1;
+        private Double d1;
+        private BigDecimal n1;
+        private Date t1;
+        private List<String> list;
+
+        public String getS1() {
+            return s1;
+        }
+
+        public void setS1(final String s1) {
+            this.s1 = s1;
+        }
+
+        public String getS2() {
+            return s2;
+        }
+
+        public void setS2(final String s2) {
+            this.s2 = s2;
+        }
+
+        public Integer getI1() {
+            return i1;
+        }
+
+        public void setI1(final Integer i1) {
+            this.i1 = i1;
+        }
+
+        public Long getL1() {
+            return l1;
+        }
+
+        public void setL1(final Long l1) {
+            this.l1 = l1;
+        }
+
+        public Double getD1() {
+            return d1;
+        }
+
+        public void setD1(final Double d1) {
+            this.d1 = d1;
+        }
+
+        public BigDecimal getN1() {
+            return n1;
+        }
+
+        public void setN1(final BigDecimal n1) {
+            this.n1 = n1;
+        }
+
+        public Date getT1() {
+            return t1;
+        }
+
+        public void setT1(final Date t1) {
+            this.t1 = t1;
+        }
+
+        public List<String> getList() {
+            return list;
+        }
+
+        public void setList(final List<String> list) {
+            this.list = list;
+        }
+    }
+
+    public static class DeepBase {
+        private int a0 = 1;
+        private String b0 = "b0";
+
+        public int getA0() {
+            return a0;
+        }
+
+        public void setA0(final int a0) {
+            this.a0 = a0;
+        }
+
+        public String getB0() {
+            return b0;
+        }
+
+        public void setB0(final String b0) {
+            this.b0 = b0;
+        }
+    }
+
+    public static class DeepMiddle extends DeepBase {
+        private int a1 = 2;
+        private String b1 = "b1";
+
+        public int getA1() {
+            return a1;
+        }
+
+        public void setA1(final int a1) {
+            this.a1 = a1;
+        }
+
+        public String getB1() {
+            return b1;
+        }
+
+        public void setB1(final String b1) {
+            this.b1 = b1;
+        }
+    }
+
+    public static class DeepUpper extends DeepMiddle {
+        private int a2 = 3;
+        private String b2 = "b2";
+
+        public int getA2() {
+            return a2;
+        }
+
+        public void setA2(final int a2) {
+            this.a2 = a2;
+        }
+
+        public String getB2() {
+            return b2;
+        }
+
+        public void setB2(final String b2) {
+            this.b2 = b2;
+        }
+    }
+
+    public static class DeepBean extends DeepUpper {
+        private int a3 = 4;
+        private String b3 = "b3";
+
+        public int getA3() {
+            return a3;
+        }
+
+        public void setA3(final int a3) {
+            this.a3 = a3;
+        }
+
+        public String getB3() {
+            return b3;
+        }
+
+        public void setB3(final String b3) {
+            this.b3 = b3;
+        }
+    }
+
+    public static class DeepDto {
+        private int a0;
+        private String b0;
+        private int a1;
+        private String b1;
+        private int a2;
+        private String b2;
+        private int a3;
+        private String b3;
+
+        public int getA0() {
+            return a0;
+        }
+
+        public void setA0(final int a0) {
+            this.a0 = a0;
+        }
+
+        public String getB0() {
+            return b0;
+        }
+
+        public void setB0(final String b0) {
+            this.b0 = b0;
+        }
+
+        public int getA1() {
+            return a1;
+        }
+
+        public void setA1(final int a1) {
+            this.a1 = a1;
+        }
+
+        public String getB1() {
+            return b1;
+        }
+
+        public void setB1(final String b1) {
+            this.b1 = b1;
+        }
+
+        public int getA2() {
+            return a2;
+        }
+
+        public void setA2(final int a2) {
+            this.a2 = a2;
+        }
+
+        public String getB2() {
+            return b2;
+        }
+
+        public void setB2(final String b2) {
+            this.b2 = b2;
+        }
+
+        public int getA3() {
+            return a3;
+        }
+
+        public void setA3(final int a3) {
+            this.a3 = a3;
+        }
+
+        public String getB3() {
+            return b3;
+        }
+
+        public void setB3(final String b3) {
+            this.b3 = b3;
+        }
+    }
+
+    /**
+     * a Java bean without getters / setters, whose fields can only be accessed directly
+     */
+    public static class FieldBean {
+        private long l1 = 3L;
+        private String s1 = "s1";
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tech.firas.framework.bean.BeanConverters;
+import tech.firas.framework.bean.ByFieldNameBeanConverter;
+
+/**
+ * The cost of building a converter, compared with getting the shared one from {@link BeanConverters}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConstructionBenchmark {
+
+    @Benchmark
+    public ByFieldNameBeanConverter<Beans.PrimitiveBean, Beans.PrimitiveDto> constructPrimitive()
+            throws NoSuchMethodException {
+        return new ByFieldNameBeanConverter<>(Beans.PrimitiveBean.class, Beans.PrimitiveDto.class, null);
+    }
+
+    @Benchmark
+    public ByFieldNameBeanConverter<Beans.ReferenceBean, Beans.ReferenceDto> constructReference()
+            throws NoSuchMethodException {
+        return new ByFieldNameBeanConverter<>(Beans.ReferenceBean.class, Beans.ReferenceDto.class, null);
+    }
+
+    @Benchmark
+    public ByFieldNameBeanConverter<Beans.DeepBean, Beans.DeepDto> constructDeep() throws NoSuchMethodException {
+        return new ByFieldNameBeanConverter<>(Beans.DeepBean.class, Beans.DeepDto.class, null);
+    }
+
+    @Benchmark
+    public ByFieldNameBeanConverter<Beans.PrimitiveBean, Beans.PrimitiveDto> registryPrimitive()
+            throws NoSuchMethodException {
+        return BeanConverters.get(Beans.PrimitiveBean.class, Beans.PrimitiveDto.class);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tech.firas.framework.bean.ByFieldNameBeanConverter;
+
+/**
+ * The throughput of converting a single Java bean, by reflection or by a generated copier
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ConvertBenchmark {
+
+    @Param({"false", "true"})
+    private boolean allowBytecodeGeneration;
+
+    private ByFieldNameBeanConverter<Beans.PrimitiveBean, Beans.PrimitiveDto> primitiveConverter;
+    private ByFieldNameBeanConverter<Beans.ReferenceBean, Beans.ReferenceDto> referenceConverter;
+    private ByFieldNameBeanConverter<Beans.DeepBean, Beans.DeepDto> deepConverter;
+
+    private final Beans.PrimitiveBean primitiveBean = new Beans.PrimitiveBean();
+    private final Beans.ReferenceBean referenceBean = new Beans.ReferenceBean();
+    private final Beans.DeepBean deepBean = new Beans.DeepBean();
+    private final Beans.PrimitiveDto primitiveDto = new Beans.PrimitiveDto();
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+        conf.setAllowBytecodeGeneration(allowBytecodeGeneration);
+        primitiveConverter = new ByFieldNameBeanConverter<>(Beans.PrimitiveBean.class, Beans.PrimitiveDto.class, conf);
+        referenceConverter = new ByFieldNameBeanConverter<>(Beans.ReferenceBean.class, Beans.ReferenceDto.class, conf);
+        deepConverter = new ByFieldNameBeanConverter<>(Beans.DeepBean.class, Beans.DeepDto.class, conf);
+    }
+
+    @Benchmark
+    public Beans.PrimitiveDto convertPrimitive() {
+        return primitiveConverter.convert(primitiveBean);
+    }
+
+    @Benchmark
+    public Beans.ReferenceDto convertReference() {
+        return referenceConverter.convert(referenceBean);
+    }
+
+    @Benchmark
+    public Beans.DeepDto convertDeep() {
+        return deepConverter.convert(deepBean);
+    }
+
+    @Benchmark
+    public Beans.PrimitiveDto copyIntoPrimitive() {
+        return primitiveConverter.copyInto(primitiveBean, primitiveDto);
+    }
+}
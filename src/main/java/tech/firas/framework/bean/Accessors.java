@@ -0,0 +1,489 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Creates the objects that {@link FieldGetter} and {@link FieldSetter} use to access a field
+ *
+ * In order of preference, an accessor is
+ * 1. a class spun by `java.lang.invoke.LambdaMetafactory` (Java 8+) that calls the getter / setter directly
+ * 2. a {@link MethodHandle} bound once at construction
+ * 3. {@link Method#invoke} / {@link Field#get} / {@link Field#set}
+ *
+ * LambdaMetafactory is looked up by reflection so that this library still runs on Java 7
+ */
+final class Accessors {
+
+    private static final Logger logger = Logger.getLogger(Accessors.class.getName());
+
+    private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    private static final MethodType getType = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType setType = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * `LambdaMetafactory.metafactory`, or null if it is not available
+     */
+    private static final MethodHandle metafactory = findMetafactory();
+
+    private Accessors() {}
+
+    interface ValueGetter {
+        Object get(Object obj) throws Throwable;
+    }
+
+    interface ValueSetter {
+        void set(Object obj, Object value) throws Throwable;
+    }
+
+    /**
+     * the kinds of the accessors cached in the {@link BeanMetadata} of the declaring class of the field / method
+     */
+    private enum Kind {
+        GETTER, SETTER, PRIMITIVE_GETTER, PRIMITIVE_SETTER
+    }
+
+    /**
+     * the ways to access a member, in order of preference
+     */
+    enum Tier {
+        SPUN, HANDLE, REFLECTIVE
+    }
+
+    /**
+     * marks in the cache that no primitive method handle can be created
+     */
+    private static final Object NONE = new Object();
+
+    static ValueGetter getter(final Method method) {
+        return (ValueGetter) cached(Kind.GETTER, method);
+    }
+
+    /**
+     * @param field  a field that has been made accessible
+     */
+    static ValueGetter getter(final Field field) {
+        return (ValueGetter) cached(Kind.GETTER, field);
+    }
+
+    static ValueSetter setter(final Method method) {
+        return (ValueSetter) cached(Kind.SETTER, method);
+    }
+
+    /**
+     * @param field  a field that has been made accessible
+     */
+    static ValueSetter setter(final Field field) {
+        return (ValueSetter) cached(Kind.SETTER, field);
+    }
+
+    /**
+     * @return  a method handle of type (Object)p that calls `method` without boxing,
+     *          where p is the primitive return type of `method`, or null if it is not possible
+     */
+    static MethodHandle primitiveGetter(final Method method) {
+        final Object handle = cached(Kind.PRIMITIVE_GETTER, method);
+        return handle == NONE ? null : (MethodHandle) handle;
+    }
+
+    /**
+     * @param field  a field of a primitive type that has been made accessible
+     * @return  a method handle of type (Object)p that reads `field` without boxing, or null if it is not possible
+     */
+    static MethodHandle primitiveGetter(final Field field) {
+        final Object handle = cached(Kind.PRIMITIVE_GETTER, field);
+        return handle == NONE ? null : (MethodHandle) handle;
+    }
+
+    /**
+     * @return  a method handle of type (Object,p)V that calls `method` without boxing,
+     *          where p is the primitive parameter type of `method`, or null if it is not possible
+     */
+    static MethodHandle primitiveSetter(final Method method) {
+        final Object handle = cached(Kind.PRIMITIVE_SETTER, method);
+        return handle == NONE ? null : (MethodHandle) handle;
+    }
+
+    /**
+     * @param field  a field of a primitive type that has been made accessible
+     * @return  a method handle of type (Object,p)V that writes `field` without boxing,
+     *          or null if it is not possible
+     */
+    static MethodHandle primitiveSetter(final Field field) {
+        final Object handle = cached(Kind.PRIMITIVE_SETTER, field);
+        return handle == NONE ? null : (MethodHandle) handle;
+    }
+
+    /**
+     * Get the accessor of `member` from the cache, creating it if it is not cached yet,
+     * so that the accessors (especially the spun classes) are shared by all getters / setters of the member
+     */
+    private static Object cached(final Kind kind, final Member member) {
+        final BeanMetadata metadata = BeanMetadata.forClass(member.getDeclaringClass());
+        final List<Object> key = Arrays.asList(kind, member);
+        final Object cached = metadata.getAccessor(key);
+        if (cached != null) {
+            return cached;
+        }
+        final Object accessor = create(kind, member);
+        return metadata.putAccessor(key, accessor == null ? NONE : accessor);
+    }
+
+    private static Object create(final Kind kind, final Member member) {
+        switch (kind) {
+            case GETTER:
+                return member instanceof Method ?
+                        createGetter((Method) member, Tier.SPUN) : createGetter((Field) member, Tier.HANDLE);
+            case SETTER:
+                return member instanceof Method ?
+                        createSetter((Method) member, Tier.SPUN) : createSetter((Field) member, Tier.HANDLE);
+            case PRIMITIVE_GETTER:
+                return member instanceof Method ?
+                        createPrimitiveGetter((Method) member) : createPrimitiveGetter((Field) member);
+            default:
+                return member instanceof Method ?
+                        createPrimitiveSetter((Method) member) : createPrimitiveSetter((Field) member);
+        }
+    }
+
+    /**
+     * Create a getter calling `method`, trying the tiers from `tier` down to {@link Tier#REFLECTIVE}
+     *
+     * Not cached, {@link #getter(Method)} should be used instead except to force a tier
+     */
+    static ValueGetter createGetter(final Method method, final Tier tier) {
+        if (tier == Tier.SPUN) {
+            final ValueGetter spun = spin(ValueGetter.class, "get", getType, method,
+                    MethodType.methodType(ObjectType.getObjectType(method.getReturnType()),
+                            method.getDeclaringClass()));
+            if (spun != null) {
+                return spun;
+            }
+        }
+        if (tier != Tier.REFLECTIVE) {
+            try {
+                return new HandleGetter(lookup.unreflect(method).asType(getType));
+            } catch (IllegalAccessException | RuntimeException ex) {
+                logger.log(Level.FINE, "Fail to get a method handle of " + method, ex);
+            }
+        }
+        return new ReflectiveMethodGetter(method);
+    }
+
+    /**
+     * Create a getter reading `field`, {@link Tier#SPUN} is the same as {@link Tier#HANDLE} for a field
+     * @param field  a field that has been made accessible
+     */
+    static ValueGetter createGetter(final Field field, final Tier tier) {
+        if (tier != Tier.REFLECTIVE) {
+            try {
+                return new HandleGetter(lookup.unreflectGetter(field).asType(getType));
+            } catch (IllegalAccessException | RuntimeException ex) {
+                logger.log(Level.FINE, "Fail to get a method handle to read " + field, ex);
+            }
+        }
+        return new ReflectiveFieldGetter(field);
+    }
+
+    /**
+     * Create a setter calling `method`, trying the tiers from `tier` down to {@link Tier#REFLECTIVE}
+     *
+     * Not cached, {@link #setter(Method)} should be used instead except to force a tier
+     */
+    static ValueSetter createSetter(final Method method, final Tier tier) {
+        if (tier == Tier.SPUN) {
+            final Class<?> parameterType = method.getParameterTypes()[0];
+            final ValueSetter spun = spin(ValueSetter.class, "set", setType, method,
+                    MethodType.methodType(void.class, method.getDeclaringClass(),
+                            ObjectType.getObjectType(parameterType)));
+            if (spun != null) {
+                if (!parameterType.isPrimitive()) {
+                    return spun;
+                }
+                try {
+                    return new SpunPrimitiveSetter(spun, ObjectType.getObjectType(parameterType),
+                            lookup.unreflect(method).asType(setType));
+                } catch (IllegalAccessException | RuntimeException ex) {
+                    logger.log(Level.FINE, "Fail to get a method handle of " + method, ex);
+                }
+            }
+        }
+        if (tier != Tier.REFLECTIVE) {
+            try {
+                return new HandleSetter(lookup.unreflect(method).asType(setType));
+            } catch (IllegalAccessException | RuntimeException ex) {
+                logger.log(Level.FINE, "Fail to get a method handle of " + method, ex);
+            }
+        }
+        return new ReflectiveMethodSetter(method);
+    }
+
+    /**
+     * Create a setter writing `field`, {@link Tier#SPUN} is the same as {@link Tier#HANDLE} for a field
+     * @param field  a field that has been made accessible
+     */
+    static ValueSetter createSetter(final Field field, final Tier tier) {
+        if (tier != Tier.REFLECTIVE) {
+            try {
+                return new HandleSetter(lookup.unreflectSetter(field).asType(setType));
+            } catch (IllegalAccessException | RuntimeException ex) {
+                logger.log(Level.FINE, "Fail to get a method handle to write " + field, ex);
+            }
+        }
+        return new ReflectiveFieldSetter(field);
+    }
+
+    /**
+     * @return  a method handle of type (Object)p that calls `method` without boxing,
+     *          where p is the primitive return type of `method`, or null if it is not possible
+     */
+    private static MethodHandle createPrimitiveGetter(final Method method) {
+        try {
+            return lookup.unreflect(method).asType(MethodType.methodType(method.getReturnType(), Object.class));
+        } catch (IllegalAccessException | RuntimeException ex) {
+            logger.log(Level.FINE, "Fail to get a method handle of " + method, ex);
+            return null;
+        }
+    }
+
+    /**
+     * @param field  a field of a primitive type that has been made accessible
+     * @return  a method handle of type (Object)p that reads `field` without boxing, or null if it is not possible
+     */
+    private static MethodHandle createPrimitiveGetter(final Field field) {
+        try {
+            return lookup.unreflectGetter(field).asType(MethodType.methodType(field.getType(), Object.class));
+        } catch (IllegalAccessException | RuntimeException ex) {
+            logger.log(Level.FINE, "Fail to get a method handle to read " + field, ex);
+            return null;
+        }
+    }
+
+    /**
+     * @return  a method handle of type (Object,p)V that calls `method` without boxing,
+     *          where p is the primitive parameter type of `method`, or null if it is not possible
+     */
+    private static MethodHandle createPrimitiveSetter(final Method method) {
+        try {
+            return lookup.unreflect(method).asType(
+                    MethodType.methodType(void.class, Object.class, method.getParameterTypes()[0]));
+        } catch (IllegalAccessException | RuntimeException ex) {
+            logger.log(Level.FINE, "Fail to get a method handle of " + method, ex);
+            return null;
+        }
+    }
+
+    /**
+     * @param field  a field of a primitive type that has been made accessible
+     * @return  a method handle of type (Object,p)V that writes `field` without boxing,
+     *          or null if it is not possible
+     */
+    private static MethodHandle createPrimitiveSetter(final Field field) {
+        try {
+            return lookup.unreflectSetter(field).asType(
+                    MethodType.methodType(void.class, Object.class, field.getType()));
+        } catch (IllegalAccessException | RuntimeException ex) {
+            logger.log(Level.FINE, "Fail to get a method handle to write " + field, ex);
+            return null;
+        }
+    }
+
+    private static MethodHandle findMetafactory() {
+        try {
+            return lookup.findStatic(Class.forName("java.lang.invoke.LambdaMetafactory"), "metafactory",
+                    MethodType.methodType(CallSite.class, MethodHandles.Lookup.class, String.class,
+                            MethodType.class, MethodType.class, MethodHandle.class, MethodType.class));
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException ex) {
+            logger.fine("LambdaMetafactory is not available, using method handles only");
+            return null;
+        }
+    }
+
+    /**
+     * Spin an implementation of `interfaceType` that calls `method` directly
+     * @return  the implementation, or null if it can not be spun
+     */
+    private static <T> T spin(final Class<T> interfaceType, final String interfaceMethodName,
+            final MethodType interfaceMethodType, final Method method, final MethodType instantiatedMethodType) {
+        if (metafactory == null || !isVisible(method)) {
+            return null;
+        }
+        try {
+            final CallSite callSite = (CallSite) metafactory.invoke(lookup, interfaceMethodName,
+                    MethodType.methodType(interfaceType), interfaceMethodType, lookup.unreflect(method),
+                    instantiatedMethodType);
+            return interfaceType.cast(callSite.getTarget().invoke());
+        } catch (Throwable ex) {
+            logger.log(Level.FINE, "Fail to spin an accessor for " + method, ex);
+            return null;
+        }
+    }
+
+    /**
+     * The spun class resolves the types in the signature of `method` by the class loader of this library,
+     * so they must be the same types that the class loader of this library sees
+     */
+    private static boolean isVisible(final Method method) {
+        if (!isVisible(method.getDeclaringClass()) || !isVisible(method.getReturnType())) {
+            return false;
+        }
+        for (final Class<?> type : method.getParameterTypes()) {
+            if (!isVisible(type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isVisible(final Class<?> clazz) {
+        Class<?> type = clazz;
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        try {
+            return Class.forName(type.getName(), false, Accessors.class.getClassLoader()) == type;
+        } catch (ClassNotFoundException | LinkageError ex) {
+            return false;
+        }
+    }
+
+    private static final class HandleGetter implements ValueGetter {
+
+        private final MethodHandle handle;
+
+        HandleGetter(final MethodHandle handle) {
+            this.handle = handle;
+        }
+
+        @Override
+        public Object get(final Object obj) throws Throwable {
+            return (Object) this.handle.invokeExact(obj);
+        }
+    }
+
+    private static final class HandleSetter implements ValueSetter {
+
+        private final MethodHandle handle;
+
+        HandleSetter(final MethodHandle handle) {
+            this.handle = handle;
+        }
+
+        @Override
+        public void set(final Object obj, final Object value) throws Throwable {
+            this.handle.invokeExact(obj, value);
+        }
+    }
+
+    /**
+     * A spun setter of a primitive parameter casts the value to the wrapper of the parameter type,
+     * so any other value (e.g. an Integer for a `long` setter) is set through a method handle instead,
+     * which converts it like the other tiers do (see {@link MethodHandle#asType})
+     */
+    private static final class SpunPrimitiveSetter implements ValueSetter {
+
+        private final ValueSetter spun;
+        private final Class<?> wrapperType;
+        private final MethodHandle handle;
+
+        SpunPrimitiveSetter(final ValueSetter spun, final Class<?> wrapperType, final MethodHandle handle) {
+            this.spun = spun;
+            this.wrapperType = wrapperType;
+            this.handle = handle;
+        }
+
+        @Override
+        public void set(final Object obj, final Object value) throws Throwable {
+            if (null != value && value.getClass() == this.wrapperType) {
+                this.spun.set(obj, value);
+            } else {
+                this.handle.invokeExact(obj, value);
+            }
+        }
+    }
+
+    private static final class ReflectiveMethodGetter implements ValueGetter {
+
+        private final Method method;
+
+        ReflectiveMethodGetter(final Method method) {
+            this.method = method;
+        }
+
+        @Override
+        public Object get(final Object obj) throws IllegalAccessException, InvocationTargetException {
+            return this.method.invoke(obj);
+        }
+    }
+
+    private static final class ReflectiveFieldGetter implements ValueGetter {
+
+        private final Field field;
+
+        ReflectiveFieldGetter(final Field field) {
+            this.field = field;
+        }
+
+        @Override
+        public Object get(final Object obj) throws IllegalAccessException {
+            return this.field.get(obj);
+        }
+    }
+
+    private static final class ReflectiveMethodSetter implements ValueSetter {
+
+        private final Method method;
+
+        ReflectiveMethodSetter(final Method method) {
+            this.method = method;
+        }
+
+        @Override
+        public void set(final Object obj, final Object value) throws IllegalAccessException,
+                InvocationTargetException {
+            this.method.invoke(obj, value);
+        }
+    }
+
+    private static final class ReflectiveFieldSetter implements ValueSetter {
+
+        private final Field field;
+
+        ReflectiveFieldSetter(final Field field) {
+            this.field = field;
+        }
+
+        @Override
+        public void set(final Object obj, final Object value) throws IllegalAccessException {
+            this.field.set(obj, value);
+        }
+    }
+}
@@ -0,0 +1,488 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Currency;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Copies a Java bean to a new instance of the same type, following the field graph up to a configurable depth,
+ * e.g. to snapshot it for a cache or an audit log
+ *
+ * The fields of primitive or known immutable types (e.g. String, the boxed numbers, enums and java.time) are
+ * shared, and are copied by the generated copier if bytecode generation is allowed. The other fields are copied
+ * as below, until the depth is reached, below which the references are shared:
+ * 1. an array is copied by {@link System#arraycopy}, and its elements are cloned if they are not immutable
+ * 2. a collection / map is copied into a presized instance of the same type, cloning the elements / values
+ *    (the keys are shared)
+ * 3. any other object is cloned by the cloner of its class, or shared if it has no public default constructor
+ * 4. an object of a JDK class (`java.*` / `javax.*`), or of a class with a field that has no getter / setter pair,
+ *    e.g. a `BitSet` or an `AtomicLong`, whose state can not be copied field by field, is cloned by its public
+ *    `clone()` method if it is {@link Cloneable}, or else shared
+ *
+ * An object referenced more than once in the graph is cloned only once, so shared and cyclic references are kept.
+ *
+ * A cloner is immutable after construction and can be shared by any number of threads
+ *
+ * @param <T>  the type of the Java bean
+ */
+public final class BeanCloner<T> {
+
+    private static final Logger logger = Logger.getLogger(BeanCloner.class.getName());
+
+    /**
+     * the cloner of a class that can not be cloned, e.g. without a public default constructor
+     */
+    private static final BeanCloner<?> NOT_CLONEABLE = new BeanCloner<>(null, (Method) null);
+
+    private static final Class<?>[] IMMUTABLE_TYPES = {
+            String.class, Boolean.class, Character.class, Byte.class, Short.class, Integer.class, Long.class,
+            Float.class, Double.class, BigInteger.class, BigDecimal.class, Class.class, UUID.class, Locale.class,
+            Currency.class, URI.class
+    };
+
+    private final Class<T> type;
+    private final int maxDepth;
+
+    /**
+     * copies the fields of primitive or immutable types
+     */
+    private final BeanCopier<T, T> sharedCopier;
+
+    /**
+     * the getters / setters of the fields that are cloned
+     */
+    private final FieldGetter<T>[] getters;
+    private final FieldSetter<T>[] setters;
+
+    /**
+     * whether every non-transient field has a getter / setter pair, so that copying the fields copies the state
+     */
+    private final boolean complete;
+
+    /**
+     * the public `clone()` method to clone the instances with, or null to clone them field by field
+     */
+    private final Method cloneMethod;
+
+    /**
+     * the cloners of the nested classes, shared by all the cloners built for the root cloner
+     */
+    private final ConcurrentMap<Class<?>, BeanCloner<?>> cloners;
+    private final ByFieldNameBeanConverter.Configuration configuration;
+
+    /**
+     * Construct a BeanCloner that follows the whole field graph
+     * @see #BeanCloner(Class, ByFieldNameBeanConverter.Configuration, int)
+     */
+    public BeanCloner(final Class<T> type, final ByFieldNameBeanConverter.Configuration configuration)
+            throws NoSuchMethodException {
+        this(type, configuration, -1);
+    }
+
+    /**
+     * Construct a BeanCloner
+     * @param type  the type of the Java bean to clone
+     * @param configuration  specifies how to get / set the fields of the Java bean, null for the default
+     * @param maxDepth  the number of levels of nested objects that are cloned, e.g. 0 for a shallow copy
+     *                  and 1 to also clone the objects referenced by the Java bean, negative for no limit
+     * @throws NoSuchMethodException  if the Java bean has no accessible default constructor
+     */
+    public BeanCloner(final Class<T> type, final ByFieldNameBeanConverter.Configuration configuration,
+            final int maxDepth) throws NoSuchMethodException {
+        this(type, configuration == null ? new ByFieldNameBeanConverter.Configuration() : configuration,
+                maxDepth < 0 ? Integer.MAX_VALUE : maxDepth, new ConcurrentHashMap<Class<?>, BeanCloner<?>>());
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private BeanCloner(final Class<T> type, final ByFieldNameBeanConverter.Configuration conf, final int maxDepth,
+            final ConcurrentMap<Class<?>, BeanCloner<?>> cloners) throws NoSuchMethodException {
+        if (null == type) {
+            throw new IllegalArgumentException("type can not be null");
+        }
+        final Constructor<T> constructor;
+        try {
+            constructor = type.getConstructor();
+            constructor.newInstance();
+        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException ex) {
+            logger.log(Level.FINE, "Fail to access default constructor", ex);
+            throw new NoSuchMethodException("There is no accessible default constructor (no parameter) for " +
+                    type.getName());
+        }
+        this.type = type;
+        this.maxDepth = maxDepth;
+        this.cloners = cloners;
+        this.configuration = conf;
+        this.cloneMethod = null;
+
+        boolean complete = true;
+        final List<FieldCopier<T, T>> shared = new ArrayList<>();
+        final List<FieldGetter<T>> getters = new ArrayList<>();
+        final List<FieldSetter<T>> setters = new ArrayList<>();
+        for (final Field field : BeanMetadata.forClass(type).getFields()) {
+            if ((!conf.isAllowGetTransient() || !conf.isAllowSetTransient()) &&
+                    Modifier.isTransient(field.getModifiers())) {
+                continue;
+            }
+            final FieldGetter<T> getter;
+            final FieldSetter<T> setter;
+            try {
+                getter = new FieldGetter<>(type, field, conf.getGetterConfiguration());
+                setter = new FieldSetter<>(type, field, conf.getSetterConfiguration());
+            } catch (NoSuchMethodException ex) {
+                logger.finer(ex.getMessage());
+                complete = false;
+                continue;
+            }
+            if (!ObjectType.isObjectTypeAssignableFrom(setter.getParameterType(), getter.getReturnType())) {
+                complete = false;
+                continue;
+            }
+            if (isImmutable(getter.getReturnType())) {
+                shared.add(FieldCopier.of(getter, setter));
+            } else {
+                getters.add(getter);
+                setters.add(setter);
+            }
+        }
+        final BeanCopier<T, T> generated = conf.isAllowBytecodeGeneration() ?
+                BeanCopierGenerator.generate(type, constructor, shared) : null;
+        this.sharedCopier = generated == null ? new ReflectiveBeanCopier<>(constructor, shared) : generated;
+        this.getters = getters.toArray(new FieldGetter[getters.size()]);
+        this.setters = setters.toArray(new FieldSetter[setters.size()]);
+        this.complete = complete;
+    }
+
+    /**
+     * Construct a cloner that clones the instances by their `clone()` method,
+     * or {@link #NOT_CLONEABLE} if both the arguments are null
+     * @param cloneMethod  the public `clone()` method of `type`
+     */
+    private BeanCloner(final Class<T> type, final Method cloneMethod) {
+        this.type = type;
+        this.cloneMethod = cloneMethod;
+        this.complete = true;
+        this.maxDepth = 0;
+        this.sharedCopier = null;
+        this.getters = null;
+        this.setters = null;
+        this.cloners = null;
+        this.configuration = null;
+    }
+
+    /**
+     * Clone a Java bean
+     * @param src  the Java bean to clone
+     * @return  the clone, or null if `src` is null
+     */
+    public T clone(final T src) {
+        if (null == src) {
+            return null;
+        }
+        return cloneBean(src, this.maxDepth, this.getters.length == 0 ?
+                null : new IdentityHashMap<Object, Object>());
+    }
+
+    /**
+     * Clone each element of `src` by {@link #clone(Object)}
+     * @param src  the Java beans to clone
+     * @return  a list of the clones in the same order as `src`, or null if `src` is null
+     */
+    public List<T> cloneAll(final Collection<? extends T> src) {
+        if (null == src) {
+            return null;
+        }
+        final List<T> result = new ArrayList<>(src.size());
+        for (final T element : src) {
+            result.add(clone(element));
+        }
+        return result;
+    }
+
+    public Class<T> getType() {
+        return this.type;
+    }
+
+    /**
+     * @param depth  the number of levels of nested objects that can still be cloned below `src`
+     * @param cloned  the clones of the objects cloned so far in this call of {@link #clone(Object)}
+     */
+    private T cloneBean(final T src, final int depth, final IdentityHashMap<Object, Object> cloned) {
+        try {
+            final T dest = this.sharedCopier.newInstance();
+            if (null != cloned) {
+                cloned.put(src, dest);
+            }
+            this.sharedCopier.copy(src, dest);
+            for (int i = 0; i < this.getters.length; i += 1) {
+                final Object value = this.getters[i].get(src);
+                this.setters[i].set(dest, depth > 0 ? cloneValue(value, depth - 1, cloned) : value);
+            }
+            return dest;
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException ex) {
+            throw new RuntimeException("Fail to clone an instance of \"" + this.type.getName() + '\"', ex);
+        }
+    }
+
+    private T cloneByMethod(final T src) {
+        try {
+            return this.type.cast(this.cloneMethod.invoke(src, ReflectiveBeanCopier.NO_ARGUMENTS));
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            throw new RuntimeException("Fail to clone an instance of \"" + this.type.getName() + '\"', ex);
+        }
+    }
+
+    /**
+     * Clone a value of a field, an element of an array / a collection or a value of a map
+     * @param depth  the number of levels of nested objects that can still be cloned below `value`
+     */
+    @SuppressWarnings("unchecked")
+    private Object cloneValue(final Object value, final int depth, final IdentityHashMap<Object, Object> cloned) {
+        if (null == value || isImmutable(value.getClass())) {
+            return value;
+        }
+        final Object existing = cloned.get(value);
+        if (null != existing) {
+            return existing;
+        }
+        final Object result;
+        if (value.getClass().isArray()) {
+            result = cloneArray(value, depth, cloned);
+        } else if (value instanceof Collection) {
+            result = cloneCollection((Collection<Object>) value, depth, cloned);
+        } else if (value instanceof Map) {
+            result = cloneMap((Map<Object, Object>) value, depth, cloned);
+        } else if (value instanceof Date) {
+            result = ((Date) value).clone();
+        } else {
+            final BeanCloner<Object> cloner = (BeanCloner<Object>) getCloner(value.getClass());
+            if (NOT_CLONEABLE == cloner) {
+                return value;
+            } else if (null == cloner.cloneMethod) {
+                return cloner.cloneBean(value, depth, cloned);
+            }
+            result = cloner.cloneByMethod(value);
+        }
+        cloned.put(value, result);
+        return result;
+    }
+
+    private Object cloneArray(final Object array, final int depth, final IdentityHashMap<Object, Object> cloned) {
+        final Class<?> componentType = array.getClass().getComponentType();
+        final int length = Array.getLength(array);
+        final Object result = Array.newInstance(componentType, length);
+        if (componentType.isPrimitive() || isImmutable(componentType) || depth <= 0) {
+            System.arraycopy(array, 0, result, 0, length);
+        } else {
+            // put before the elements, which may reference the array
+            cloned.put(array, result);
+            final Object[] src = (Object[]) array;
+            final Object[] dest = (Object[]) result;
+            for (int i = 0; i < length; i += 1) {
+                dest[i] = cloneValue(src[i], depth - 1, cloned);
+            }
+        }
+        return result;
+    }
+
+    private Object cloneCollection(final Collection<Object> collection, final int depth,
+            final IdentityHashMap<Object, Object> cloned) {
+        final Collection<Object> result = newCollection(collection);
+        if (null == result) {
+            return collection;
+        }
+        cloned.put(collection, result);
+        for (final Object element : collection) {
+            result.add(depth > 0 ? cloneValue(element, depth - 1, cloned) : element);
+        }
+        return result;
+    }
+
+    private Object cloneMap(final Map<Object, Object> map, final int depth,
+            final IdentityHashMap<Object, Object> cloned) {
+        final Map<Object, Object> result = newMap(map);
+        if (null == result) {
+            return map;
+        }
+        cloned.put(map, result);
+        for (final Map.Entry<Object, Object> entry : map.entrySet()) {
+            final Object value = entry.getValue();
+            result.put(entry.getKey(), depth > 0 ? cloneValue(value, depth - 1, cloned) : value);
+        }
+        return result;
+    }
+
+    /**
+     *
+     * @return  an empty collection of the same type as `collection`, presized if possible,
+     *          or null if the type is unknown and has no public default constructor
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Collection<Object> newCollection(final Collection<Object> collection) {
+        final Class<?> clazz = collection.getClass();
+        final int size = collection.size();
+        if (ArrayList.class.equals(clazz)) {
+            return new ArrayList<>(size);
+        } else if (HashSet.class.equals(clazz)) {
+            return new HashSet<>(capacity(size));
+        } else if (LinkedHashSet.class.equals(clazz)) {
+            return new LinkedHashSet<>(capacity(size));
+        } else if (LinkedList.class.equals(clazz)) {
+            return new LinkedList<>();
+        } else if (TreeSet.class.equals(clazz)) {
+            return new TreeSet<>(((SortedSet<Object>) collection).comparator());
+        } else if (collection instanceof EnumSet) {
+            // the elements are enums, so copying the set is enough
+            return (Collection<Object>) ((EnumSet) collection).clone();
+        }
+        return (Collection<Object>) newInstance(clazz);
+    }
+
+    /**
+     *
+     * @return  an empty map of the same type as `map`, presized if possible,
+     *          or null if the type is unknown and has no public default constructor
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Map<Object, Object> newMap(final Map<Object, Object> map) {
+        final Class<?> clazz = map.getClass();
+        final int size = map.size();
+        if (HashMap.class.equals(clazz)) {
+            return new HashMap<>(capacity(size));
+        } else if (LinkedHashMap.class.equals(clazz)) {
+            return new LinkedHashMap<>(capacity(size));
+        } else if (TreeMap.class.equals(clazz)) {
+            return new TreeMap<>(((SortedMap<Object, Object>) map).comparator());
+        } else if (ConcurrentHashMap.class.equals(clazz)) {
+            return new ConcurrentHashMap<>(capacity(size));
+        } else if (map instanceof EnumMap) {
+            return new EnumMap((EnumMap) map);
+        }
+        return (Map<Object, Object>) newInstance(clazz);
+    }
+
+    /**
+     *
+     * @return  the initial capacity of a hash table so that it is not resized for `size` entries
+     */
+    private static int capacity(final int size) {
+        return size * 4 / 3 + 1;
+    }
+
+    private static Object newInstance(final Class<?> clazz) {
+        try {
+            return clazz.getConstructor().newInstance();
+        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException ex) {
+            logger.finer("Sharing an instance of " + clazz.getName() + " which can not be created");
+            return null;
+        }
+    }
+
+    private BeanCloner<?> getCloner(final Class<?> clazz) {
+        if (this.type == clazz) {
+            return this;
+        }
+        final BeanCloner<?> existing = this.cloners.get(clazz);
+        if (null != existing) {
+            return existing;
+        }
+        BeanCloner<?> cloner;
+        final String name = clazz.getName();
+        if (name.startsWith("java.") || name.startsWith("javax.")) {
+            // the state of a JDK class is rarely exposed by getters / setters, e.g. BitSet or AtomicLong
+            cloner = byCloneMethod(clazz);
+        } else {
+            try {
+                cloner = new BeanCloner<>(clazz, this.configuration, this.maxDepth, this.cloners);
+                if (!cloner.complete) {
+                    cloner = byCloneMethod(clazz);
+                }
+            } catch (NoSuchMethodException ex) {
+                logger.finer(ex.getMessage());
+                cloner = NOT_CLONEABLE;
+            }
+        }
+        final BeanCloner<?> raced = this.cloners.putIfAbsent(clazz, cloner);
+        return null == raced ? cloner : raced;
+    }
+
+    /**
+     *
+     * @return  a cloner calling the public `clone()` method of `clazz`,
+     *          or {@link #NOT_CLONEABLE} if `clazz` is not {@link Cloneable} or has no public `clone()` method
+     */
+    private static <C> BeanCloner<?> byCloneMethod(final Class<C> clazz) {
+        if (Cloneable.class.isAssignableFrom(clazz)) {
+            try {
+                final Method method = clazz.getMethod("clone");
+                if (Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+                    return new BeanCloner<>(clazz, method);
+                }
+            } catch (NoSuchMethodException ex) {
+                logger.finer(ex.getMessage());
+            }
+        }
+        logger.finer("Sharing the instances of " + clazz.getName() + " which can not be cloned field by field");
+        return NOT_CLONEABLE;
+    }
+
+    /**
+     *
+     * @return  whether the instances of `clazz` can be shared instead of cloned
+     */
+    static boolean isImmutable(final Class<?> clazz) {
+        if (clazz.isPrimitive() || Enum.class.isAssignableFrom(clazz)) {
+            return true;
+        }
+        for (final Class<?> immutable : IMMUTABLE_TYPES) {
+            if (immutable.equals(clazz)) {
+                return true;
+            }
+        }
+        return clazz.getName().startsWith("java.time.");
+    }
+}
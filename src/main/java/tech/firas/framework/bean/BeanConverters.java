@@ -0,0 +1,270 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.springframework.core.convert.converter.Converter;
+
+/**
+ * A thread-safe registry of {@link ByFieldNameBeanConverter}s
+ *
+ * A converter is built only once for each pair of types and each configuration, and is shared afterwards.
+ * The converters are kept by {@link ClassValue} of the type whose class loader is the descendant,
+ * so that the registry does not prevent a redeployed class loader from being collected.
+ */
+public final class BeanConverters {
+
+    private static final Logger logger = Logger.getLogger(BeanConverters.class.getName());
+
+    private static final ClassValue<ConcurrentMap<Key, ByFieldNameBeanConverter<?, ?>>> converters =
+            new ClassValue<ConcurrentMap<Key, ByFieldNameBeanConverter<?, ?>>>() {
+                @Override
+                protected ConcurrentMap<Key, ByFieldNameBeanConverter<?, ?>> computeValue(final Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    /**
+     * the converters generated by the annotation processor, or {@link #NOT_GENERATED}, by the pair of types
+     */
+    private static final ClassValue<ConcurrentMap<Map.Entry<Class<?>, Class<?>>, Object>> generated =
+            new ClassValue<ConcurrentMap<Map.Entry<Class<?>, Class<?>>, Object>>() {
+                @Override
+                protected ConcurrentMap<Map.Entry<Class<?>, Class<?>>, Object> computeValue(final Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private static final Object NOT_GENERATED = new Object();
+
+    private BeanConverters() {}
+
+    /**
+     * Get the converter generated for the pair of types by the annotation processor if it is present,
+     * or else the {@link ByFieldNameBeanConverter} of the default configuration
+     *
+     * A generated converter maps the fields by the options of its {@link BeanMapping}
+     * (e.g. {@link BeanMapping#allowDirectlyGetField()}), which may differ from the default configuration
+     *
+     * @param srcClass  the type of the source Java bean to convert from
+     * @param destClass  the type of the target Java bean to convert to
+     * @return  the shared converter
+     * @throws NoSuchMethodException  if the target Java bean has no accessible default constructor
+     * @see BeanMapping
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, D> Converter<S, D> getConverter(final Class<S> srcClass, final Class<D> destClass)
+            throws NoSuchMethodException {
+        final ConcurrentMap<Map.Entry<Class<?>, Class<?>>, Object> map = generated.get(owner(srcClass, destClass));
+        final Map.Entry<Class<?>, Class<?>> key = new AbstractMap.SimpleImmutableEntry<Class<?>, Class<?>>(
+                srcClass, destClass);
+        Object converter = map.get(key);
+        if (null == converter) {
+            converter = loadGenerated(srcClass, destClass);
+            final Object raced = map.putIfAbsent(key, converter);
+            if (null != raced) {
+                converter = raced;
+            }
+        }
+        return converter == NOT_GENERATED ? get(srcClass, destClass) : (Converter<S, D>) converter;
+    }
+
+    /**
+     *
+     * @return  an instance of the class generated by the annotation processor, or {@link #NOT_GENERATED}
+     */
+    private static Object loadGenerated(final Class<?> srcClass, final Class<?> destClass) {
+        final String name = generatedClassName(srcClass, destClass);
+        final ClassLoader loader = owner(srcClass, destClass).getClassLoader();
+        for (final ClassLoader cl : new ClassLoader[] {loader, Thread.currentThread().getContextClassLoader()}) {
+            try {
+                final Class<?> clazz = Class.forName(name, true, cl);
+                if (Converter.class.isAssignableFrom(clazz)) {
+                    return clazz.getConstructor().newInstance();
+                }
+            } catch (ClassNotFoundException ex) {
+                // try the next class loader
+            } catch (ReflectiveOperationException | LinkageError ex) {
+                logger.log(Level.WARNING, "Fail to load the generated converter " + name, ex);
+            }
+        }
+        return NOT_GENERATED;
+    }
+
+    /**
+     * The naming rule of the classes generated by the annotation processor, see {@link BeanMapping}
+     */
+    static String generatedClassName(final Class<?> srcClass, final Class<?> destClass) {
+        final String destName = destClass.getName();
+        final int lastDot = destName.lastIndexOf('.');
+        return destName.substring(0, lastDot + 1) + "BeanMappingConverter$" +
+                mangle(srcClass.getName()) + '$' + mangle(destName.substring(lastDot + 1));
+    }
+
+    /**
+     * Encode a binary name as a part of a class name, as JNI does, so that 2 binary names never share a class name:
+     * '_' is replaced by "_1", '$' by "_2" and '.' by '_' (which is never followed by a digit)
+     */
+    static String mangle(final String binaryName) {
+        final StringBuilder builder = new StringBuilder(binaryName.length() + 8);
+        for (int i = 0; i < binaryName.length(); i += 1) {
+            final char c = binaryName.charAt(i);
+            if ('_' == c) {
+                builder.append("_1");
+            } else if ('$' == c) {
+                builder.append("_2");
+            } else if ('.' == c) {
+                builder.append('_');
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Get the converter of the default configuration
+     * @see #get(Class, Class, ByFieldNameBeanConverter.Configuration)
+     */
+    public static <S, D> ByFieldNameBeanConverter<S, D> get(final Class<S> srcClass, final Class<D> destClass)
+            throws NoSuchMethodException {
+        return get(srcClass, destClass, null);
+    }
+
+    /**
+     * Get the converter for the pair of types and the configuration, building it if it is not built yet
+     *
+     * The configuration is copied, so modifying it afterwards does not affect the registered converter
+     *
+     * @param srcClass  the type of the source Java bean to convert from
+     * @param destClass  the type of the target Java bean to convert to
+     * @param configuration  specifies how to get / set the fields of the Java bean, null for the default
+     * @return  the shared converter
+     * @throws NoSuchMethodException  if the target Java bean has no accessible default constructor
+     */
+    @SuppressWarnings("unchecked")
+    public static <S, D> ByFieldNameBeanConverter<S, D> get(final Class<S> srcClass, final Class<D> destClass,
+            final ByFieldNameBeanConverter.Configuration configuration) throws NoSuchMethodException {
+        final ByFieldNameBeanConverter.Configuration conf = configuration == null ?
+                new ByFieldNameBeanConverter.Configuration() : new ByFieldNameBeanConverter.Configuration(configuration);
+        final ConcurrentMap<Key, ByFieldNameBeanConverter<?, ?>> map = converters.get(owner(srcClass, destClass));
+        final Key key = new Key(srcClass, destClass, conf);
+        final ByFieldNameBeanConverter<?, ?> existing = map.get(key);
+        if (existing != null) {
+            return (ByFieldNameBeanConverter<S, D>) existing;
+        }
+        final ByFieldNameBeanConverter<S, D> converter = new ByFieldNameBeanConverter<>(srcClass, destClass, conf);
+        final ByFieldNameBeanConverter<?, ?> raced = map.putIfAbsent(key, converter);
+        return raced == null ? converter : (ByFieldNameBeanConverter<S, D>) raced;
+    }
+
+    /**
+     * Map the fields of the lazy converters in parallel by `executor`, e.g. in the background at startup
+     * @param converters  the converters to warm up, those not lazy or already built are skipped quickly
+     * @param executor  runs a task for each converter
+     * @return  the futures of the tasks, in the order of `converters`
+     * @see ByFieldNameBeanConverter#warmUp()
+     */
+    public static List<Future<?>> warmUp(final Collection<? extends ByFieldNameBeanConverter<?, ?>> converters,
+            final ExecutorService executor) {
+        if (null == converters) {
+            throw new IllegalArgumentException("converters can not be null");
+        }
+        if (null == executor) {
+            throw new IllegalArgumentException("executor can not be null");
+        }
+        final List<Future<?>> futures = new ArrayList<>(converters.size());
+        for (final ByFieldNameBeanConverter<?, ?> converter : converters) {
+            futures.add(executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    converter.warmUp();
+                }
+            }));
+        }
+        return futures;
+    }
+
+    /**
+     *
+     * @return  the type whose class loader is the descendant
+     */
+    private static Class<?> owner(final Class<?> srcClass, final Class<?> destClass) {
+        return isAncestor(srcClass.getClassLoader(), destClass.getClassLoader()) ? destClass : srcClass;
+    }
+
+    /**
+     * @return  whether `ancestor` is `loader` or one of its parents (the bootstrap class loader, null,
+     *          is the ancestor of all class loaders)
+     */
+    private static boolean isAncestor(final ClassLoader ancestor, final ClassLoader loader) {
+        if (ancestor == null) {
+            return true;
+        }
+        for (ClassLoader cl = loader; cl != null; cl = cl.getParent()) {
+            if (cl == ancestor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final class Key {
+
+        private final Class<?> srcClass;
+        private final Class<?> destClass;
+        private final ByFieldNameBeanConverter.Configuration configuration;
+        private final int hash;
+
+        Key(final Class<?> srcClass, final Class<?> destClass,
+                final ByFieldNameBeanConverter.Configuration configuration) {
+            this.srcClass = srcClass;
+            this.destClass = destClass;
+            this.configuration = configuration;
+            this.hash = Objects.hash(srcClass, destClass, configuration);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            Key that = (Key) o;
+            return srcClass == that.srcClass && destClass == that.destClass &&
+                    configuration.equals(that.configuration);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
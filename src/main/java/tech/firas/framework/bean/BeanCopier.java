@@ -0,0 +1,63 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Creates the target Java bean and copies the mapped fields from the source Java bean to it
+ *
+ * The methods are public so that a copier class generated in another class loader can implement them
+ *
+ * @param <S>  the type of the source Java bean
+ * @param <D>  the type of the target Java bean
+ */
+abstract class BeanCopier<S, D> {
+
+    /**
+     *
+     * @return  a new instance of the target Java bean
+     * @throws InstantiationException  if the target type is abstract
+     * @throws IllegalAccessException  if it fails to access the default constructor
+     * @throws InvocationTargetException  if the default constructor throws an exception
+     */
+    public abstract D newInstance() throws InstantiationException, IllegalAccessException,
+            InvocationTargetException;
+
+    /**
+     * Copy the mapped fields from `src` to `dest`
+     * @param src  the source Java bean
+     * @param dest  the target Java bean
+     * @throws IllegalAccessException  if it fails to access a field / its getter or setter
+     * @throws InvocationTargetException  if a getter or setter throws an exception
+     */
+    public abstract void copy(S src, D dest) throws IllegalAccessException, InvocationTargetException;
+
+    /**
+     * Create a new instance of the target Java bean and copy the mapped fields from `src` to it
+     * @param src  the source Java bean
+     * @return  the target Java bean
+     * @throws InstantiationException  if the target type is abstract
+     * @throws IllegalAccessException  if it fails to access the default constructor or a field / its getter or setter
+     * @throws InvocationTargetException  if the default constructor, a getter or a setter throws an exception
+     */
+    public D convert(final S src) throws InstantiationException, IllegalAccessException,
+            InvocationTargetException {
+        final D dest = newInstance();
+        copy(src, dest);
+        return dest;
+    }
+}
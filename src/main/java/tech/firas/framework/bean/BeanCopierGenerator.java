@@ -0,0 +1,281 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Generates a dedicated {@link BeanCopier} class for a pair of Java bean types,
+ * which creates the target Java bean by `new` and calls the getters / setters directly
+ *
+ * Only public members of public classes can be accessed by the generated class,
+ * the other fields are copied by a {@link ReflectiveBeanCopier} called at the end of the generated `copy`
+ */
+final class BeanCopierGenerator {
+
+    private static final Logger logger = Logger.getLogger(BeanCopierGenerator.class.getName());
+
+    private static final String PACKAGE = "tech/firas/framework/bean/generated/";
+    private static final AtomicInteger counter = new AtomicInteger();
+
+    private BeanCopierGenerator() {}
+
+    /**
+     * Generate a copier class for the mapped fields
+     * @param srcClass  the type of the source Java bean
+     * @param constructor  the default constructor of the target Java bean
+     * @param copiers  the copiers of the mapped fields
+     * @return  an instance of the generated copier, or null if it is not possible to generate one
+     */
+    static <S, D> BeanCopier<S, D> generate(final Class<S> srcClass, final Constructor<D> constructor,
+            final List<FieldCopier<S, D>> copiers) {
+        final Class<D> destClass = constructor.getDeclaringClass();
+        if (!isAccessible(srcClass) || !isAccessible(destClass) ||
+                Modifier.isAbstract(destClass.getModifiers()) || srcClass.isInterface()) {
+            logger.fine("Not generating a copier from " + srcClass.getName() + " to " + destClass.getName() +
+                    " because the types are not accessible");
+            return null;
+        }
+
+        final String className = PACKAGE + "BeanCopier$" + srcClass.getSimpleName() + '$' +
+                destClass.getSimpleName() + '$' + counter.incrementAndGet();
+        final String srcName = ClassFileBuilder.internalName(srcClass);
+        final String destName = ClassFileBuilder.internalName(destClass);
+        final String baseName = ClassFileBuilder.internalName(GeneratedBeanCopier.class);
+        final ClassFileBuilder cf = new ClassFileBuilder(
+                ClassFileBuilder.ACC_PUBLIC | ClassFileBuilder.ACC_FINAL | ClassFileBuilder.ACC_SUPER,
+                className, baseName);
+
+        final List<FieldCopier<S, D>> remainingCopiers = new ArrayList<>();
+        final ClassFileBuilder.Code copy = new ClassFileBuilder.Code()
+                .load(1).op(ClassFileBuilder.CHECKCAST, cf.classRef(srcName)).store(3)
+                .load(2).op(ClassFileBuilder.CHECKCAST, cf.classRef(destName)).store(4);
+        for (final FieldCopier<S, D> fieldCopier : copiers) {
+            if (!fieldCopier.isDirect() ||
+                    !writeCopy(cf, copy, srcClass, destClass, fieldCopier.getter, fieldCopier.setter)) {
+                remainingCopiers.add(fieldCopier);
+            }
+        }
+        if (!remainingCopiers.isEmpty()) {
+            copy.load(0).load(1).load(2).op(ClassFileBuilder.INVOKEVIRTUAL, cf.methodRef(baseName, "copyRemaining",
+                    ClassFileBuilder.methodDescriptor(void.class, Object.class, Object.class)));
+        }
+        copy.op(ClassFileBuilder.RETURN);
+        cf.addMethod(ClassFileBuilder.ACC_PUBLIC, "copy",
+                ClassFileBuilder.methodDescriptor(void.class, Object.class, Object.class), copy, 4, 5);
+
+        final String constructorDescriptor = ClassFileBuilder.methodDescriptor(void.class, BeanCopier.class);
+        cf.addMethod(ClassFileBuilder.ACC_PUBLIC, "<init>", constructorDescriptor, new ClassFileBuilder.Code()
+                .load(0).load(1)
+                .op(ClassFileBuilder.INVOKESPECIAL, cf.methodRef(baseName, "<init>", constructorDescriptor))
+                .op(ClassFileBuilder.RETURN), 2, 2);
+
+        cf.addMethod(ClassFileBuilder.ACC_PUBLIC, "newInstance",
+                ClassFileBuilder.methodDescriptor(Object.class), new ClassFileBuilder.Code()
+                .op(ClassFileBuilder.NEW, cf.classRef(destName))
+                .op(ClassFileBuilder.DUP)
+                .op(ClassFileBuilder.INVOKESPECIAL, cf.methodRef(destName, "<init>",
+                        ClassFileBuilder.methodDescriptor(void.class)))
+                .op(ClassFileBuilder.ARETURN), 2, 1);
+
+        final BeanCopier<S, D> remaining = remainingCopiers.isEmpty() ? null :
+                new ReflectiveBeanCopier<>(constructor, remainingCopiers);
+        try {
+            final CopierClassLoader loader = new CopierClassLoader(srcClass, destClass);
+            final Class<?> copierClass = loader.define(className.replace('/', '.'), cf.toByteArray());
+            @SuppressWarnings("unchecked")
+            final BeanCopier<S, D> copier = (BeanCopier<S, D>) copierClass.getConstructor(BeanCopier.class)
+                    .newInstance(remaining);
+            if (logger.isLoggable(Level.FINER)) {
+                logger.finer("Generated " + copierClass.getName() + " from: " + srcClass.getName() +
+                        ", to: " + destClass.getName() + ", directly copied fields: " +
+                        (copiers.size() - remainingCopiers.size()) + '/' + copiers.size());
+            }
+            return copier;
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError ex) {
+            logger.log(Level.FINE, "Fail to generate a copier from " + srcClass.getName() + " to " +
+                    destClass.getName(), ex);
+            return null;
+        }
+    }
+
+    /**
+     * Write the byte code that copies one field from local 3 (the source) to local 4 (the target)
+     * @return  false if the generated class can not access the getter or the setter
+     */
+    private static boolean writeCopy(final ClassFileBuilder cf, final ClassFileBuilder.Code code,
+            final Class<?> srcClass, final Class<?> destClass,
+            final FieldGetter<?> getter, final FieldSetter<?> setter) {
+        final Method getMethod = getter.getGetterMethod();
+        final Method setMethod = setter.getSetterMethod();
+        if (!(getMethod == null ? isAccessible(getter.field, false) : isAccessible(getMethod)) ||
+                !(setMethod == null ? isAccessible(setter.field, true) : isAccessible(setMethod))) {
+            return false;
+        }
+        final Class<?> valueType = getter.getReturnType();
+        final Class<?> parameterType = setter.getParameterType();
+        if (!valueType.equals(parameterType) && valueType.isPrimitive() == parameterType.isPrimitive()) {
+            if (valueType.isPrimitive() ?
+                    !FieldCopier.isNumeric(valueType) || !FieldCopier.isNumeric(parameterType) :
+                    !parameterType.isAssignableFrom(valueType)) {
+                return false;
+            }
+        }
+
+        code.load(4).load(3);
+        if (getMethod == null) {
+            code.op(ClassFileBuilder.GETFIELD, cf.fieldRef(
+                    ClassFileBuilder.internalName(getter.field.getDeclaringClass()), getter.field.getName(),
+                    ClassFileBuilder.descriptor(getter.field.getType())));
+        } else {
+            code.op(ClassFileBuilder.INVOKEVIRTUAL, cf.methodRef(
+                    ClassFileBuilder.internalName(srcClass), getMethod.getName(),
+                    ClassFileBuilder.methodDescriptor(getMethod.getReturnType())));
+        }
+
+        if (valueType.isPrimitive() && parameterType.isPrimitive()) {
+            writePrimitiveConversion(code, valueType, parameterType);
+        } else if (valueType.isPrimitive() && !parameterType.isPrimitive()) {
+            final Class<?> objectType = ObjectType.getObjectType(valueType);
+            code.op(ClassFileBuilder.INVOKESTATIC, cf.methodRef(ClassFileBuilder.internalName(objectType),
+                    "valueOf", ClassFileBuilder.methodDescriptor(objectType, valueType)));
+        } else if (!valueType.isPrimitive() && parameterType.isPrimitive()) {
+            final Class<?> objectType = ObjectType.getObjectType(parameterType);
+            if (!objectType.equals(valueType)) {
+                return false;
+            }
+            code.op(ClassFileBuilder.INVOKEVIRTUAL, cf.methodRef(ClassFileBuilder.internalName(objectType),
+                    parameterType.getName() + "Value", ClassFileBuilder.methodDescriptor(parameterType)));
+        }
+
+        if (setMethod == null) {
+            code.op(ClassFileBuilder.PUTFIELD, cf.fieldRef(
+                    ClassFileBuilder.internalName(setter.field.getDeclaringClass()), setter.field.getName(),
+                    ClassFileBuilder.descriptor(setter.field.getType())));
+        } else {
+            final Class<?> returnType = setMethod.getReturnType();
+            code.op(ClassFileBuilder.INVOKEVIRTUAL, cf.methodRef(
+                    ClassFileBuilder.internalName(destClass), setMethod.getName(),
+                    ClassFileBuilder.methodDescriptor(returnType, parameterType)));
+            if (long.class.equals(returnType) || double.class.equals(returnType)) {
+                code.op(ClassFileBuilder.POP2);
+            } else if (!void.class.equals(returnType)) {
+                code.op(ClassFileBuilder.POP);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Write the byte code that casts the primitive value on the top of the operand stack
+     */
+    private static void writePrimitiveConversion(final ClassFileBuilder.Code code,
+            final Class<?> from, final Class<?> to) {
+        final int fromKind = stackKind(from);
+        final int toKind = stackKind(to);
+        if (fromKind != toKind) {
+            // i2l, i2f, i2d, l2i, l2f, l2d, f2i, f2l, f2d, d2i, d2l, d2f
+            code.op(ClassFileBuilder.I2L + fromKind * 3 + (toKind > fromKind ? toKind - 1 : toKind));
+        }
+        if (!from.equals(to)) {
+            if (byte.class.equals(to)) {
+                code.op(ClassFileBuilder.I2B);
+            } else if (char.class.equals(to)) {
+                code.op(ClassFileBuilder.I2C);
+            } else if (short.class.equals(to)) {
+                code.op(ClassFileBuilder.I2S);
+            }
+        }
+    }
+
+    /**
+     *
+     * @return  0 for int (and the narrower types), 1 for long, 2 for float, 3 for double
+     */
+    private static int stackKind(final Class<?> type) {
+        if (long.class.equals(type)) {
+            return 1;
+        } else if (float.class.equals(type)) {
+            return 2;
+        } else if (double.class.equals(type)) {
+            return 3;
+        }
+        return 0;
+    }
+
+    private static boolean isAccessible(final Class<?> clazz) {
+        return Modifier.isPublic(clazz.getModifiers()) && !clazz.isArray() && !clazz.isPrimitive();
+    }
+
+    private static boolean isAccessible(final Method method) {
+        return !Modifier.isStatic(method.getModifiers()) && Modifier.isPublic(method.getModifiers());
+    }
+
+    private static boolean isAccessible(final Field field, final boolean write) {
+        final int modifiers = field.getModifiers();
+        return Modifier.isPublic(modifiers) && !Modifier.isStatic(modifiers) &&
+                !(write && Modifier.isFinal(modifiers)) && isAccessible(field.getDeclaringClass());
+    }
+
+    /**
+     * Defines a generated copier class, resolving the names of the Java bean types
+     * by the class loaders of the Java bean types before the class loader of this library
+     */
+    private static final class CopierClassLoader extends ClassLoader {
+
+        private final Class<?>[] knownClasses;
+        private final ClassLoader[] delegates;
+
+        CopierClassLoader(final Class<?> srcClass, final Class<?> destClass) {
+            super(BeanCopierGenerator.class.getClassLoader());
+            this.knownClasses = new Class<?>[] {
+                    srcClass, destClass, BeanCopier.class, GeneratedBeanCopier.class
+            };
+            this.delegates = new ClassLoader[] { srcClass.getClassLoader(), destClass.getClassLoader() };
+        }
+
+        Class<?> define(final String name, final byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+
+        @Override
+        protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+            for (final Class<?> clazz : this.knownClasses) {
+                if (clazz.getName().equals(name)) {
+                    return clazz;
+                }
+            }
+            for (final ClassLoader delegate : this.delegates) {
+                if (delegate != null) {
+                    try {
+                        return Class.forName(name, false, delegate);
+                    } catch (ClassNotFoundException ex) {
+                        // try the next class loader
+                    }
+                }
+            }
+            return super.loadClass(name, resolve);
+        }
+    }
+}
@@ -0,0 +1,500 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+/**
+ * Compares Java beans field by field, e.g. to find whether a converted DTO differs from a cached one
+ *
+ * The fields are discovered as {@link ByFieldNameBeanConverter} does, once in the constructor, and each field is
+ * compared by a strategy chosen for its type: the primitive fields are compared without boxing, the array fields
+ * by their elements, and the other fields by {@link Object#equals(Object)} / {@link Comparable#compareTo(Object)}.
+ * The comparison stops at the first field that differs.
+ *
+ * {@link #compare(Object, Object)} orders the Java beans by the fields in the order of
+ * {@link #getFieldNames()}, skipping the fields that are neither primitive nor {@link Comparable}, with nulls first.
+ * The ordering is therefore not consistent with {@link #equals(Object, Object)}: 2 Java beans that differ only in
+ * an array field or a field that is not {@link Comparable} compare as 0 but are not equal, so this comparator should
+ * not be used by a {@link java.util.TreeSet} or {@link java.util.TreeMap} of such Java beans.
+ *
+ * An equivalence is immutable after construction and can be shared by any number of threads
+ *
+ * @param <T>  the type of the Java bean
+ */
+public class BeanEquivalence<T> implements Comparator<T> {
+
+    private static final Logger logger = Logger.getLogger(BeanEquivalence.class.getName());
+
+    private final Class<T> type;
+    private final FieldEquivalence<T>[] fields;
+
+    /**
+     * the fields compared by {@link #compare(Object, Object)}
+     */
+    private final FieldEquivalence<T>[] orderedFields;
+
+    /**
+     * Construct a BeanEquivalence
+     * @param type  the type of the Java bean to compare
+     * @param configuration  specifies how to get the fields of the Java bean, null for the default
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public BeanEquivalence(final Class<T> type, final ByFieldNameBeanConverter.Configuration configuration) {
+        if (null == type) {
+            throw new IllegalArgumentException("type can not be null");
+        }
+        final ByFieldNameBeanConverter.Configuration conf = configuration == null ?
+                new ByFieldNameBeanConverter.Configuration() : configuration;
+        final List<FieldEquivalence<T>> fields = new ArrayList<>();
+        final List<FieldEquivalence<T>> orderedFields = new ArrayList<>();
+        for (final Field field : BeanMetadata.forClass(type).getFields()) {
+            if (!conf.isAllowGetTransient() && Modifier.isTransient(field.getModifiers())) {
+                continue;
+            }
+            final FieldGetter<T> getter;
+            try {
+                getter = new FieldGetter<>(type, field, conf.getGetterConfiguration());
+            } catch (NoSuchMethodException ex) {
+                logger.finer(ex.getMessage());
+                continue;
+            }
+            final FieldEquivalence<T> equivalence = FieldEquivalence.of(getter);
+            fields.add(equivalence);
+            if (equivalence.isOrdered()) {
+                orderedFields.add(equivalence);
+            }
+        }
+        this.type = type;
+        this.fields = fields.toArray(new FieldEquivalence[fields.size()]);
+        this.orderedFields = orderedFields.toArray(new FieldEquivalence[orderedFields.size()]);
+    }
+
+    /**
+     *
+     * @return  whether all the fields of `a` and `b` are equal, or both are null
+     */
+    public boolean equals(final T a, final T b) {
+        if (a == b) {
+            return true;
+        }
+        if (null == a || null == b) {
+            return false;
+        }
+        try {
+            for (final FieldEquivalence<T> field : this.fields) {
+                if (!field.equal(a, b)) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            throw failure(ex);
+        }
+    }
+
+    /**
+     *
+     * @return  the hash code of the fields of `obj`, consistent with {@link #equals(Object, Object)}, 0 if it is null
+     */
+    public int hashCode(final T obj) {
+        if (null == obj) {
+            return 0;
+        }
+        int result = 1;
+        try {
+            for (final FieldEquivalence<T> field : this.fields) {
+                result = 31 * result + field.hash(obj);
+            }
+            return result;
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            throw failure(ex);
+        }
+    }
+
+    /**
+     * Not consistent with {@link #equals(Object, Object)}, the array fields and the fields that are not
+     * {@link Comparable} are skipped
+     *
+     * @return  the order of `a` and `b` by their primitive and {@link Comparable} fields, nulls first
+     */
+    @Override
+    public int compare(final T a, final T b) {
+        if (a == b) {
+            return 0;
+        }
+        if (null == a || null == b) {
+            return null == a ? -1 : 1;
+        }
+        try {
+            for (final FieldEquivalence<T> field : this.orderedFields) {
+                final int result = field.compare(a, b);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            throw failure(ex);
+        }
+    }
+
+    /**
+     *
+     * @return  the names of the fields compared, in order
+     */
+    public String[] getFieldNames() {
+        final String[] names = new String[this.fields.length];
+        for (int i = 0; i < names.length; i += 1) {
+            names[i] = this.fields[i].getter.field.getName();
+        }
+        return names;
+    }
+
+    public Class<T> getType() {
+        return this.type;
+    }
+
+    private RuntimeException failure(final Exception cause) {
+        return new RuntimeException("Fail to compare instances of \"" + this.type.getName() + '\"', cause);
+    }
+
+    /**
+     * Compares one field of 2 Java beans, the strategy is chosen once by the type of the field
+     */
+    private abstract static class FieldEquivalence<T> {
+
+        final FieldGetter<T> getter;
+
+        FieldEquivalence(final FieldGetter<T> getter) {
+            this.getter = getter;
+        }
+
+        static <T> FieldEquivalence<T> of(final FieldGetter<T> getter) {
+            final Class<?> type = getter.getReturnType();
+            if (boolean.class.equals(type)) {
+                return new BooleanField<>(getter);
+            } else if (byte.class.equals(type)) {
+                return new ByteField<>(getter);
+            } else if (short.class.equals(type)) {
+                return new ShortField<>(getter);
+            } else if (char.class.equals(type)) {
+                return new CharField<>(getter);
+            } else if (int.class.equals(type)) {
+                return new IntField<>(getter);
+            } else if (long.class.equals(type)) {
+                return new LongField<>(getter);
+            } else if (float.class.equals(type)) {
+                return new FloatField<>(getter);
+            } else if (double.class.equals(type)) {
+                return new DoubleField<>(getter);
+            } else if (type.isArray()) {
+                return new ArrayField<>(getter);
+            }
+            return new ObjectField<>(getter, Comparable.class.isAssignableFrom(type));
+        }
+
+        abstract boolean equal(T a, T b) throws IllegalAccessException, InvocationTargetException;
+
+        abstract int hash(T obj) throws IllegalAccessException, InvocationTargetException;
+
+        abstract int compare(T a, T b) throws IllegalAccessException, InvocationTargetException;
+
+        /**
+         *
+         * @return  whether the field is compared by {@link #compare(Object, Object)}
+         */
+        boolean isOrdered() {
+            return true;
+        }
+    }
+
+    private static final class BooleanField<T> extends FieldEquivalence<T> {
+
+        BooleanField(final FieldGetter<T> getter) {
+            super(getter);
+        }
+
+        @Override
+        boolean equal(final T a, final T b) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getBoolean(a) == this.getter.getBoolean(b);
+        }
+
+        @Override
+        int hash(final T obj) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getBoolean(obj) ? 1231 : 1237;
+        }
+
+        @Override
+        int compare(final T a, final T b) throws IllegalAccessException, InvocationTargetException {
+            final boolean x = this.getter.getBoolean(a);
+            return x == this.getter.getBoolean(b) ? 0 : (x ? 1 : -1);
+        }
+    }
+
+    /**
+     * Compares a byte field, the difference of 2 bytes can not overflow an int
+     */
+    private static final class ByteField<T> extends FieldEquivalence<T> {
+
+        ByteField(final FieldGetter<T> getter) {
+            super(getter);
+        }
+
+        @Override
+        boolean equal(final T a, final T b) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getByte(a) == this.getter.getByte(b);
+        }
+
+        @Override
+        int hash(final T obj) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getByte(obj);
+        }
+
+        @Override
+        int compare(final T a, final T b) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getByte(a) - this.getter.getByte(b);
+        }
+    }
+
+    /**
+     * Compares a short field, the difference of 2 shorts can not overflow an int
+     */
+    private static final class ShortField<T> extends FieldEquivalence<T> {
+
+        ShortField(final FieldGetter<T> getter) {
+            super(getter);
+        }
+
+        @Override
+        boolean equal(final T a, final T b) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getShort(a) == this.getter.getShort(b);
+        }
+
+        @Override
+        int hash(final T obj) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getShort(obj);
+        }
+
+        @Override
+        int compare(final T a, final T b) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getShort(a) - this.getter.getShort(b);
+        }
+    }
+
+    /**
+     * Compares a char field as an unsigned value, as {@link Character#compareTo(Character)} does
+     */
+    private static final class CharField<T> extends FieldEquivalence<T> {
+
+        CharField(final FieldGetter<T> getter) {
+            super(getter);
+        }
+
+        @Override
+        boolean equal(final T a, final T b) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getChar(a) == this.getter.getChar(b);
+        }
+
+        @Override
+        int hash(final T obj) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getChar(obj);
+        }
+
+        @Override
+        int compare(final T a, final T b) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getChar(a) - this.getter.getChar(b);
+        }
+    }
+
+    private static final class IntField<T> extends FieldEquivalence<T> {
+
+        IntField(final FieldGetter<T> getter) {
+            super(getter);
+        }
+
+        @Override
+        boolean equal(final T a, final T b) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getInt(a) == this.getter.getInt(b);
+        }
+
+        @Override
+        int hash(final T obj) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getInt(obj);
+        }
+
+        @Override
+        int compare(final T a, final T b) throws IllegalAccessException, InvocationTargetException {
+            final int x = this.getter.getInt(a);
+            final int y = this.getter.getInt(b);
+            return x < y ? -1 : (x == y ? 0 : 1);
+        }
+    }
+
+    private static final class LongField<T> extends FieldEquivalence<T> {
+
+        LongField(final FieldGetter<T> getter) {
+            super(getter);
+        }
+
+        @Override
+        boolean equal(final T a, final T b) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getLong(a) == this.getter.getLong(b);
+        }
+
+        @Override
+        int hash(final T obj) throws IllegalAccessException, InvocationTargetException {
+            final long value = this.getter.getLong(obj);
+            return (int) (value ^ (value >>> 32));
+        }
+
+        @Override
+        int compare(final T a, final T b) throws IllegalAccessException, InvocationTargetException {
+            final long x = this.getter.getLong(a);
+            final long y = this.getter.getLong(b);
+            return x < y ? -1 : (x == y ? 0 : 1);
+        }
+    }
+
+    /**
+     * Compares a float field as {@link Float#equals(Object)} / {@link Float#compare(float, float)} do
+     */
+    private static final class FloatField<T> extends FieldEquivalence<T> {
+
+        FloatField(final FieldGetter<T> getter) {
+            super(getter);
+        }
+
+        @Override
+        boolean equal(final T a, final T b) throws IllegalAccessException, InvocationTargetException {
+            return Float.floatToIntBits(this.getter.getFloat(a)) == Float.floatToIntBits(this.getter.getFloat(b));
+        }
+
+        @Override
+        int hash(final T obj) throws IllegalAccessException, InvocationTargetException {
+            return Float.floatToIntBits(this.getter.getFloat(obj));
+        }
+
+        @Override
+        int compare(final T a, final T b) throws IllegalAccessException, InvocationTargetException {
+            return Float.compare(this.getter.getFloat(a), this.getter.getFloat(b));
+        }
+    }
+
+    /**
+     * Compares a double field as {@link Double#equals(Object)} / {@link Double#compare(double, double)} do
+     */
+    private static final class DoubleField<T> extends FieldEquivalence<T> {
+
+        DoubleField(final FieldGetter<T> getter) {
+            super(getter);
+        }
+
+        @Override
+        boolean equal(final T a, final T b) throws IllegalAccessException, InvocationTargetException {
+            return Double.doubleToLongBits(this.getter.getDouble(a)) ==
+                    Double.doubleToLongBits(this.getter.getDouble(b));
+        }
+
+        @Override
+        int hash(final T obj) throws IllegalAccessException, InvocationTargetException {
+            final long bits = Double.doubleToLongBits(this.getter.getDouble(obj));
+            return (int) (bits ^ (bits >>> 32));
+        }
+
+        @Override
+        int compare(final T a, final T b) throws IllegalAccessException, InvocationTargetException {
+            return Double.compare(this.getter.getDouble(a), this.getter.getDouble(b));
+        }
+    }
+
+    /**
+     * Compares an array field by its elements, the arrays are not ordered
+     */
+    private static final class ArrayField<T> extends FieldEquivalence<T> {
+
+        ArrayField(final FieldGetter<T> getter) {
+            super(getter);
+        }
+
+        @Override
+        boolean equal(final T a, final T b) throws IllegalAccessException, InvocationTargetException {
+            return Objects.deepEquals(this.getter.get(a), this.getter.get(b));
+        }
+
+        @Override
+        int hash(final T obj) throws IllegalAccessException, InvocationTargetException {
+            // the hash code of the only element is the deep hash code of the array
+            return Arrays.deepHashCode(new Object[] {this.getter.get(obj)}) - 31;
+        }
+
+        @Override
+        int compare(final T a, final T b) {
+            return 0;
+        }
+
+        @Override
+        boolean isOrdered() {
+            return false;
+        }
+    }
+
+    private static final class ObjectField<T> extends FieldEquivalence<T> {
+
+        private final boolean comparable;
+
+        ObjectField(final FieldGetter<T> getter, final boolean comparable) {
+            super(getter);
+            this.comparable = comparable;
+        }
+
+        @Override
+        boolean equal(final T a, final T b) throws IllegalAccessException, InvocationTargetException {
+            return Objects.equals(this.getter.get(a), this.getter.get(b));
+        }
+
+        @Override
+        int hash(final T obj) throws IllegalAccessException, InvocationTargetException {
+            return Objects.hashCode(this.getter.get(obj));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        int compare(final T a, final T b) throws IllegalAccessException, InvocationTargetException {
+            final Object x = this.getter.get(a);
+            final Object y = this.getter.get(b);
+            if (x == y) {
+                return 0;
+            } else if (null == x || null == y) {
+                return null == x ? -1 : 1;
+            }
+            return ((Comparable<Object>) x).compareTo(y);
+        }
+
+        @Override
+        boolean isOrdered() {
+            return this.comparable;
+        }
+    }
+}
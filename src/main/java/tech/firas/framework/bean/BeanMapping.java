@@ -0,0 +1,80 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a pair of Java bean types for which the annotation processor of "java-bean-util-processor"
+ * generates a converter class at compile time, with the same mapping as {@link ByFieldNameBeanConverter}
+ * (of the configuration below) but without reflection or runtime bytecode generation
+ *
+ * The generated class is named
+ * "(the package of `to`).BeanMappingConverter$(the binary name of `from`)$(the binary name of `to` in its package)",
+ * with '_' in the binary names replaced by "_1", '$' by "_2" and '.' by '_', so that each pair of types has its
+ * own class name, and is picked by {@link BeanConverters#getConverter(Class, Class)} when it is present,
+ * in place of the converter of the default configuration
+ *
+ * To declare more than one pair on the same type, use {@link BeanMappings}
+ */
+@Documented
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface BeanMapping {
+
+    /**
+     * the type of the source Java bean
+     */
+    Class<?> from();
+
+    /**
+     * the type of the target Java bean, which must have a public default constructor
+     */
+    Class<?> to();
+
+    /**
+     * @see ByFieldNameBeanConverter.Configuration#isAllowGetTransient()
+     */
+    boolean allowGetTransient() default false;
+
+    /**
+     * @see ByFieldNameBeanConverter.Configuration#isAllowSetTransient()
+     */
+    boolean allowSetTransient() default false;
+
+    /**
+     * @see FieldGetter.Configuration#isAllowGetBoolean()
+     */
+    boolean allowGetBoolean() default false;
+
+    /**
+     * only the fields accessible from the generated class (public, or not private in the same package)
+     * can be read directly
+     * @see FieldGetter.Configuration#isAllowDirectlyGetField()
+     */
+    boolean allowDirectlyGetField() default false;
+
+    /**
+     * only the fields accessible from the generated class (public, or not private in the same package)
+     * can be written directly
+     * @see FieldSetter.Configuration#isAllowDirectlySetField()
+     */
+    boolean allowDirectlySetField() default false;
+}
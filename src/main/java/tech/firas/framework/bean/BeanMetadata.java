@@ -0,0 +1,149 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The introspected fields and public methods of a class, computed once per class
+ * and shared by all the converters touching the class
+ */
+final class BeanMetadata {
+
+    private static final ClassValue<BeanMetadata> metadata = new ClassValue<BeanMetadata>() {
+        @Override
+        protected BeanMetadata computeValue(final Class<?> type) {
+            return new BeanMetadata(type);
+        }
+    };
+
+    /**
+     * the non-static fields declared in the class and its base classes (except Object),
+     * from the class up to its base classes
+     */
+    private final List<Field> fields;
+
+    /**
+     * the non-static fields of each name, from the class up to its base classes
+     */
+    private final Map<String, List<Field>> fieldsByName;
+
+    /**
+     * the public methods (including the inherited ones) of each name
+     */
+    private final Map<String, List<Method>> methodsByName;
+
+    /**
+     * the accessors of the fields / methods declared in the class, see {@link Accessors}
+     */
+    private final ConcurrentMap<Object, Object> accessors = new ConcurrentHashMap<>();
+
+    private BeanMetadata(final Class<?> type) {
+        final List<Field> fields = new ArrayList<>();
+        final Map<String, List<Field>> fieldsByName = new HashMap<>();
+        for (Class<?> clazz = type; !Object.class.equals(clazz) && clazz != null; clazz = clazz.getSuperclass()) {
+            for (final Field field : clazz.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                fields.add(field);
+                List<Field> list = fieldsByName.get(field.getName());
+                if (list == null) {
+                    list = new ArrayList<>(1);
+                    fieldsByName.put(field.getName(), list);
+                }
+                list.add(field);
+            }
+        }
+        this.fields = Collections.unmodifiableList(fields);
+        this.fieldsByName = fieldsByName;
+
+        final Map<String, List<Method>> methodsByName = new HashMap<>();
+        for (final Method method : type.getMethods()) {
+            List<Method> list = methodsByName.get(method.getName());
+            if (list == null) {
+                list = new ArrayList<>(1);
+                methodsByName.put(method.getName(), list);
+            }
+            list.add(method);
+        }
+        this.methodsByName = methodsByName;
+    }
+
+    static BeanMetadata forClass(final Class<?> type) {
+        return metadata.get(type);
+    }
+
+    /**
+     *
+     * @return  the non-static fields, from the class up to its base classes
+     */
+    List<Field> getFields() {
+        return this.fields;
+    }
+
+    /**
+     *
+     * @param name  the name of the fields
+     * @return  the non-static fields of the name, from the class up to its base classes
+     */
+    List<Field> getFields(final String name) {
+        final List<Field> list = this.fieldsByName.get(name);
+        return list == null ? Collections.<Field>emptyList() : list;
+    }
+
+    /**
+     *
+     * @param name  the name of the methods
+     * @return  the public methods of the name
+     */
+    List<Method> getMethods(final String name) {
+        final List<Method> list = this.methodsByName.get(name);
+        return list == null ? Collections.<Method>emptyList() : list;
+    }
+
+    Object getAccessor(final Object key) {
+        return this.accessors.get(key);
+    }
+
+    /**
+     * Cache an accessor unless another thread has cached one for the same key
+     * @return  the cached accessor
+     */
+    Object putAccessor(final Object key, final Object accessor) {
+        final Object existing = this.accessors.putIfAbsent(key, accessor);
+        return existing == null ? accessor : existing;
+    }
+
+    /**
+     *
+     * @param fieldName  the name of a field
+     * @return  the field name with the first letter in upper case, e.g. "AaAa" for "aaAa"
+     */
+    static String capitalize(final String fieldName) {
+        return fieldName.substring(0, 1).toUpperCase(Locale.US) + fieldName.substring(1);
+    }
+}
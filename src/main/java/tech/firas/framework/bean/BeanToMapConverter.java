@@ -0,0 +1,132 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import org.springframework.core.convert.converter.Converter;
+
+/**
+ * Converts a Java bean to a map from the field names to the field values, e.g. for JSON or caching
+ *
+ * The fields are discovered by {@link FieldGetter} as {@link ByFieldNameBeanConverter} does, once in the constructor.
+ * The map is a {@link LinkedHashMap} presized for the fields, in the order of the fields
+ * (from the class up to its base classes); a field hidden by a field of the same name in a subclass is skipped.
+ *
+ * A converter is immutable after construction and can be shared by any number of threads
+ *
+ * @param <S>  the type of the source Java bean
+ */
+public class BeanToMapConverter<S> implements Converter<S, Map<String, Object>> {
+
+    private static final Logger logger = Logger.getLogger(BeanToMapConverter.class.getName());
+
+    private final Class<S> srcClass;
+    private final String[] names;
+    private final FieldGetter<S>[] getters;
+
+    /**
+     * the initial capacity of the map so that it is not resized
+     */
+    private final int capacity;
+
+    /**
+     * Construct a BeanToMapConverter
+     * @param srcClass  the type of the source Java bean to convert from
+     * @param configuration  specifies how to get the fields of the Java bean, null for the default
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public BeanToMapConverter(final Class<S> srcClass, final ByFieldNameBeanConverter.Configuration configuration) {
+        if (null == srcClass) {
+            throw new IllegalArgumentException("srcClass can not be null");
+        }
+        final ByFieldNameBeanConverter.Configuration conf = configuration == null ?
+                new ByFieldNameBeanConverter.Configuration() : configuration;
+        final List<String> names = new ArrayList<>();
+        final List<FieldGetter<S>> getters = new ArrayList<>();
+        final Set<String> found = new HashSet<>();
+        for (final Field field : BeanMetadata.forClass(srcClass).getFields()) {
+            if ((!conf.isAllowGetTransient() && Modifier.isTransient(field.getModifiers())) ||
+                    found.contains(field.getName())) {
+                continue;
+            }
+            try {
+                getters.add(new FieldGetter<>(srcClass, field, conf.getGetterConfiguration()));
+                names.add(field.getName());
+                found.add(field.getName());
+            } catch (NoSuchMethodException ex) {
+                logger.finer(ex.getMessage());
+            }
+        }
+        this.srcClass = srcClass;
+        this.names = names.toArray(new String[names.size()]);
+        this.getters = getters.toArray(new FieldGetter[getters.size()]);
+        this.capacity = this.names.length * 4 / 3 + 1;
+    }
+
+    @Override
+    public Map<String, Object> convert(final S src) {
+        if (null == src) {
+            return null;
+        }
+        return convertInto(src, new LinkedHashMap<String, Object>(this.capacity));
+    }
+
+    /**
+     * Put the field values of `src` into `dest`
+     * @param src  the source Java bean, nothing is put if it is null
+     * @param dest  the map to put the field values into
+     * @return  `dest`
+     */
+    public <M extends Map<String, Object>> M convertInto(final S src, final M dest) {
+        if (null == dest) {
+            throw new IllegalArgumentException("dest can not be null");
+        }
+        if (null == src) {
+            return dest;
+        }
+        try {
+            for (int i = 0; i < this.getters.length; i += 1) {
+                dest.put(this.names[i], this.getters[i].get(src));
+            }
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            throw new RuntimeException("Fail to convert an instance of \"" + src.getClass().getName() +
+                    "\" to a map", ex);
+        }
+        return dest;
+    }
+
+    /**
+     *
+     * @return  the names of the fields put into the map, in order
+     */
+    public String[] getFieldNames() {
+        return this.names.clone();
+    }
+
+    public Class<S> getSourceType() {
+        return this.srcClass;
+    }
+}
@@ -16,24 +16,61 @@
 package tech.firas.framework.bean;
 
 import java.io.Serializable;
+import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.springframework.core.convert.converter.Converter;
 
+/**
+ * Converts a Java bean to another Java bean of another type by copying the fields of the same name
+ *
+ * A converter is immutable after construction, and so are the {@link FieldGetter}s / {@link FieldSetter}s it uses,
+ * so a converter can be shared and called concurrently by any number of threads
+ *
+ * @param <S>  the type of the source Java bean
+ * @param <D>  the type of the target Java bean
+ */
 public class ByFieldNameBeanConverter<S, D> implements Converter<S, D> {
 
     private static final Logger logger = Logger.getLogger(ByFieldNameBeanConverter.class.getName());
 
+    private final Class<S> srcClass;
     private final Constructor<D> constructor;
-    private final Map<FieldGetter<S>, FieldSetter<D>> map;
+    private final BeanCopier<S, D> copier;
+    private final boolean preserveIdentity;
+
+    /**
+     * the copiers of the mapped fields, kept to fuse or project this converter, null until they are built
+     * @see #andThen(ByFieldNameBeanConverter)
+     * @see #project(BitSet)
+     */
+    private volatile List<FieldCopier<S, D>> fieldCopiers;
+
+    private final boolean allowBytecodeGeneration;
+
+    /**
+     * the projections of this converter by the masks of the fields, null until the first projection
+     */
+    private volatile ConcurrentMap<BitSet, ByFieldNameBeanConverter<S, D>> projections;
 
     /**
      * Construct a ByFieldNameBeanConverter
@@ -44,40 +81,140 @@ public class ByFieldNameBeanConverter<S, D> implements Converter<S, D> {
      */
     public ByFieldNameBeanConverter(final Class<S> srcClass, final Class<D> destClass,
             final Configuration configuration) throws NoSuchMethodException {
+        this(srcClass, destClass, configuration, null != configuration && configuration.isLazy(),
+                new HashMap<Map.Entry<Class<?>, Class<?>>, ByFieldNameBeanConverter<?, ?>>());
+    }
+
+    /**
+     * @param lazy  whether map the fields on the first use instead of now
+     * @param graph  the converters already built for the nested Java beans of the root converter
+     */
+    private ByFieldNameBeanConverter(final Class<S> srcClass, final Class<D> destClass,
+            final Configuration configuration, final boolean lazy,
+            final Map<Map.Entry<Class<?>, Class<?>>, ByFieldNameBeanConverter<?, ?>> graph)
+            throws NoSuchMethodException {
         final Configuration conf = configuration == null ? new Configuration() : configuration;
+        this.srcClass = srcClass;
         try {
             this.constructor = destClass.getConstructor();
-            this.constructor.newInstance();
+            if (!lazy) {
+                this.constructor.newInstance();
+            }
         } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException ex) {
             logger.log(Level.SEVERE, "Fail to access default constructor", ex);
             throw new NoSuchMethodException("There is no accessible default constructor (no parameter) for " +
                     destClass.getName());
         }
+        this.preserveIdentity = conf.isDeepConversion() && conf.isPreserveIdentity();
+        this.allowBytecodeGeneration = conf.isAllowBytecodeGeneration();
+        this.copier = lazy ? new LazyBeanCopier<>(this, srcClass, conf) : buildCopier(srcClass, conf, graph);
+    }
 
-        this.map = new HashMap<>();
-        for (Class<?> clazz = srcClass; !Object.class.equals(clazz) && clazz != null; clazz = clazz.getSuperclass()) {
-            // traverse from srcClass up to Object to search for the properties of srcClass
-            for (final Field field : clazz.getDeclaredFields()) {
-                if (Modifier.isStatic(field.getModifiers()) ||
-                        ( conf.isAllowGetTransient() && Modifier.isTransient(field.getModifiers()) )) {
-                    continue;
-                }
-                try {
-                    final FieldGetter<S> getter = new FieldGetter<>(srcClass, field, conf.getterConfiguration);
-                    final FieldSetter<D> setter = getCorrespondingSetter(field.getName(),
-                            ObjectType.getObjectType(getter.getReturnType()), destClass, conf);
-                    if (null != setter) {
-                        map.put(getter, setter);
-                        if (logger.isLoggable(Level.FINER)) {
-                            logger.finer("from: " + srcClass.getName() + ", to: " + destClass.getName() +
-                                    ", field: " + field.getName() + ", fromDeclaringClass: " + clazz.getName());
-                        }
+    /**
+     * Construct a converter of the copiers derived from other converters, see
+     * {@link #andThen(ByFieldNameBeanConverter)} and {@link #project(BitSet)}
+     */
+    private ByFieldNameBeanConverter(final Class<S> srcClass, final Constructor<D> constructor,
+            final List<FieldCopier<S, D>> copiers, final boolean allowBytecodeGeneration,
+            final boolean preserveIdentity) {
+        this.srcClass = srcClass;
+        this.constructor = constructor;
+        this.preserveIdentity = preserveIdentity;
+        final BeanCopier<S, D> generated = allowBytecodeGeneration ?
+                BeanCopierGenerator.generate(srcClass, constructor, copiers) : null;
+        final BeanCopier<S, D> plain = generated == null ? new ReflectiveBeanCopier<>(constructor, copiers) : generated;
+        this.copier = preserveIdentity ? new IdentityBeanCopier<>(plain) : plain;
+        this.allowBytecodeGeneration = allowBytecodeGeneration;
+        this.fieldCopiers = copiers;
+    }
+
+    /**
+     * Map the fields and build the copier
+     * @param graph  the converters already built for the nested Java beans of the root converter
+     */
+    BeanCopier<S, D> buildCopier(final Class<S> srcClass, final Configuration conf,
+            final Map<Map.Entry<Class<?>, Class<?>>, ByFieldNameBeanConverter<?, ?>> graph) {
+        final long start = conf.isInstrumented() ? System.nanoTime() : 0;
+        final Class<D> destClass = this.constructor.getDeclaringClass();
+        if (conf.isDeepConversion()) {
+            // register before mapping the fields, so that a cyclic reference back to this pair of types ends here
+            graph.put(new AbstractMap.SimpleImmutableEntry<Class<?>, Class<?>>(srcClass, destClass), this);
+        }
+
+        final List<FieldCopier<S, D>> copiers = new ArrayList<>();
+        final BeanMetadata destMetadata = BeanMetadata.forClass(destClass);
+        for (final Field field : BeanMetadata.forClass(srcClass).getFields()) {
+            // the non-static fields from srcClass up to Object
+            if (!conf.isAllowGetTransient() && Modifier.isTransient(field.getModifiers())) {
+                continue;
+            }
+            try {
+                final FieldGetter<S> getter = new FieldGetter<>(srcClass, field, conf.getterConfiguration);
+                final FieldCopier<S, D> fieldCopier = getFieldCopier(getter, destClass, destMetadata, conf, graph);
+                if (null != fieldCopier) {
+                    copiers.add(FieldCopier.withNullValueStrategy(fieldCopier, conf.nullValueStrategy));
+                    if (logger.isLoggable(Level.FINER)) {
+                        logger.finer("from: " + srcClass.getName() + ", to: " + destClass.getName() +
+                                ", field: " + field.getName() + ", fromDeclaringClass: " +
+                                field.getDeclaringClass().getName());
                     }
-                } catch (NoSuchMethodException ex) {
-                    logger.finer(ex.getMessage());
                 }
+            } catch (NoSuchMethodException ex) {
+                logger.finer(ex.getMessage());
             }
         }
+
+        this.fieldCopiers = Collections.unmodifiableList(copiers);
+        final BeanCopier<S, D> generated = this.allowBytecodeGeneration ?
+                BeanCopierGenerator.generate(srcClass, this.constructor, copiers) : null;
+        final BeanCopier<S, D> plain = generated == null ?
+                new ReflectiveBeanCopier<>(this.constructor, copiers) : generated;
+        final BeanCopier<S, D> copier = this.preserveIdentity ? new IdentityBeanCopier<>(plain) : plain;
+        final BeanCopier<S, D> instrumented;
+        if (conf.isInstrumented()) {
+            final ConverterMetrics metrics = new ConverterMetrics(srcClass, destClass, copiers.size(),
+                    generated != null);
+            metrics.setConstructionNanos(System.nanoTime() - start);
+            ConversionInstrumentation.fireConverterCreated(metrics);
+            instrumented = new InstrumentedBeanCopier<>(copier, metrics);
+        } else {
+            instrumented = copier;
+        }
+        return conf.isDeltaCopy() ?
+                new DeltaBeanCopier<>(instrumented, destClass, copiers, conf.getterConfiguration) : instrumented;
+    }
+
+    /**
+     * Get the copier, building it now if this converter is lazy and not built yet
+     */
+    BeanCopier<S, D> copier() {
+        final BeanCopier<S, D> copier = this.copier;
+        return copier instanceof LazyBeanCopier ? ((LazyBeanCopier<S, D>) copier).get() : copier;
+    }
+
+    /**
+     * Map the fields now if this converter is lazy and not built yet, or else do nothing
+     * @see Configuration#setLazy(boolean)
+     */
+    public void warmUp() {
+        copier();
+    }
+
+    /**
+     *
+     * @return  the metrics of this converter, or null if it is not instrumented,
+     *          or it is lazy and not built yet
+     * @see Configuration#setInstrumented(boolean)
+     */
+    public ConverterMetrics getMetrics() {
+        BeanCopier<S, D> copier = this.copier;
+        if (copier instanceof LazyBeanCopier) {
+            copier = ((LazyBeanCopier<S, D>) copier).getIfBuilt();
+        }
+        if (copier instanceof DeltaBeanCopier) {
+            copier = ((DeltaBeanCopier<S, D>) copier).getDelegate();
+        }
+        return copier instanceof InstrumentedBeanCopier ? ((InstrumentedBeanCopier<S, D>) copier).getMetrics() : null;
     }
 
     @Override
@@ -86,43 +223,536 @@ public class ByFieldNameBeanConverter<S, D> implements Converter<S, D> {
             return null;
         }
         try {
-            final D dest = this.constructor.newInstance();
-            for (final Map.Entry<FieldGetter<S>, FieldSetter<D>> entry : map.entrySet()) {
-                final Object value = entry.getKey().get(src);
-                entry.getValue().set(dest, value);
+            return this.copier.convert(src);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException ex) {
+            throw conversionFailure(src, ex);
+        }
+    }
+
+    /**
+     * Fuse this converter and `next` into one converter that converts S to T directly, e.g. Entity to DTO through
+     * Domain, without creating the intermediate Java bean
+     *
+     * Each field of T is traced back to the field of S it is copied from through M, and the fields of M that do not
+     * reach T are dropped. The getters and setters of M are assumed to store the values as they are, so a field of T
+     * copied from a field of M that is not copied from S is left as it is in T instead of copied from the default
+     * value of M. The fused converter neither preserves identity nor is instrumented.
+     *
+     * @param next  the converter from the target type of this converter to the final type
+     * @return  the fused converter
+     */
+    public <T> ByFieldNameBeanConverter<S, T> andThen(final ByFieldNameBeanConverter<D, T> next) {
+        if (null == next) {
+            throw new IllegalArgumentException("next can not be null");
+        }
+        if (!next.srcClass.isAssignableFrom(this.constructor.getDeclaringClass())) {
+            throw new IllegalArgumentException(next.srcClass.getName() + " is not assignable from " +
+                    this.constructor.getDeclaringClass().getName());
+        }
+        copier();
+        next.copier();
+        final Map<Field, FieldCopier<S, D>> firstByField = new HashMap<>();
+        for (final FieldCopier<S, D> first : this.fieldCopiers) {
+            firstByField.put(first.setter.field, first);
+        }
+        final List<FieldCopier<S, T>> fused = new ArrayList<>();
+        for (final FieldCopier<D, T> second : next.fieldCopiers) {
+            final FieldCopier<S, D> first = firstByField.get(second.getter.field);
+            if (null != first) {
+                fused.add(FieldCopier.fuse(first, second));
+            }
+        }
+        return new ByFieldNameBeanConverter<>(this.srcClass, next.constructor, fused,
+                this.allowBytecodeGeneration && next.allowBytecodeGeneration, false);
+    }
+
+    /**
+     *
+     * @return  the names of the mapped target fields, indexed as the bits of {@link #project(BitSet)}
+     */
+    public String[] getMappedFieldNames() {
+        copier();
+        final List<FieldCopier<S, D>> copiers = this.fieldCopiers;
+        final String[] names = new String[copiers.size()];
+        for (int i = 0; i < names.length; i += 1) {
+            names[i] = copiers.get(i).setter.field.getName();
+        }
+        return names;
+    }
+
+    /**
+     * Get a converter that copies only the fields of the names, see {@link #project(BitSet)}
+     * @param fieldNames  the names of the target fields to copy, the names not mapped are ignored
+     */
+    public ByFieldNameBeanConverter<S, D> project(final Collection<String> fieldNames) {
+        if (null == fieldNames) {
+            throw new IllegalArgumentException("fieldNames can not be null");
+        }
+        copier();
+        final List<FieldCopier<S, D>> copiers = this.fieldCopiers;
+        final BitSet mask = new BitSet(copiers.size());
+        for (int i = 0; i < copiers.size(); i += 1) {
+            if (fieldNames.contains(copiers.get(i).setter.field.getName())) {
+                mask.set(i);
+            }
+        }
+        return project(mask);
+    }
+
+    /**
+     * Get a converter that copies only the fields accepted by `filter`, see {@link #project(BitSet)}
+     * @param filter  selects the target fields to copy by their names
+     */
+    public ByFieldNameBeanConverter<S, D> project(final FieldFilter filter) {
+        if (null == filter) {
+            throw new IllegalArgumentException("filter can not be null");
+        }
+        copier();
+        final List<FieldCopier<S, D>> copiers = this.fieldCopiers;
+        final BitSet mask = new BitSet(copiers.size());
+        for (int i = 0; i < copiers.size(); i += 1) {
+            if (filter.accept(copiers.get(i).setter.field.getName())) {
+                mask.set(i);
+            }
+        }
+        return project(mask);
+    }
+
+    /**
+     * Get a converter that copies only a subset of the fields mapped by this converter, e.g. for an endpoint that
+     * needs only a few fields, the other fields are left as they are in the target Java bean
+     *
+     * The projection reuses the mapping of this converter and is cached by the mask,
+     * so getting it again for the same fields is cheap. The projection is neither instrumented nor in delta copy
+     * mode, and each distinct mask keeps a converter as long as this converter is reachable.
+     *
+     * @param mask  the indexes (in {@link #getMappedFieldNames()}) of the fields to copy, the bits beyond are ignored
+     * @return  the projected converter, or this converter if all the fields are selected
+     */
+    public ByFieldNameBeanConverter<S, D> project(final BitSet mask) {
+        if (null == mask) {
+            throw new IllegalArgumentException("mask can not be null");
+        }
+        copier();
+        final List<FieldCopier<S, D>> copiers = this.fieldCopiers;
+        final BitSet key = mask.get(0, copiers.size());
+        if (key.cardinality() == copiers.size()) {
+            return this;
+        }
+        final ConcurrentMap<BitSet, ByFieldNameBeanConverter<S, D>> projections = projections();
+        final ByFieldNameBeanConverter<S, D> existing = projections.get(key);
+        if (null != existing) {
+            return existing;
+        }
+        final List<FieldCopier<S, D>> projected = new ArrayList<>(key.cardinality());
+        for (int i = key.nextSetBit(0); i >= 0; i = key.nextSetBit(i + 1)) {
+            projected.add(copiers.get(i));
+        }
+        final ByFieldNameBeanConverter<S, D> converter = new ByFieldNameBeanConverter<>(this.srcClass,
+                this.constructor, projected, this.allowBytecodeGeneration, this.preserveIdentity);
+        final ByFieldNameBeanConverter<S, D> raced = projections.putIfAbsent(key, converter);
+        return null == raced ? converter : raced;
+    }
+
+    private ConcurrentMap<BitSet, ByFieldNameBeanConverter<S, D>> projections() {
+        ConcurrentMap<BitSet, ByFieldNameBeanConverter<S, D>> projections = this.projections;
+        if (null == projections) {
+            synchronized (this) {
+                projections = this.projections;
+                if (null == projections) {
+                    projections = new ConcurrentHashMap<>();
+                    this.projections = projections;
+                }
+            }
+        }
+        return projections;
+    }
+
+    /**
+     * Convert the value of a nested Java bean field, reusing the target Java bean it is already converted to
+     * in the current conversion if this converter preserves identity
+     */
+    @SuppressWarnings("unchecked")
+    Object convertNested(final Object value) {
+        if (this.preserveIdentity && null != value) {
+            final Object existing = IdentityBeanCopier.getConverted(value);
+            if (this.constructor.getDeclaringClass().isInstance(existing)) {
+                return existing;
+            }
+        }
+        return convert((S) value);
+    }
+
+    /**
+     * Check whether `current` equals what the nested Java bean `value` converts to, for
+     * {@link #copyChanged(Object, Object)} of the root converter; the fields are compared as
+     * {@link #copyChanged(Object, Object)} does if this converter is in delta copy mode and does not preserve
+     * identity (which would not end in a cyclic object graph), or else `value` is converted and compared by
+     * {@link Object#equals(Object)}
+     * @param value  the nested Java bean to convert, not null
+     * @param current  the current value of the target field, not null
+     */
+    @SuppressWarnings("unchecked")
+    boolean matchesNested(final Object value, final Object current) {
+        final BeanCopier<S, D> copier = copier();
+        if (this.preserveIdentity || !(copier instanceof DeltaBeanCopier)) {
+            return current.equals(convertNested(value));
+        }
+        if (!this.constructor.getDeclaringClass().isInstance(current)) {
+            return false;
+        }
+        try {
+            return ((DeltaBeanCopier<S, D>) copier).matches((S) value, (D) current);
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            throw conversionFailure((S) value, ex);
+        }
+    }
+
+    /**
+     * Build the converter of a nested Java bean in the graph of the root converter, it is never lazy
+     */
+    static <S, D> ByFieldNameBeanConverter<S, D> nested(final Class<S> srcClass, final Class<D> destClass,
+            final Configuration configuration,
+            final Map<Map.Entry<Class<?>, Class<?>>, ByFieldNameBeanConverter<?, ?>> graph)
+            throws NoSuchMethodException {
+        return new ByFieldNameBeanConverter<>(srcClass, destClass, configuration, false, graph);
+    }
+
+    /**
+     * Copy the mapped fields from `src` into an existing instance of the target Java bean,
+     * by the same mapping as {@link #convert(Object)}
+     * @param src  the source Java bean, nothing is copied if it is null
+     * @param dest  the target Java bean to copy into
+     * @return  `dest`
+     */
+    public D copyInto(final S src, final D dest) {
+        if (null == dest) {
+            throw new IllegalArgumentException("dest can not be null");
+        }
+        if (null == src) {
+            return dest;
+        }
+        try {
+            this.copier.copy(src, dest);
+            return dest;
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            throw conversionFailure(src, ex);
+        }
+    }
+
+    /**
+     * Copy the mapped fields from `src` into `dest` only if their values differ, e.g. to merge a DTO into an entity
+     * without marking the unchanged fields dirty; the primitive fields are compared without boxing,
+     * and the other fields by {@link Object#equals(Object)}, except that in deep conversion mode a nested Java bean
+     * (or a collection, an array or a map of them) is compared field by field before it is converted
+     * @param src  the source Java bean, nothing is copied if it is null
+     * @param dest  the target Java bean to copy into
+     * @return  the indexes (in {@link #getDeltaFieldNames()}) of the fields copied, empty if nothing changed
+     * @throws IllegalStateException  if this converter is not in delta copy mode
+     * @see Configuration#setDeltaCopy(boolean)
+     */
+    public BitSet copyChanged(final S src, final D dest) {
+        if (null == dest) {
+            throw new IllegalArgumentException("dest can not be null");
+        }
+        final DeltaBeanCopier<S, D> copier = deltaCopier();
+        if (null == src) {
+            return new BitSet(0);
+        }
+        try {
+            return copier.copyChanged(src, dest);
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            throw conversionFailure(src, ex);
+        }
+    }
+
+    /**
+     *
+     * @return  the names of the target fields, indexed as the bits returned by {@link #copyChanged(Object, Object)}
+     * @throws IllegalStateException  if this converter is not in delta copy mode
+     */
+    public String[] getDeltaFieldNames() {
+        return deltaCopier().getFieldNames();
+    }
+
+    private DeltaBeanCopier<S, D> deltaCopier() {
+        final BeanCopier<S, D> copier = copier();
+        if (!(copier instanceof DeltaBeanCopier)) {
+            throw new IllegalStateException("The converter is not in delta copy mode");
+        }
+        return (DeltaBeanCopier<S, D>) copier;
+    }
+
+    /**
+     * Convert each element of `src` by {@link #convert(Object)}, a null element is converted to null
+     * @param src  the source Java beans
+     * @return  a list of the converted Java beans in the same order as `src`, or null if `src` is null
+     */
+    public List<D> convertAll(final Collection<? extends S> src) {
+        if (null == src) {
+            return null;
+        }
+        return convertInto(src, new ArrayList<D>(src.size()));
+    }
+
+    /**
+     * Convert each element of `src` by {@link #convert(Object)}, a null element is converted to null
+     * @param src  the source Java beans
+     * @return  an array of the converted Java beans in the same order as `src`, or null if `src` is null
+     */
+    public D[] convertAll(final S[] src) {
+        if (null == src) {
+            return null;
+        }
+        final D[] result = newArray(src.length);
+        convertRange(src, result, 0, src.length);
+        return result;
+    }
+
+    /**
+     * Convert each element of `src` in parallel in the common pool (or a shared pool on Java 7),
+     * see {@link #convertAllParallel(Object[], ForkJoinPool, int)}
+     */
+    public D[] convertAllParallel(final S[] src) {
+        return convertAllParallel(src, null, ParallelConversion.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Convert each element of `src` by {@link #convert(Object)} in parallel, a null element is converted to null
+     * @param src  the source Java beans
+     * @param pool  the pool to run the conversion, null for the common pool (or a shared pool on Java 7)
+     * @param threshold  the number of elements converted sequentially in one task,
+     *                   `src` is converted in the calling thread if it is not longer than `threshold`
+     * @return  an array of the converted Java beans in the same order as `src`, or null if `src` is null
+     */
+    public D[] convertAllParallel(final S[] src, final ForkJoinPool pool, final int threshold) {
+        if (null == src) {
+            return null;
+        }
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("threshold must be positive");
+        }
+        final D[] result = newArray(src.length);
+        if (src.length <= threshold) {
+            convertRange(src, result, 0, src.length);
+        } else {
+            ParallelConversion.convert(this, src, result, pool, threshold);
+        }
+        return result;
+    }
+
+    /**
+     * Convert each element of `src` in parallel in the common pool (or a shared pool on Java 7),
+     * see {@link #convertAllParallel(List, ForkJoinPool, int)}
+     */
+    public List<D> convertAllParallel(final List<? extends S> src) {
+        return convertAllParallel(src, null, ParallelConversion.DEFAULT_THRESHOLD);
+    }
+
+    /**
+     * Convert each element of `src` by {@link #convert(Object)} in parallel, a null element is converted to null
+     * @param src  the source Java beans
+     * @param pool  the pool to run the conversion, null for the common pool (or a shared pool on Java 7)
+     * @param threshold  the number of elements converted sequentially in one task,
+     *                   `src` is converted in the calling thread if it is not longer than `threshold`
+     * @return  a list of the converted Java beans in the same order as `src`, or null if `src` is null
+     */
+    @SuppressWarnings("unchecked")
+    public List<D> convertAllParallel(final List<? extends S> src, final ForkJoinPool pool, final int threshold) {
+        if (null == src) {
+            return null;
+        }
+        final D[] result = convertAllParallel((S[]) src.toArray(), pool, threshold);
+        return new ArrayList<>(Arrays.asList(result));
+    }
+
+    /**
+     * Get an iterator that converts the elements of `src` by {@link #convert(Object)} on demand,
+     * without collecting them; {@link Iterator#remove()} removes the element from `src`
+     * @param src  the source Java beans
+     * @return  an iterator of the converted Java beans
+     */
+    public Iterator<D> convertLazily(final Iterator<? extends S> src) {
+        if (null == src) {
+            throw new IllegalArgumentException("src can not be null");
+        }
+        return new ConvertingIterator<>(this, src, null);
+    }
+
+    /**
+     * Get an iterable whose iterators convert the elements of `src` on demand
+     * @see #convertLazily(Iterator)
+     */
+    public Iterable<D> convertLazily(final Iterable<? extends S> src) {
+        if (null == src) {
+            throw new IllegalArgumentException("src can not be null");
+        }
+        return new Iterable<D>() {
+            @Override
+            public Iterator<D> iterator() {
+                return convertLazily(src.iterator());
+            }
+        };
+    }
+
+    /**
+     * Get an iterator that copies each element of `src` into the same instance `dest` by
+     * {@link #copyInto(Object, Object)} on demand, i.e. a flyweight that is only valid until the next element,
+     * a null element is converted to null
+     * @param src  the source Java beans
+     * @param dest  the target Java bean reused for every element
+     * @return  an iterator that returns `dest` (or null) for each element
+     */
+    public Iterator<D> convertReusing(final Iterator<? extends S> src, final D dest) {
+        if (null == src) {
+            throw new IllegalArgumentException("src can not be null");
+        }
+        if (null == dest) {
+            throw new IllegalArgumentException("dest can not be null");
+        }
+        return new ConvertingIterator<>(this, src, dest);
+    }
+
+    /**
+     * Convert `src[from]` ... `src[to - 1]` into `result[from]` ... `result[to - 1]`
+     */
+    void convertRange(final S[] src, final D[] result, final int from, final int to) {
+        final BeanCopier<S, D> copier = copier();
+        S current = null;
+        try {
+            for (int i = from; i < to; i += 1) {
+                current = src[i];
+                if (null != current) {
+                    result[i] = copier.convert(current);
+                }
             }
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException ex) {
+            throw conversionFailure(current, ex);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private D[] newArray(final int length) {
+        return (D[]) Array.newInstance(this.constructor.getDeclaringClass(), length);
+    }
+
+    /**
+     * Convert each element of `src` by {@link #convert(Object)} and add the results to `dest`,
+     * a null element is converted to null
+     * @param src  the source Java beans
+     * @param dest  the list to add the converted Java beans to
+     * @return  `dest`
+     */
+    public <L extends Collection<? super D>> L convertInto(final Collection<? extends S> src, final L dest) {
+        if (null == dest) {
+            throw new IllegalArgumentException("dest can not be null");
+        }
+        if (null == src) {
             return dest;
+        }
+        if (dest instanceof ArrayList) {
+            ((ArrayList<?>) dest).ensureCapacity(dest.size() + src.size());
+        }
+        final BeanCopier<S, D> copier = copier();
+        S current = null;
+        try {
+            for (final S element : src) {
+                current = element;
+                if (null == current) {
+                    dest.add(null);
+                } else {
+                    dest.add(copier.convert(current));
+                }
+            }
         } catch (InstantiationException | IllegalAccessException | InvocationTargetException ex) {
-            throw new RuntimeException("Fail to convert an instance of \"" + src.getClass().getName() +
-                    "\" to an instance of \"" + this.constructor.getDeclaringClass().getName() + '\"', ex);
+            throw conversionFailure(current, ex);
         }
+        return dest;
     }
 
-    private static <D> FieldSetter<D> getCorrespondingSetter(final String fieldName,
-            final Class<?> srcFieldType, final Class<D> destClass,
-            final Configuration configuration) throws NoSuchMethodException {
-        for (Class<?> clazz = destClass; !Object.class.equals(clazz) && clazz != null; clazz = clazz.getSuperclass()) {
-            // traverse from destClass up to Object to search for the property of destClass that
-            // 1. is not static
-            // 2. is not transient (if configure to not allow transient (default))
-            // 3. has a name that equals to fieldName
-            // 4. can be assigned from srcFieldType
-            for (final Field field : clazz.getDeclaredFields()) {
-                if (!Modifier.isStatic(field.getModifiers()) &&
-                        (configuration.isAllowSetTransient() || !Modifier.isTransient(field.getModifiers())) &&
-                        field.getName().equals(fieldName) &&
-                        ObjectType.getObjectType(field.getType()).isAssignableFrom(srcFieldType)) {
-                    final FieldSetter<D> setter = new FieldSetter<>(destClass, field, configuration.setterConfiguration);
-                    final Class<?> targetObjectType = ObjectType.getObjectType(setter.getParameterType());
-                    if (targetObjectType.isAssignableFrom(srcFieldType)) {
-                        return setter;
+    private RuntimeException conversionFailure(final S src, final Exception cause) {
+        return new RuntimeException("Fail to convert an instance of \"" + src.getClass().getName() +
+                "\" to an instance of \"" + this.constructor.getDeclaringClass().getName() + '\"', cause);
+    }
+
+    private static <S, D> FieldCopier<S, D> getFieldCopier(final FieldGetter<S> getter,
+            final Class<D> destClass, final BeanMetadata destMetadata, final Configuration configuration,
+            final Map<Map.Entry<Class<?>, Class<?>>, ByFieldNameBeanConverter<?, ?>> graph)
+            throws NoSuchMethodException {
+        final Class<?> srcFieldType = ObjectType.getObjectType(getter.getReturnType());
+        for (final Field field : destMetadata.getFields(getter.field.getName())) {
+            // the fields of the same name from destClass up to Object, search for the one that
+            // 1. is not transient (if configure to not allow transient (default))
+            // 2. can be assigned from srcFieldType, or converted from it in deep conversion mode
+            if (!configuration.isAllowSetTransient() && Modifier.isTransient(field.getModifiers())) {
+                continue;
+            }
+            if (ObjectType.getObjectType(field.getType()).isAssignableFrom(srcFieldType)) {
+                final FieldSetter<D> setter = new FieldSetter<>(destClass, field, configuration.setterConfiguration);
+                final Class<?> targetObjectType = ObjectType.getObjectType(setter.getParameterType());
+                if (targetObjectType.isAssignableFrom(srcFieldType)) {
+                    if (configuration.isDeepConversion()) {
+                        // e.g. the element types of 2 lists may differ
+                        final ValueConverter converter = ValueConverter.resolve(getter.getGenericReturnType(),
+                                setter.getGenericParameterType(), configuration, graph);
+                        if (null == converter) {
+                            continue;
+                        } else if (ValueConverter.IDENTITY != converter) {
+                            return new FieldCopier.ConvertingCopier<>(getter, setter, converter);
+                        }
                     }
+                    return FieldCopier.of(getter, setter);
+                }
+            } else if (configuration.isConverting()) {
+                final FieldSetter<D> setter;
+                try {
+                    setter = new FieldSetter<>(destClass, field, configuration.setterConfiguration);
+                } catch (NoSuchMethodException ex) {
+                    logger.finer(ex.getMessage());
+                    continue;
+                }
+                final FieldCopier<S, D> fieldCopier = getConvertingCopier(getter, setter, configuration, graph);
+                if (null != fieldCopier) {
+                    return fieldCopier;
                 }
             }
         }
         return null;
     }
 
+    /**
+     * Choose how to convert a field value whose type is not assignable to the target field, in the order of
+     * 1. primitive widening / narrowing
+     * 2. the {@link FieldValueConverter}s in the order of registration
+     * 3. nested conversion in deep conversion mode
+     * @return  the copier of the field, or null if the value can not be converted
+     */
+    private static <S, D> FieldCopier<S, D> getConvertingCopier(final FieldGetter<S> getter,
+            final FieldSetter<D> setter, final Configuration configuration,
+            final Map<Map.Entry<Class<?>, Class<?>>, ByFieldNameBeanConverter<?, ?>> graph) {
+        final Class<?> srcType = getter.getReturnType();
+        final Class<?> destType = setter.getParameterType();
+        if (FieldCopier.isNumeric(srcType) && FieldCopier.isNumeric(destType) &&
+                (FieldCopier.isWidening(srcType, destType) ?
+                        configuration.isAllowPrimitiveWidening() : configuration.isAllowPrimitiveNarrowing())) {
+            return FieldCopier.ofPrimitiveConversion(getter, setter);
+        }
+        for (final FieldValueConverter converter : configuration.fieldValueConverters) {
+            if (converter.supports(srcType, destType)) {
+                return new FieldCopier.ConvertingCopier<>(getter, setter,
+                        new ValueConverter.Adapter(converter, destType));
+            }
+        }
+        if (configuration.isDeepConversion()) {
+            final ValueConverter converter = ValueConverter.resolve(getter.getGenericReturnType(),
+                    setter.getGenericParameterType(), configuration, graph);
+            if (null != converter && ValueConverter.IDENTITY != converter) {
+                return new FieldCopier.ConvertingCopier<>(getter, setter, converter);
+            }
+        }
+        return null;
+    }
+
     public static final class Configuration implements Serializable {
 
         private FieldGetter.Configuration getterConfiguration = new FieldGetter.Configuration();
@@ -130,6 +760,81 @@ public class ByFieldNameBeanConverter<S, D> implements Converter<S, D> {
         private boolean allowGetTransient;
         private boolean allowSetTransient;
 
+        /**
+         * whether try to generate a dedicated class that copies the fields by calling the getters / setters
+         * directly, falling back to reflection when it is not possible
+         */
+        private boolean allowBytecodeGeneration;
+
+        /**
+         * whether record the {@link ConverterMetrics} of the converter and notify the {@link ConversionListener}s
+         */
+        private boolean instrumented;
+
+        /**
+         * whether convert a field whose type is not assignable to the target field, i.e.
+         * a nested Java bean, or a collection / an array / a map of Java beans, by a nested converter
+         */
+        private boolean deepConversion;
+
+        /**
+         * whether, in deep conversion mode, convert a Java bean referenced more than once in an object graph
+         * only once, so that shared and cyclic references are preserved
+         */
+        private boolean preserveIdentity;
+
+        /**
+         * whether copy a primitive number to a wider primitive type, e.g. int to long
+         */
+        private boolean allowPrimitiveWidening;
+
+        /**
+         * whether copy a primitive number to a narrower primitive type by casting, e.g. long to int
+         */
+        private boolean allowPrimitiveNarrowing;
+
+        /**
+         * whether map the fields on the first use (or {@link ByFieldNameBeanConverter#warmUp()}) instead of
+         * in the constructor, which does not call the default constructor of the target type to validate it either
+         */
+        private boolean lazy;
+
+        /**
+         * whether prepare {@link ByFieldNameBeanConverter#copyChanged(Object, Object)},
+         * which reads the target fields to copy only the changed ones
+         */
+        private boolean deltaCopy;
+
+        /**
+         * how to copy a null source value, {@link NullValueStrategy#OVERWRITE} by default
+         */
+        private NullValueStrategy nullValueStrategy = NullValueStrategy.OVERWRITE;
+
+        private ArrayList<FieldValueConverter> fieldValueConverters = new ArrayList<>();
+
+        public Configuration() {}
+
+        /**
+         * Copy a configuration, including the getter / setter configurations
+         * @param other  the configuration to copy
+         */
+        public Configuration(final Configuration other) {
+            this.getterConfiguration = new FieldGetter.Configuration(other.getterConfiguration);
+            this.setterConfiguration = new FieldSetter.Configuration(other.setterConfiguration);
+            this.allowGetTransient = other.allowGetTransient;
+            this.allowSetTransient = other.allowSetTransient;
+            this.allowBytecodeGeneration = other.allowBytecodeGeneration;
+            this.instrumented = other.instrumented;
+            this.deepConversion = other.deepConversion;
+            this.preserveIdentity = other.preserveIdentity;
+            this.allowPrimitiveWidening = other.allowPrimitiveWidening;
+            this.allowPrimitiveNarrowing = other.allowPrimitiveNarrowing;
+            this.lazy = other.lazy;
+            this.deltaCopy = other.deltaCopy;
+            this.nullValueStrategy = other.nullValueStrategy;
+            this.fieldValueConverters = new ArrayList<>(other.fieldValueConverters);
+        }
+
         public FieldGetter.Configuration getGetterConfiguration() {
             return getterConfiguration;
         }
@@ -168,6 +873,110 @@ public class ByFieldNameBeanConverter<S, D> implements Converter<S, D> {
             this.allowSetTransient = allowSetTransient;
         }
 
+        public boolean isAllowBytecodeGeneration() {
+            return allowBytecodeGeneration;
+        }
+
+        public void setAllowBytecodeGeneration(boolean allowBytecodeGeneration) {
+            this.allowBytecodeGeneration = allowBytecodeGeneration;
+        }
+
+        public boolean isInstrumented() {
+            return instrumented;
+        }
+
+        public void setInstrumented(boolean instrumented) {
+            this.instrumented = instrumented;
+        }
+
+        public boolean isDeepConversion() {
+            return deepConversion;
+        }
+
+        public void setDeepConversion(boolean deepConversion) {
+            this.deepConversion = deepConversion;
+        }
+
+        public boolean isPreserveIdentity() {
+            return preserveIdentity;
+        }
+
+        public void setPreserveIdentity(boolean preserveIdentity) {
+            this.preserveIdentity = preserveIdentity;
+        }
+
+        public boolean isAllowPrimitiveWidening() {
+            return allowPrimitiveWidening;
+        }
+
+        public void setAllowPrimitiveWidening(boolean allowPrimitiveWidening) {
+            this.allowPrimitiveWidening = allowPrimitiveWidening;
+        }
+
+        public boolean isAllowPrimitiveNarrowing() {
+            return allowPrimitiveNarrowing;
+        }
+
+        public void setAllowPrimitiveNarrowing(boolean allowPrimitiveNarrowing) {
+            this.allowPrimitiveNarrowing = allowPrimitiveNarrowing;
+        }
+
+        public boolean isLazy() {
+            return lazy;
+        }
+
+        public void setLazy(boolean lazy) {
+            this.lazy = lazy;
+        }
+
+        public boolean isDeltaCopy() {
+            return deltaCopy;
+        }
+
+        public void setDeltaCopy(boolean deltaCopy) {
+            this.deltaCopy = deltaCopy;
+        }
+
+        public NullValueStrategy getNullValueStrategy() {
+            return nullValueStrategy;
+        }
+
+        public void setNullValueStrategy(final NullValueStrategy nullValueStrategy) {
+            if (null == nullValueStrategy) {
+                throw new IllegalArgumentException("nullValueStrategy can not be null");
+            }
+            this.nullValueStrategy = nullValueStrategy;
+        }
+
+        /**
+         *
+         * @return  an unmodifiable view of the registered field value converters, in the order of registration
+         */
+        public List<FieldValueConverter> getFieldValueConverters() {
+            return Collections.unmodifiableList(fieldValueConverters);
+        }
+
+        /**
+         * Register a converter for the fields whose types can not be assigned to the target fields,
+         * the converters registered earlier take precedence
+         * @param converter  the converter to register
+         */
+        public void addFieldValueConverter(final FieldValueConverter converter) {
+            if (null == converter) {
+                throw new IllegalArgumentException("converter can not be null");
+            }
+            this.fieldValueConverters.add(converter);
+        }
+
+        /**
+         *
+         * @return  whether a field value whose type is not assignable to the target field may be converted
+         */
+        boolean isConverting() {
+            return deepConversion || allowPrimitiveWidening || allowPrimitiveNarrowing ||
+                    !fieldValueConverters.isEmpty();
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) {
@@ -179,13 +988,26 @@ public class ByFieldNameBeanConverter<S, D> implements Converter<S, D> {
             Configuration that = (Configuration) o;
             return allowGetTransient == that.allowGetTransient &&
                     allowSetTransient == that.allowSetTransient &&
+                    allowBytecodeGeneration == that.allowBytecodeGeneration &&
+                    instrumented == that.instrumented &&
+                    deepConversion == that.deepConversion &&
+                    preserveIdentity == that.preserveIdentity &&
+                    allowPrimitiveWidening == that.allowPrimitiveWidening &&
+                    allowPrimitiveNarrowing == that.allowPrimitiveNarrowing &&
+                    lazy == that.lazy &&
+                    deltaCopy == that.deltaCopy &&
+                    nullValueStrategy == that.nullValueStrategy &&
+                    Objects.equals(fieldValueConverters, that.fieldValueConverters) &&
                     Objects.equals(getterConfiguration, that.getterConfiguration) &&
                     Objects.equals(setterConfiguration, that.setterConfiguration);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(getterConfiguration, setterConfiguration, allowGetTransient, allowSetTransient);
+            return Objects.hash(getterConfiguration, setterConfiguration, allowGetTransient, allowSetTransient,
+                    allowBytecodeGeneration, instrumented, deepConversion, preserveIdentity, allowPrimitiveWidening,
+                    allowPrimitiveNarrowing, lazy, deltaCopy, nullValueStrategy,
+                    fieldValueConverters);
         }
 
         @Override
@@ -195,6 +1017,16 @@ public class ByFieldNameBeanConverter<S, D> implements Converter<S, D> {
                     ", setterConfiguration=" + setterConfiguration +
                     ", allowGetTransient=" + allowGetTransient +
                     ", allowSetTransient=" + allowSetTransient +
+                    ", allowBytecodeGeneration=" + allowBytecodeGeneration +
+                    ", instrumented=" + instrumented +
+                    ", deepConversion=" + deepConversion +
+                    ", preserveIdentity=" + preserveIdentity +
+                    ", allowPrimitiveWidening=" + allowPrimitiveWidening +
+                    ", allowPrimitiveNarrowing=" + allowPrimitiveNarrowing +
+                    ", lazy=" + lazy +
+                    ", deltaCopy=" + deltaCopy +
+                    ", nullValueStrategy=" + nullValueStrategy +
+                    ", fieldValueConverters=" + fieldValueConverters +
                     '}';
         }
     }
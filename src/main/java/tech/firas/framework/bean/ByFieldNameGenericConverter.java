@@ -0,0 +1,134 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.util.AbstractMap;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Logger;
+
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.converter.ConditionalGenericConverter;
+
+/**
+ * Adapts {@link ByFieldNameBeanConverter} to a Spring `ConversionService`, converting between any 2 Java bean types
+ * in the configured packages, e.g.
+ *
+ * `conversionService.addConverter(new ByFieldNameGenericConverter(null, "com.example.entity", "com.example.dto"))`
+ *
+ * The converter of a pair of types is built on the first use and cached, so converting does no introspection
+ * afterwards. It is thread-safe.
+ */
+public class ByFieldNameGenericConverter implements ConditionalGenericConverter {
+
+    private static final Logger logger = Logger.getLogger(ByFieldNameGenericConverter.class.getName());
+
+    /**
+     * cached for a pair of types in the configured packages that can not be converted
+     */
+    private static final Object NOT_CONVERTIBLE = new Object();
+
+    private final ByFieldNameBeanConverter.Configuration configuration;
+    private final String[] packages;
+    private final ConcurrentMap<Map.Entry<Class<?>, Class<?>>, Object> converters = new ConcurrentHashMap<>();
+
+    /**
+     * @param configuration  the configuration of the converters, null for the default; it is copied
+     * @param packages  the packages (including their sub-packages) of the Java bean types to convert
+     */
+    public ByFieldNameGenericConverter(final ByFieldNameBeanConverter.Configuration configuration,
+            final String... packages) {
+        if (null == packages || packages.length == 0) {
+            throw new IllegalArgumentException("packages can not be empty");
+        }
+        this.configuration = configuration == null ? new ByFieldNameBeanConverter.Configuration() :
+                new ByFieldNameBeanConverter.Configuration(configuration);
+        this.packages = Arrays.copyOf(packages, packages.length);
+    }
+
+    @Override
+    public Set<ConvertiblePair> getConvertibleTypes() {
+        return Collections.singleton(new ConvertiblePair(Object.class, Object.class));
+    }
+
+    @Override
+    public boolean matches(final TypeDescriptor sourceType, final TypeDescriptor targetType) {
+        return null != getConverter(sourceType.getObjectType(), targetType.getObjectType());
+    }
+
+    @Override
+    public Object convert(final Object source, final TypeDescriptor sourceType, final TypeDescriptor targetType) {
+        if (null == source) {
+            return null;
+        }
+        @SuppressWarnings("unchecked")
+        final ByFieldNameBeanConverter<Object, ?> converter = getConverter((Class<Object>) source.getClass(),
+                targetType.getObjectType());
+        if (null == converter) {
+            throw new IllegalArgumentException("Can not convert an instance of \"" + source.getClass().getName() +
+                    "\" to an instance of \"" + targetType.getObjectType().getName() + '\"');
+        }
+        return converter.convert(source);
+    }
+
+    /**
+     * Get the converter of a pair of types, building it on the first call
+     * @param srcClass  the type of the source Java bean
+     * @param destClass  the type of the target Java bean
+     * @return  the cached converter, or null if the types are not in the configured packages
+     *          or the target type has no accessible default constructor
+     */
+    @SuppressWarnings("unchecked")
+    public <S, D> ByFieldNameBeanConverter<S, D> getConverter(final Class<S> srcClass, final Class<D> destClass) {
+        if (!isIncluded(srcClass) || !isIncluded(destClass)) {
+            // not cached, a ConversionService asks about every pair of types it converts
+            return null;
+        }
+        final Map.Entry<Class<?>, Class<?>> key = new AbstractMap.SimpleImmutableEntry<Class<?>, Class<?>>(
+                srcClass, destClass);
+        Object converter = this.converters.get(key);
+        if (null == converter) {
+            try {
+                converter = new ByFieldNameBeanConverter<>(srcClass, destClass, this.configuration);
+            } catch (NoSuchMethodException ex) {
+                logger.fine(ex.getMessage());
+                converter = NOT_CONVERTIBLE;
+            }
+            final Object raced = this.converters.putIfAbsent(key, converter);
+            if (null != raced) {
+                converter = raced;
+            }
+        }
+        return converter == NOT_CONVERTIBLE ? null : (ByFieldNameBeanConverter<S, D>) converter;
+    }
+
+    private boolean isIncluded(final Class<?> clazz) {
+        if (clazz.isPrimitive() || clazz.isArray() || clazz.isInterface()) {
+            return false;
+        }
+        final String name = clazz.getName();
+        for (final String p : this.packages) {
+            if (name.startsWith(p) && name.length() > p.length() && name.charAt(p.length()) == '.') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A minimal writer of Java class files, only supporting what {@link BeanCopierGenerator} needs
+ *
+ * The class files are of version 50 (Java 6) so that no StackMapTable is required
+ */
+final class ClassFileBuilder {
+
+    static final int ACC_PUBLIC = 0x0001;
+    static final int ACC_FINAL = 0x0010;
+    static final int ACC_SUPER = 0x0020;
+
+    static final int ALOAD = 0x19;
+    static final int ASTORE = 0x3a;
+    static final int POP = 0x57;
+    static final int POP2 = 0x58;
+    static final int DUP = 0x59;
+    static final int I2L = 0x85;
+    static final int I2B = 0x91;
+    static final int I2C = 0x92;
+    static final int I2S = 0x93;
+    static final int RETURN = 0xb1;
+    static final int ARETURN = 0xb0;
+    static final int GETFIELD = 0xb4;
+    static final int PUTFIELD = 0xb5;
+    static final int INVOKEVIRTUAL = 0xb6;
+    static final int INVOKESPECIAL = 0xb7;
+    static final int INVOKESTATIC = 0xb8;
+    static final int NEW = 0xbb;
+    static final int CHECKCAST = 0xc0;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    private final ByteArrayOutputStream poolBytes = new ByteArrayOutputStream();
+    private final DataOutputStream pool = new DataOutputStream(poolBytes);
+    private final Map<String, Integer> poolIndexes = new HashMap<>();
+    private int poolCount = 1;
+
+    private final ByteArrayOutputStream methodBytes = new ByteArrayOutputStream();
+    private final DataOutputStream methods = new DataOutputStream(methodBytes);
+    private int methodCount;
+
+    private final int access;
+    private final int thisClass;
+    private final int superClass;
+
+    /**
+     * @param access  the access flags of the class
+     * @param internalName  the internal name (e.g. "java/lang/Object") of the class to write
+     * @param superInternalName  the internal name of the super class
+     */
+    ClassFileBuilder(final int access, final String internalName, final String superInternalName) {
+        this.access = access;
+        this.thisClass = classRef(internalName);
+        this.superClass = classRef(superInternalName);
+    }
+
+    /**
+     * @param clazz  a non-primitive type
+     * @return  the internal name of the type, e.g. "java/lang/String" or "[I"
+     */
+    static String internalName(final Class<?> clazz) {
+        return clazz.getName().replace('.', '/');
+    }
+
+    /**
+     * @param clazz  any type
+     * @return  the field descriptor of the type, e.g. "Ljava/lang/String;" or "I"
+     */
+    static String descriptor(final Class<?> clazz) {
+        if (clazz.isPrimitive()) {
+            if (int.class.equals(clazz)) {
+                return "I";
+            } else if (boolean.class.equals(clazz)) {
+                return "Z";
+            } else if (long.class.equals(clazz)) {
+                return "J";
+            } else if (double.class.equals(clazz)) {
+                return "D";
+            } else if (float.class.equals(clazz)) {
+                return "F";
+            } else if (short.class.equals(clazz)) {
+                return "S";
+            } else if (byte.class.equals(clazz)) {
+                return "B";
+            } else if (char.class.equals(clazz)) {
+                return "C";
+            } else {
+                return "V";
+            }
+        }
+        if (clazz.isArray()) {
+            return internalName(clazz);
+        }
+        return 'L' + internalName(clazz) + ';';
+    }
+
+    /**
+     * @param returnType  the return type of the method
+     * @param parameterTypes  the parameter types of the method
+     * @return  the method descriptor, e.g. "(Ljava/lang/Object;)V"
+     */
+    static String methodDescriptor(final Class<?> returnType, final Class<?>... parameterTypes) {
+        final StringBuilder sb = new StringBuilder("(");
+        for (final Class<?> type : parameterTypes) {
+            sb.append(descriptor(type));
+        }
+        return sb.append(')').append(descriptor(returnType)).toString();
+    }
+
+    int utf8(final String value) {
+        final String key = "U" + value;
+        final Integer index = poolIndexes.get(key);
+        if (index != null) {
+            return index;
+        }
+        try {
+            pool.writeByte(CONSTANT_UTF8);
+            pool.writeUTF(value);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return addEntry(key);
+    }
+
+    int classRef(final String internalName) {
+        final String key = "C" + internalName;
+        final Integer index = poolIndexes.get(key);
+        if (index != null) {
+            return index;
+        }
+        final int nameIndex = utf8(internalName);
+        writeEntry(CONSTANT_CLASS, nameIndex);
+        return addEntry(key);
+    }
+
+    int fieldRef(final String owner, final String name, final String descriptor) {
+        return memberRef(CONSTANT_FIELDREF, owner, name, descriptor);
+    }
+
+    int methodRef(final String owner, final String name, final String descriptor) {
+        return memberRef(CONSTANT_METHODREF, owner, name, descriptor);
+    }
+
+    private int memberRef(final int tag, final String owner, final String name, final String descriptor) {
+        final String key = tag + owner + '.' + name + ':' + descriptor;
+        final Integer index = poolIndexes.get(key);
+        if (index != null) {
+            return index;
+        }
+        final int classIndex = classRef(owner);
+        final int nameAndTypeIndex = nameAndType(name, descriptor);
+        writeEntry(tag, classIndex, nameAndTypeIndex);
+        return addEntry(key);
+    }
+
+    private int nameAndType(final String name, final String descriptor) {
+        final String key = "N" + name + ':' + descriptor;
+        final Integer index = poolIndexes.get(key);
+        if (index != null) {
+            return index;
+        }
+        final int nameIndex = utf8(name);
+        final int descriptorIndex = utf8(descriptor);
+        writeEntry(CONSTANT_NAME_AND_TYPE, nameIndex, descriptorIndex);
+        return addEntry(key);
+    }
+
+    private void writeEntry(final int tag, final int... indexes) {
+        try {
+            pool.writeByte(tag);
+            for (final int index : indexes) {
+                pool.writeShort(index);
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private int addEntry(final String key) {
+        final int index = poolCount;
+        poolCount += 1;
+        if (poolCount > 0xffff) {
+            throw new IllegalStateException("Too many constants in the class file");
+        }
+        poolIndexes.put(key, index);
+        return index;
+    }
+
+    /**
+     * Add a method to the class
+     * @param access  the access flags of the method
+     * @param name  the name of the method
+     * @param descriptor  the method descriptor
+     * @param code  the byte code of the method
+     * @param maxStack  the maximum depth of the operand stack
+     * @param maxLocals  the number of local variables (including "this" and the parameters)
+     */
+    void addMethod(final int access, final String name, final String descriptor, final Code code,
+            final int maxStack, final int maxLocals) {
+        final byte[] bytes = code.toByteArray();
+        try {
+            methods.writeShort(access);
+            methods.writeShort(utf8(name));
+            methods.writeShort(utf8(descriptor));
+            methods.writeShort(1); // attributes_count
+            methods.writeShort(utf8("Code"));
+            methods.writeInt(12 + bytes.length);
+            methods.writeShort(maxStack);
+            methods.writeShort(maxLocals);
+            methods.writeInt(bytes.length);
+            methods.write(bytes);
+            methods.writeShort(0); // exception_table_length
+            methods.writeShort(0); // attributes_count
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        methodCount += 1;
+    }
+
+    byte[] toByteArray() {
+        final ByteArrayOutputStream result = new ByteArrayOutputStream(
+                32 + poolBytes.size() + methodBytes.size());
+        final DataOutputStream out = new DataOutputStream(result);
+        try {
+            out.writeInt(0xcafebabe);
+            out.writeShort(0); // minor_version
+            out.writeShort(50); // major_version
+            out.writeShort(poolCount);
+            poolBytes.writeTo(out);
+            out.writeShort(access);
+            out.writeShort(thisClass);
+            out.writeShort(superClass);
+            out.writeShort(0); // interfaces_count
+            out.writeShort(0); // fields_count
+            out.writeShort(methodCount);
+            methodBytes.writeTo(out);
+            out.writeShort(0); // attributes_count
+            out.flush();
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return result.toByteArray();
+    }
+
+    /**
+     * The byte code of a method
+     */
+    static final class Code {
+
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        Code op(final int opcode) {
+            bytes.write(opcode);
+            return this;
+        }
+
+        /**
+         * Write an instruction whose operand is an unsigned 2-byte index, e.g. a constant pool index
+         */
+        Code op(final int opcode, final int index) {
+            bytes.write(opcode);
+            bytes.write(index >>> 8);
+            bytes.write(index);
+            return this;
+        }
+
+        Code load(final int local) {
+            if (local <= 3) {
+                return op(0x2a + local); // aload_<n>
+            }
+            bytes.write(ALOAD);
+            bytes.write(local);
+            return this;
+        }
+
+        Code store(final int local) {
+            if (local <= 3) {
+                return op(0x4b + local); // astore_<n>
+            }
+            bytes.write(ASTORE);
+            bytes.write(local);
+            return this;
+        }
+
+        byte[] toByteArray() {
+            return bytes.toByteArray();
+        }
+    }
+}
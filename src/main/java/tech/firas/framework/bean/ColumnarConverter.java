@@ -0,0 +1,414 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Binds a column schema (the names of the columns, in order) to the fields of a Java bean once,
+ * and fills Java beans from rows (`Object[]`) or column vectors (e.g. `int[]`, `long[]`, `double[]`) in bulk,
+ * or extracts Java beans back into rows or column vectors
+ *
+ * A column vector of a primitive field is a primitive array of the same type and is copied without boxing;
+ * a column vector of any other field (or of a primitive field with nulls) is an `Object[]`,
+ * whose null elements are skipped for primitive fields.
+ * The columns are dispatched by type once per column vector, not once per cell.
+ *
+ * A converter is immutable after construction and can be shared by any number of threads
+ *
+ * @param <D>  the type of the Java bean
+ */
+public class ColumnarConverter<D> {
+
+    private static final Logger logger = Logger.getLogger(ColumnarConverter.class.getName());
+
+    private final Class<D> beanClass;
+    private final Constructor<D> constructor;
+    private final String[] columns;
+
+    /**
+     * the type of the field of each column
+     */
+    private final Class<?>[] types;
+
+    /**
+     * the setter of each column, or null if the field can not be set
+     */
+    private final FieldSetter<D>[] setters;
+
+    /**
+     * the getter of each column, or null if the field can not be got
+     */
+    private final FieldGetter<D>[] getters;
+
+    /**
+     * Construct a ColumnarConverter
+     * @param beanClass  the type of the Java bean
+     * @param columns  the names of the fields of the columns, in order
+     * @param configuration  specifies how to get / set the fields of the Java bean, null for the default
+     * @throws NoSuchMethodException  if the Java bean has no accessible default constructor
+     * @throws IllegalArgumentException  if a column is not a field that can be got or set
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ColumnarConverter(final Class<D> beanClass, final String[] columns,
+            final ByFieldNameBeanConverter.Configuration configuration) throws NoSuchMethodException {
+        if (null == beanClass) {
+            throw new IllegalArgumentException("beanClass can not be null");
+        }
+        if (null == columns) {
+            throw new IllegalArgumentException("columns can not be null");
+        }
+        final ByFieldNameBeanConverter.Configuration conf = configuration == null ?
+                new ByFieldNameBeanConverter.Configuration() : configuration;
+        try {
+            this.constructor = beanClass.getConstructor();
+            if (!conf.isLazy()) {
+                this.constructor.newInstance();
+            }
+        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException ex) {
+            logger.log(Level.SEVERE, "Fail to access default constructor", ex);
+            throw new NoSuchMethodException("There is no accessible default constructor (no parameter) for " +
+                    beanClass.getName());
+        }
+
+        final BeanMetadata metadata = BeanMetadata.forClass(beanClass);
+        this.beanClass = beanClass;
+        this.columns = columns.clone();
+        this.types = new Class<?>[columns.length];
+        this.setters = new FieldSetter[columns.length];
+        this.getters = new FieldGetter[columns.length];
+        for (int i = 0; i < columns.length; i += 1) {
+            final List<Field> fields = metadata.getFields(columns[i]);
+            if (fields.isEmpty()) {
+                throw new IllegalArgumentException("There is no field \"" + columns[i] + "\" in " +
+                        beanClass.getName());
+            }
+            final Field field = fields.get(0);
+            this.types[i] = field.getType();
+            final boolean isTransient = Modifier.isTransient(field.getModifiers());
+            if (!isTransient || conf.isAllowSetTransient()) {
+                try {
+                    this.setters[i] = new FieldSetter<>(beanClass, field, conf.getSetterConfiguration());
+                } catch (NoSuchMethodException ex) {
+                    logger.finer(ex.getMessage());
+                }
+            }
+            if (!isTransient || conf.isAllowGetTransient()) {
+                try {
+                    this.getters[i] = new FieldGetter<>(beanClass, field, conf.getGetterConfiguration());
+                } catch (NoSuchMethodException ex) {
+                    logger.finer(ex.getMessage());
+                }
+            }
+            if (null == this.setters[i] && null == this.getters[i]) {
+                throw new IllegalArgumentException("The field \"" + columns[i] + "\" of " + beanClass.getName() +
+                        " can neither be got nor set");
+            }
+        }
+    }
+
+    /**
+     * Create a Java bean from a row
+     * @param row  the values of the columns, in order
+     * @return  the Java bean, or null if `row` is null
+     */
+    public D fromRow(final Object[] row) {
+        if (null == row) {
+            return null;
+        }
+        checkLength(row.length);
+        final D bean = newInstance();
+        int i = 0;
+        try {
+            for (; i < this.columns.length; i += 1) {
+                if (null != row[i] || !this.types[i].isPrimitive()) {
+                    setter(i).set(bean, row[i]);
+                }
+            }
+        } catch (IllegalAccessException | InvocationTargetException | IllegalArgumentException ex) {
+            throw fail(i, ex);
+        }
+        return bean;
+    }
+
+    /**
+     * Create a Java bean from each row
+     * @param rows  the rows, in each of which the values of the columns are in order
+     * @return  the Java beans, in the order of `rows`
+     */
+    public List<D> fromRows(final Collection<? extends Object[]> rows) {
+        if (null == rows) {
+            throw new IllegalArgumentException("rows can not be null");
+        }
+        final List<D> result = new ArrayList<>(rows.size());
+        for (final Object[] row : rows) {
+            result.add(fromRow(row));
+        }
+        return result;
+    }
+
+    /**
+     * Create Java beans from column vectors
+     * @param columnVectors  an array for each column, in order, each of which has a value for each Java bean;
+     *                       a primitive array must be of the type of the field
+     * @return  the Java beans, as many as the length of the column vectors
+     */
+    public List<D> fromColumns(final Object[] columnVectors) {
+        if (null == columnVectors) {
+            throw new IllegalArgumentException("columnVectors can not be null");
+        }
+        checkLength(columnVectors.length);
+        final int size = this.columns.length == 0 ? 0 : vectorLength(columnVectors[0], 0);
+        final List<D> result = new ArrayList<>(size);
+        for (int r = 0; r < size; r += 1) {
+            result.add(newInstance());
+        }
+        for (int i = 0; i < this.columns.length; i += 1) {
+            if (vectorLength(columnVectors[i], i) != size) {
+                throw new IllegalArgumentException("The column vector of \"" + this.columns[i] +
+                        "\" is not of length " + size);
+            }
+            if (!(columnVectors[i] instanceof Object[]) &&
+                    !columnVectors[i].getClass().getComponentType().equals(this.types[i])) {
+                throw new IllegalArgumentException("The column vector of \"" + this.columns[i] + "\" is a " +
+                        columnVectors[i].getClass().getSimpleName() + " but the field is a " +
+                        this.types[i].getName());
+            }
+            try {
+                fill(i, columnVectors[i], result);
+            } catch (IllegalAccessException | InvocationTargetException | IllegalArgumentException ex) {
+                throw fail(i, ex);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Extract the values of the columns of a Java bean
+     * @param bean  the Java bean
+     * @return  the values of the columns, in order, or null if `bean` is null
+     */
+    public Object[] toRow(final D bean) {
+        if (null == bean) {
+            return null;
+        }
+        final Object[] row = new Object[this.columns.length];
+        int i = 0;
+        try {
+            for (; i < this.columns.length; i += 1) {
+                row[i] = getter(i).get(bean);
+            }
+        } catch (IllegalAccessException | InvocationTargetException ex) {
+            throw fail(i, ex);
+        }
+        return row;
+    }
+
+    /**
+     * Extract the values of the columns of the Java beans into column vectors
+     * @param beans  the Java beans, none of them can be null
+     * @return  an array for each column, in order, each of which has a value for each Java bean;
+     *          the array of a primitive field is a primitive array, e.g. `int[]`,
+     *          and the array of any other field is an array of the type of the field
+     */
+    public Object[] toColumns(final List<? extends D> beans) {
+        if (null == beans) {
+            throw new IllegalArgumentException("beans can not be null");
+        }
+        final Object[] columnVectors = new Object[this.columns.length];
+        for (int i = 0; i < this.columns.length; i += 1) {
+            final Object vector = Array.newInstance(this.types[i], beans.size());
+            try {
+                extract(i, beans, vector);
+            } catch (IllegalAccessException | InvocationTargetException ex) {
+                throw fail(i, ex);
+            }
+            columnVectors[i] = vector;
+        }
+        return columnVectors;
+    }
+
+    /**
+     *
+     * @return  the names of the columns, in order
+     */
+    public String[] getColumns() {
+        return this.columns.clone();
+    }
+
+    public Class<D> getBeanType() {
+        return this.beanClass;
+    }
+
+    private void fill(final int i, final Object vector, final List<D> beans)
+            throws IllegalAccessException, InvocationTargetException {
+        final FieldSetter<D> setter = setter(i);
+        final Class<?> type = this.types[i];
+        final int size = beans.size();
+        if (vector instanceof Object[]) {
+            final Object[] values = (Object[]) vector;
+            final boolean primitive = type.isPrimitive();
+            for (int r = 0; r < size; r += 1) {
+                if (null != values[r] || !primitive) {
+                    setter.set(beans.get(r), values[r]);
+                }
+            }
+        } else if (vector instanceof int[]) {
+            final int[] values = (int[]) vector;
+            for (int r = 0; r < size; r += 1) {
+                setter.setInt(beans.get(r), values[r]);
+            }
+        } else if (vector instanceof long[]) {
+            final long[] values = (long[]) vector;
+            for (int r = 0; r < size; r += 1) {
+                setter.setLong(beans.get(r), values[r]);
+            }
+        } else if (vector instanceof double[]) {
+            final double[] values = (double[]) vector;
+            for (int r = 0; r < size; r += 1) {
+                setter.setDouble(beans.get(r), values[r]);
+            }
+        } else if (vector instanceof boolean[]) {
+            final boolean[] values = (boolean[]) vector;
+            for (int r = 0; r < size; r += 1) {
+                setter.setBoolean(beans.get(r), values[r]);
+            }
+        } else if (vector instanceof float[]) {
+            final float[] values = (float[]) vector;
+            for (int r = 0; r < size; r += 1) {
+                setter.setFloat(beans.get(r), values[r]);
+            }
+        } else if (vector instanceof short[]) {
+            final short[] values = (short[]) vector;
+            for (int r = 0; r < size; r += 1) {
+                setter.setShort(beans.get(r), values[r]);
+            }
+        } else if (vector instanceof byte[]) {
+            final byte[] values = (byte[]) vector;
+            for (int r = 0; r < size; r += 1) {
+                setter.setByte(beans.get(r), values[r]);
+            }
+        } else {
+            final char[] values = (char[]) vector;
+            for (int r = 0; r < size; r += 1) {
+                setter.setChar(beans.get(r), values[r]);
+            }
+        }
+    }
+
+    private void extract(final int i, final List<? extends D> beans, final Object vector)
+            throws IllegalAccessException, InvocationTargetException {
+        final FieldGetter<D> getter = getter(i);
+        final int size = beans.size();
+        if (vector instanceof Object[]) {
+            final Object[] values = (Object[]) vector;
+            for (int r = 0; r < size; r += 1) {
+                values[r] = getter.get(beans.get(r));
+            }
+        } else if (vector instanceof int[]) {
+            final int[] values = (int[]) vector;
+            for (int r = 0; r < size; r += 1) {
+                values[r] = getter.getInt(beans.get(r));
+            }
+        } else if (vector instanceof long[]) {
+            final long[] values = (long[]) vector;
+            for (int r = 0; r < size; r += 1) {
+                values[r] = getter.getLong(beans.get(r));
+            }
+        } else if (vector instanceof double[]) {
+            final double[] values = (double[]) vector;
+            for (int r = 0; r < size; r += 1) {
+                values[r] = getter.getDouble(beans.get(r));
+            }
+        } else if (vector instanceof boolean[]) {
+            final boolean[] values = (boolean[]) vector;
+            for (int r = 0; r < size; r += 1) {
+                values[r] = getter.getBoolean(beans.get(r));
+            }
+        } else if (vector instanceof float[]) {
+            final float[] values = (float[]) vector;
+            for (int r = 0; r < size; r += 1) {
+                values[r] = getter.getFloat(beans.get(r));
+            }
+        } else if (vector instanceof short[]) {
+            final short[] values = (short[]) vector;
+            for (int r = 0; r < size; r += 1) {
+                values[r] = getter.getShort(beans.get(r));
+            }
+        } else if (vector instanceof byte[]) {
+            final byte[] values = (byte[]) vector;
+            for (int r = 0; r < size; r += 1) {
+                values[r] = getter.getByte(beans.get(r));
+            }
+        } else {
+            final char[] values = (char[]) vector;
+            for (int r = 0; r < size; r += 1) {
+                values[r] = getter.getChar(beans.get(r));
+            }
+        }
+    }
+
+    private D newInstance() {
+        try {
+            return this.constructor.newInstance(ReflectiveBeanCopier.NO_ARGUMENTS);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException ex) {
+            throw new RuntimeException("Fail to create an instance of \"" + this.beanClass.getName() + '\"', ex);
+        }
+    }
+
+    private FieldSetter<D> setter(final int i) {
+        if (null == this.setters[i]) {
+            throw new IllegalStateException("The field \"" + this.columns[i] + "\" of " +
+                    this.beanClass.getName() + " can not be set");
+        }
+        return this.setters[i];
+    }
+
+    private FieldGetter<D> getter(final int i) {
+        if (null == this.getters[i]) {
+            throw new IllegalStateException("The field \"" + this.columns[i] + "\" of " +
+                    this.beanClass.getName() + " can not be got");
+        }
+        return this.getters[i];
+    }
+
+    private void checkLength(final int length) {
+        if (length != this.columns.length) {
+            throw new IllegalArgumentException("Expect " + this.columns.length + " columns but there are " + length);
+        }
+    }
+
+    private int vectorLength(final Object vector, final int i) {
+        if (null == vector || !vector.getClass().isArray()) {
+            throw new IllegalArgumentException("The column vector of \"" + this.columns[i] + "\" is not an array");
+        }
+        return Array.getLength(vector);
+    }
+
+    private RuntimeException fail(final int i, final Exception ex) {
+        return new RuntimeException("Fail to convert the column \"" + this.columns[i] + "\" of " +
+                this.beanClass.getName(), ex);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The registry of {@link ConversionListener}s
+ *
+ * Instrumentation is enabled per converter by
+ * {@link ByFieldNameBeanConverter.Configuration#setInstrumented(boolean)}.
+ * A converter that is not instrumented does not record anything or call any listener.
+ */
+public final class ConversionInstrumentation {
+
+    private static final Logger logger = Logger.getLogger(ConversionInstrumentation.class.getName());
+
+    private static final CopyOnWriteArrayList<ConversionListener> listeners = new CopyOnWriteArrayList<>();
+
+    private ConversionInstrumentation() {}
+
+    public static void addListener(final ConversionListener listener) {
+        if (null == listener) {
+            throw new IllegalArgumentException("listener can not be null");
+        }
+        listeners.addIfAbsent(listener);
+    }
+
+    public static void removeListener(final ConversionListener listener) {
+        listeners.remove(listener);
+    }
+
+    static void fireConverterCreated(final ConverterMetrics metrics) {
+        for (final ConversionListener listener : listeners) {
+            try {
+                listener.converterCreated(metrics);
+            } catch (RuntimeException ex) {
+                logger.log(Level.WARNING, "Fail to notify " + listener, ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+/**
+ * Notified when an instrumented {@link ByFieldNameBeanConverter} is constructed,
+ * register by {@link ConversionInstrumentation#addListener(ConversionListener)}
+ */
+public interface ConversionListener {
+
+    /**
+     * Called at the end of the construction of an instrumented converter
+     * @param metrics  the metrics of the converter, updated as the converter is used
+     */
+    void converterCreated(ConverterMetrics metrics);
+}
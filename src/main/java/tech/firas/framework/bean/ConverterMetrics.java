@@ -0,0 +1,152 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+/**
+ * The metrics of an instrumented {@link ByFieldNameBeanConverter}
+ *
+ * The counters are striped so recording from many threads is lock-free and rarely contended.
+ * The latency is recorded in a histogram of power-of-2 buckets, so the percentiles are approximations
+ * (upper bounds within a factor of 2).
+ *
+ * Only the names of the types are kept, so the metrics do not pin the classes of the Java beans
+ */
+public final class ConverterMetrics implements ConverterMetricsMXBean {
+
+    private static final int COUNT = 0;
+    private static final int TOTAL_NANOS = 1;
+    private static final int BUCKETS = 64;
+
+    private final String sourceType;
+    private final String targetType;
+    private final int mappedFieldCount;
+    private final boolean generated;
+    private volatile long constructionNanos;
+
+    private final StripedCounter counters = new StripedCounter(2);
+    private final StripedCounter histogram = new StripedCounter(BUCKETS);
+
+    ConverterMetrics(final Class<?> srcClass, final Class<?> destClass, final int mappedFieldCount,
+            final boolean generated) {
+        this.sourceType = srcClass.getName();
+        this.targetType = destClass.getName();
+        this.mappedFieldCount = mappedFieldCount;
+        this.generated = generated;
+    }
+
+    void setConstructionNanos(final long constructionNanos) {
+        this.constructionNanos = constructionNanos;
+    }
+
+    /**
+     * Record the time of converting a Java bean (including creating the target Java bean),
+     * or of copying it into an existing target Java bean
+     * @param nanos  the elapsed time in nanoseconds
+     */
+    void record(final long nanos) {
+        this.counters.add(COUNT, 1);
+        this.counters.add(TOTAL_NANOS, nanos);
+        this.histogram.add(nanos <= 0 ? 0 : 63 - Long.numberOfLeadingZeros(nanos), 1);
+    }
+
+    @Override
+    public String getSourceType() {
+        return sourceType;
+    }
+
+    @Override
+    public String getTargetType() {
+        return targetType;
+    }
+
+    @Override
+    public long getInvocationCount() {
+        return this.counters.sum(COUNT);
+    }
+
+    @Override
+    public long getTotalNanos() {
+        return this.counters.sum(TOTAL_NANOS);
+    }
+
+    @Override
+    public long getMedianNanos() {
+        return getPercentileNanos(0.5);
+    }
+
+    @Override
+    public long getP99Nanos() {
+        return getPercentileNanos(0.99);
+    }
+
+    /**
+     *
+     * @param percentile  between 0 and 1, e.g. 0.99 for the 99th percentile
+     * @return  the upper bound of the histogram bucket containing the percentile, in nanoseconds,
+     *          or 0 if nothing is recorded
+     */
+    public long getPercentileNanos(final double percentile) {
+        if (percentile < 0 || percentile > 1) {
+            throw new IllegalArgumentException("percentile must be between 0 and 1");
+        }
+        final long[] buckets = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i += 1) {
+            buckets[i] = this.histogram.sum(i);
+            total += buckets[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(total * percentile));
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i += 1) {
+            count += buckets[i];
+            if (count >= rank) {
+                return i >= 62 ? Long.MAX_VALUE : (2L << i) - 1;
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public long getConstructionNanos() {
+        return constructionNanos;
+    }
+
+    @Override
+    public int getMappedFieldCount() {
+        return mappedFieldCount;
+    }
+
+    @Override
+    public boolean isGenerated() {
+        return generated;
+    }
+
+    @Override
+    public String toString() {
+        return "ConverterMetrics{" +
+                "sourceType='" + sourceType + '\'' +
+                ", targetType='" + targetType + '\'' +
+                ", invocationCount=" + getInvocationCount() +
+                ", totalNanos=" + getTotalNanos() +
+                ", constructionNanos=" + constructionNanos +
+                ", mappedFieldCount=" + mappedFieldCount +
+                ", generated=" + generated +
+                '}';
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+/**
+ * The metrics of an instrumented {@link ByFieldNameBeanConverter}, exposed through JMX by {@link JmxConversionListener}
+ */
+public interface ConverterMetricsMXBean {
+
+    String getSourceType();
+
+    String getTargetType();
+
+    /**
+     *
+     * @return  the number of Java beans converted / copied
+     */
+    long getInvocationCount();
+
+    /**
+     * The time of a conversion includes creating the target Java bean,
+     * the time of a copy into an existing target Java bean does not
+     * @return  the total time spent in converting / copying, in nanoseconds
+     */
+    long getTotalNanos();
+
+    /**
+     *
+     * @return  the approximate median time of converting / copying a Java bean, in nanoseconds
+     */
+    long getMedianNanos();
+
+    /**
+     *
+     * @return  the approximate 99th percentile time of converting / copying a Java bean, in nanoseconds
+     */
+    long getP99Nanos();
+
+    /**
+     *
+     * @return  the time spent in constructing the converter, in nanoseconds
+     */
+    long getConstructionNanos();
+
+    /**
+     *
+     * @return  the number of fields mapped by the converter
+     */
+    int getMappedFieldCount();
+
+    /**
+     *
+     * @return  whether the converter copies the fields by a generated class rather than by reflection
+     */
+    boolean isGenerated();
+}
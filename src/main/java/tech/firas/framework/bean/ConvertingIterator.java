@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.util.Iterator;
+
+/**
+ * Converts the elements of another iterator on demand
+ */
+final class ConvertingIterator<S, D> implements Iterator<D> {
+
+    private final ByFieldNameBeanConverter<S, D> converter;
+    private final Iterator<? extends S> src;
+
+    /**
+     * the target Java bean reused for every element, or null to convert each element to a new instance
+     */
+    private final D reused;
+
+    ConvertingIterator(final ByFieldNameBeanConverter<S, D> converter, final Iterator<? extends S> src,
+            final D reused) {
+        this.converter = converter;
+        this.src = src;
+        this.reused = reused;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return this.src.hasNext();
+    }
+
+    @Override
+    public D next() {
+        final S element = this.src.next();
+        if (null == this.reused) {
+            return this.converter.convert(element);
+        }
+        return null == element ? null : this.converter.copyInto(element, this.reused);
+    }
+
+    @Override
+    public void remove() {
+        this.src.remove();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.BitSet;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Copies only the fields whose values differ from the target fields, only used by a converter in delta copy mode
+ * so that other converters pay nothing
+ *
+ * The target fields are read by {@link FieldGetter}s resolved once; a target field that can not be read
+ * is always copied and reported as changed
+ */
+final class DeltaBeanCopier<S, D> extends BeanCopier<S, D> {
+
+    private static final Logger logger = Logger.getLogger(DeltaBeanCopier.class.getName());
+
+    private final BeanCopier<S, D> delegate;
+    private final FieldCopier<S, D>[] copiers;
+
+    /**
+     * the getter of the target field of each copier, or null if it can not be read
+     */
+    private final FieldGetter<D>[] destGetters;
+
+    private final String[] fieldNames;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    DeltaBeanCopier(final BeanCopier<S, D> delegate, final Class<D> destClass,
+            final List<FieldCopier<S, D>> copiers, final FieldGetter.Configuration getterConfiguration) {
+        this.delegate = delegate;
+        this.copiers = copiers.toArray(new FieldCopier[copiers.size()]);
+        this.destGetters = new FieldGetter[this.copiers.length];
+        this.fieldNames = new String[this.copiers.length];
+        for (int i = 0; i < this.copiers.length; i += 1) {
+            this.fieldNames[i] = this.copiers[i].setter.field.getName();
+            try {
+                this.destGetters[i] = new FieldGetter<>(destClass, this.copiers[i].setter.field, getterConfiguration);
+            } catch (NoSuchMethodException ex) {
+                logger.finer(ex.getMessage());
+            }
+        }
+    }
+
+    BeanCopier<S, D> getDelegate() {
+        return this.delegate;
+    }
+
+    /**
+     *
+     * @return  the names of the target fields, indexed as the bits returned by {@link #copyChanged}
+     */
+    String[] getFieldNames() {
+        return this.fieldNames.clone();
+    }
+
+    @Override
+    public D newInstance() throws InstantiationException, IllegalAccessException, InvocationTargetException {
+        return this.delegate.newInstance();
+    }
+
+    @Override
+    public void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+        this.delegate.copy(src, dest);
+    }
+
+    @Override
+    public D convert(final S src) throws InstantiationException, IllegalAccessException,
+            InvocationTargetException {
+        return this.delegate.convert(src);
+    }
+
+    /**
+     * Copy the fields whose values differ
+     * @return  the indexes of the copied fields
+     */
+    BitSet copyChanged(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+        final BitSet changed = new BitSet(this.copiers.length);
+        for (int i = 0; i < this.copiers.length; i += 1) {
+            final FieldGetter<D> destGetter = this.destGetters[i];
+            if (null == destGetter) {
+                this.copiers[i].copy(src, dest);
+                changed.set(i);
+            } else if (this.copiers[i].copyIfChanged(src, dest, destGetter)) {
+                changed.set(i);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Check whether no field would be copied by {@link #copyChanged}, e.g. for a nested Java bean
+     * @return  whether all the target fields can be read and equal the values that would be copied
+     */
+    boolean matches(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+        for (int i = 0; i < this.copiers.length; i += 1) {
+            final FieldGetter<D> destGetter = this.destGetters[i];
+            if (null == destGetter || !this.copiers[i].matches(src, dest, destGetter)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,1149 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Objects;
+
+/**
+ * Copies one mapped field from the source Java bean to the target Java bean
+ *
+ * The copy strategy is chosen once when the mapping is built: if both the getter and the setter
+ * are of the same primitive type, the value is copied by the typed accessors without boxing
+ */
+abstract class FieldCopier<S, D> {
+
+    /**
+     * returned by {@link #transform(Object)} if the target field is not set
+     */
+    static final Object SKIPPED = new Object();
+
+    final FieldGetter<S> getter;
+    final FieldSetter<D> setter;
+
+    FieldCopier(final FieldGetter<S> getter, final FieldSetter<D> setter) {
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    /**
+     * Choose the copy strategy for a mapped field
+     * @param getter  reads the field of the source Java bean
+     * @param setter  writes the field of the target Java bean
+     * @return  the copier of the field
+     */
+    static <S, D> FieldCopier<S, D> of(final FieldGetter<S> getter, final FieldSetter<D> setter) {
+        final Class<?> type = getter.getReturnType();
+        if (!type.isPrimitive() || !type.equals(setter.getParameterType())) {
+            return new ObjectCopier<>(getter, setter);
+        } else if (boolean.class.equals(type)) {
+            return new BooleanCopier<>(getter, setter);
+        } else if (byte.class.equals(type)) {
+            return new ByteCopier<>(getter, setter);
+        } else if (char.class.equals(type)) {
+            return new CharCopier<>(getter, setter);
+        } else if (short.class.equals(type)) {
+            return new ShortCopier<>(getter, setter);
+        } else if (int.class.equals(type)) {
+            return new IntCopier<>(getter, setter);
+        } else if (long.class.equals(type)) {
+            return new LongCopier<>(getter, setter);
+        } else if (float.class.equals(type)) {
+            return new FloatCopier<>(getter, setter);
+        } else if (double.class.equals(type)) {
+            return new DoubleCopier<>(getter, setter);
+        }
+        throw new IllegalArgumentException("Unexpected primitive type: " + type);
+    }
+
+    /**
+     * Apply a {@link NullValueStrategy} to the copier chosen for a mapped field
+     * @param fieldCopier  the copier of the field
+     * @param strategy  how to copy a null source value
+     * @return  a null-aware copier if the source value can be null and the strategy matters, or else `fieldCopier`
+     */
+    static <S, D> FieldCopier<S, D> withNullValueStrategy(final FieldCopier<S, D> fieldCopier,
+            final NullValueStrategy strategy) {
+        if (NullValueStrategy.OVERWRITE == strategy || fieldCopier.getter.getReturnType().isPrimitive()) {
+            return fieldCopier;
+        }
+        final ValueConverter converter = fieldCopier instanceof ConvertingCopier ?
+                ((ConvertingCopier<S, D>) fieldCopier).converter : null;
+        if (NullValueStrategy.SKIP == strategy) {
+            return null == converter ? new SkipNullCopier<>(fieldCopier) :
+                    new SkipNullConvertingCopier<>(fieldCopier, converter);
+        }
+        final Class<?> destType = fieldCopier.setter.getParameterType();
+        if (!destType.isPrimitive()) {
+            return fieldCopier;
+        }
+        // the default value of the primitive type, boxed
+        final Object defaultValue = Array.get(Array.newInstance(destType, 1), 0);
+        return null == converter ? new DefaultOnNullCopier<>(fieldCopier, defaultValue) :
+                new DefaultOnNullConvertingCopier<>(fieldCopier, converter, defaultValue);
+    }
+
+    /**
+     *
+     * @param from  a primitive type
+     * @param to  another primitive type
+     * @return  whether converting `from` to `to` is a widening primitive conversion, e.g. int to long
+     */
+    static boolean isWidening(final Class<?> from, final Class<?> to) {
+        final int fromRank = numericRank(from);
+        final int toRank = numericRank(to);
+        if (fromRank < 0 || toRank < 0 || fromRank >= toRank) {
+            return false;
+        }
+        // char is unsigned, so only int and wider can hold it, and it can not hold a byte / short
+        return !char.class.equals(to) && !(char.class.equals(from) && short.class.equals(to));
+    }
+
+    /**
+     *
+     * @return  whether `type` is a primitive number or char, which can be converted by casting
+     */
+    static boolean isNumeric(final Class<?> type) {
+        return numericRank(type) >= 0;
+    }
+
+    private static int numericRank(final Class<?> type) {
+        if (byte.class.equals(type)) {
+            return 0;
+        } else if (short.class.equals(type) || char.class.equals(type)) {
+            return 1;
+        } else if (int.class.equals(type)) {
+            return 2;
+        } else if (long.class.equals(type)) {
+            return 3;
+        } else if (float.class.equals(type)) {
+            return 4;
+        } else if (double.class.equals(type)) {
+            return 5;
+        }
+        return -1;
+    }
+
+    abstract void copy(S src, D dest) throws IllegalAccessException, InvocationTargetException;
+
+    /**
+     * Get the value this copier sets for a source value, so that the copiers of a chain of converters can be fused
+     * @param value  the source value, boxed if it is primitive
+     * @return  the value set to the target field, boxed if it is primitive, or {@link #SKIPPED}
+     */
+    Object transform(final Object value) {
+        return value;
+    }
+
+    /**
+     * Fuse the copier of a field from A to B and the copier of the same field from B to C
+     * @param first  copies the field from A to B
+     * @param second  copies the field from B to C, whose getter reads the field set by `first`
+     * @return  a copier from A to C
+     */
+    static <S, M, D> FieldCopier<S, D> fuse(final FieldCopier<S, M> first, final FieldCopier<M, D> second) {
+        if (first.isPlain() && second.isPlain() && ObjectType.isObjectTypeAssignableFrom(
+                second.setter.getParameterType(), first.getter.getReturnType())) {
+            return of(first.getter, second.setter);
+        }
+        return new ChainedCopier<>(first.getter, second.setter, new FieldCopier<?, ?>[] {first, second});
+    }
+
+    /**
+     *
+     * @return  whether the value is copied as is
+     */
+    private boolean isPlain() {
+        return isDirect() && !(this instanceof PrimitiveConversionCopier);
+    }
+
+    /**
+     * Copy the field only if its value differs from the current value of the target field
+     * @param destGetter  reads the target field
+     * @return  whether the value differs and is copied
+     */
+    abstract boolean copyIfChanged(S src, D dest, FieldGetter<D> destGetter)
+            throws IllegalAccessException, InvocationTargetException;
+
+    /**
+     * Check whether the target field equals the value that would be copied, without setting it
+     * @param destGetter  reads the target field
+     * @return  whether copying the field would not change it
+     */
+    boolean matches(final S src, final D dest, final FieldGetter<D> destGetter)
+            throws IllegalAccessException, InvocationTargetException {
+        final Object value = transform(this.getter.get(src));
+        return SKIPPED == value || Objects.equals(value, destGetter.get(dest));
+    }
+
+    /**
+     *
+     * @return  whether the value is copied as is, so that a generated copier may copy it by itself
+     */
+    boolean isDirect() {
+        return true;
+    }
+
+    /**
+     * Copies a value converted by a {@link ValueConverter}, e.g. a nested Java bean
+     */
+    static final class ConvertingCopier<S, D> extends FieldCopier<S, D> {
+
+        private final ValueConverter converter;
+
+        ConvertingCopier(final FieldGetter<S> getter, final FieldSetter<D> setter, final ValueConverter converter) {
+            super(getter, setter);
+            this.converter = converter;
+        }
+
+        @Override
+        void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+            this.setter.set(dest, this.converter.convert(this.getter.get(src)));
+        }
+
+        @Override
+        Object transform(final Object value) {
+            return this.converter.convert(value);
+        }
+
+        /**
+         * Compare the source value with the target field before converting it,
+         * so that a nested Java bean without `equals` is not always copied
+         */
+        @Override
+        boolean copyIfChanged(final S src, final D dest, final FieldGetter<D> destGetter)
+                throws IllegalAccessException, InvocationTargetException {
+            final Object value = this.getter.get(src);
+            if (this.converter.matches(value, destGetter.get(dest))) {
+                return false;
+            }
+            this.setter.set(dest, this.converter.convert(value));
+            return true;
+        }
+
+        @Override
+        boolean matches(final S src, final D dest, final FieldGetter<D> destGetter)
+                throws IllegalAccessException, InvocationTargetException {
+            return this.converter.matches(this.getter.get(src), destGetter.get(dest));
+        }
+
+        @Override
+        boolean isDirect() {
+            return false;
+        }
+    }
+
+    /**
+     * Copies a value that may be null by a {@link NullValueStrategy} other than
+     * {@link NullValueStrategy#OVERWRITE}, reading the source value only once
+     *
+     * The strategy and whether the value is converted are chosen by the subclass in
+     * {@link #withNullValueStrategy(FieldCopier, NullValueStrategy)}, so {@link #copy(Object, Object)} checks nothing
+     * but the null value
+     */
+    abstract static class NullAwareCopier<S, D> extends FieldCopier<S, D> {
+
+        /**
+         * {@link ValueConverter#IDENTITY} if the value is not converted, only used to copy the changed fields
+         */
+        final ValueConverter converter;
+
+        /**
+         * set instead of null, or null to leave the target field as it is
+         */
+        final Object nullReplacement;
+
+        /**
+         * @param fieldCopier  the copier chosen for the field regardless of null values
+         * @param converter  converts a non-null value, or {@link ValueConverter#IDENTITY}
+         * @param nullReplacement  the value set instead of null, or null to skip the null value
+         */
+        NullAwareCopier(final FieldCopier<S, D> fieldCopier, final ValueConverter converter,
+                final Object nullReplacement) {
+            super(fieldCopier.getter, fieldCopier.setter);
+            this.converter = converter;
+            this.nullReplacement = nullReplacement;
+        }
+
+        @Override
+        boolean copyIfChanged(final S src, final D dest, final FieldGetter<D> destGetter)
+                throws IllegalAccessException, InvocationTargetException {
+            final Object read = this.getter.get(src);
+            if (null == read) {
+                if (null == this.nullReplacement || this.nullReplacement.equals(destGetter.get(dest))) {
+                    return false;
+                }
+                this.setter.set(dest, this.nullReplacement);
+            } else if (this.converter.matches(read, destGetter.get(dest))) {
+                return false;
+            } else {
+                this.setter.set(dest, this.converter.convert(read));
+            }
+            return true;
+        }
+
+        @Override
+        boolean matches(final S src, final D dest, final FieldGetter<D> destGetter)
+                throws IllegalAccessException, InvocationTargetException {
+            final Object read = this.getter.get(src);
+            if (null == read) {
+                return null == this.nullReplacement || this.nullReplacement.equals(destGetter.get(dest));
+            }
+            return this.converter.matches(read, destGetter.get(dest));
+        }
+
+        @Override
+        boolean isDirect() {
+            return false;
+        }
+    }
+
+    /**
+     * Copies a value as is, leaving the target field as it is if the value is null
+     */
+    static final class SkipNullCopier<S, D> extends NullAwareCopier<S, D> {
+
+        SkipNullCopier(final FieldCopier<S, D> fieldCopier) {
+            super(fieldCopier, ValueConverter.IDENTITY, null);
+        }
+
+        @Override
+        void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+            final Object value = this.getter.get(src);
+            if (null != value) {
+                this.setter.set(dest, value);
+            }
+        }
+
+        @Override
+        Object transform(final Object value) {
+            return null == value ? SKIPPED : value;
+        }
+    }
+
+    /**
+     * Copies a converted value, leaving the target field as it is if the value is null
+     */
+    static final class SkipNullConvertingCopier<S, D> extends NullAwareCopier<S, D> {
+
+        SkipNullConvertingCopier(final FieldCopier<S, D> fieldCopier, final ValueConverter converter) {
+            super(fieldCopier, converter, null);
+        }
+
+        @Override
+        void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+            final Object value = this.getter.get(src);
+            if (null != value) {
+                this.setter.set(dest, this.converter.convert(value));
+            }
+        }
+
+        @Override
+        Object transform(final Object value) {
+            return null == value ? SKIPPED : this.converter.convert(value);
+        }
+    }
+
+    /**
+     * Copies a value as is to a primitive field, setting the default value of the primitive type instead of null
+     */
+    static final class DefaultOnNullCopier<S, D> extends NullAwareCopier<S, D> {
+
+        DefaultOnNullCopier(final FieldCopier<S, D> fieldCopier, final Object defaultValue) {
+            super(fieldCopier, ValueConverter.IDENTITY, defaultValue);
+        }
+
+        @Override
+        void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+            final Object value = this.getter.get(src);
+            this.setter.set(dest, null == value ? this.nullReplacement : value);
+        }
+
+        @Override
+        Object transform(final Object value) {
+            return null == value ? this.nullReplacement : value;
+        }
+    }
+
+    /**
+     * Copies a converted value to a primitive field, setting the default value of the primitive type instead of null
+     */
+    static final class DefaultOnNullConvertingCopier<S, D> extends NullAwareCopier<S, D> {
+
+        DefaultOnNullConvertingCopier(final FieldCopier<S, D> fieldCopier, final ValueConverter converter,
+                final Object defaultValue) {
+            super(fieldCopier, converter, defaultValue);
+        }
+
+        @Override
+        void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+            final Object value = this.getter.get(src);
+            this.setter.set(dest, null == value ? this.nullReplacement : this.converter.convert(value));
+        }
+
+        @Override
+        Object transform(final Object value) {
+            return null == value ? this.nullReplacement : this.converter.convert(value);
+        }
+    }
+
+    /**
+     * Copies a field through the copiers of a chain of converters without the intermediate Java beans,
+     * see {@link #fuse(FieldCopier, FieldCopier)}
+     */
+    static final class ChainedCopier<S, D> extends FieldCopier<S, D> {
+
+        private final FieldCopier<?, ?>[] stages;
+
+        ChainedCopier(final FieldGetter<S> getter, final FieldSetter<D> setter, final FieldCopier<?, ?>[] stages) {
+            super(getter, setter);
+            this.stages = stages;
+        }
+
+        @Override
+        void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+            final Object value = transform(this.getter.get(src));
+            if (SKIPPED != value) {
+                this.setter.set(dest, value);
+            }
+        }
+
+        @Override
+        Object transform(final Object value) {
+            Object result = value;
+            for (int i = 0; i < this.stages.length; i += 1) {
+                result = this.stages[i].transform(result);
+                if (SKIPPED == result) {
+                    return SKIPPED;
+                }
+                if (null == result && i < this.stages.length - 1 &&
+                        this.stages[i].setter.getParameterType().isPrimitive()) {
+                    // the intermediate Java bean could not be set either
+                    throw new IllegalArgumentException("Can not set null to the primitive field \"" +
+                            this.stages[i].setter.field.getName() + '\"');
+                }
+            }
+            return result;
+        }
+
+        @Override
+        boolean copyIfChanged(final S src, final D dest, final FieldGetter<D> destGetter)
+                throws IllegalAccessException, InvocationTargetException {
+            final Object value = transform(this.getter.get(src));
+            if (SKIPPED == value || Objects.equals(value, destGetter.get(dest))) {
+                return false;
+            }
+            this.setter.set(dest, value);
+            return true;
+        }
+
+        @Override
+        boolean isDirect() {
+            return false;
+        }
+    }
+
+    static final class ObjectCopier<S, D> extends FieldCopier<S, D> {
+
+        ObjectCopier(final FieldGetter<S> getter, final FieldSetter<D> setter) {
+            super(getter, setter);
+        }
+
+        @Override
+        void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+            this.setter.set(dest, this.getter.get(src));
+        }
+
+        @Override
+        boolean copyIfChanged(final S src, final D dest, final FieldGetter<D> destGetter)
+                throws IllegalAccessException, InvocationTargetException {
+            final Object value = this.getter.get(src);
+            if (Objects.equals(value, destGetter.get(dest))) {
+                return false;
+            }
+            this.setter.set(dest, value);
+            return true;
+        }
+    }
+
+    /**
+     * Choose the copier of a primitive number (or char) converted to another primitive type by casting,
+     * one class for each target type, reading the source value by a {@link NumericReader} of the source type
+     * @param getter  reads the field of the source Java bean, of a primitive number type or char
+     * @param setter  writes the field of the target Java bean, of another primitive number type or char
+     * @return  the copier of the field
+     */
+    static <S, D> FieldCopier<S, D> ofPrimitiveConversion(final FieldGetter<S> getter,
+            final FieldSetter<D> setter) {
+        final NumericReader<S> reader = NumericReader.of(getter);
+        final Class<?> type = setter.getParameterType();
+        if (byte.class.equals(type)) {
+            return new ToByteCopier<>(reader, setter);
+        } else if (short.class.equals(type)) {
+            return new ToShortCopier<>(reader, setter);
+        } else if (char.class.equals(type)) {
+            return new ToCharCopier<>(reader, setter);
+        } else if (int.class.equals(type)) {
+            return new ToIntCopier<>(reader, setter);
+        } else if (long.class.equals(type)) {
+            return new ToLongCopier<>(reader, setter);
+        } else if (float.class.equals(type)) {
+            return new ToFloatCopier<>(reader, setter);
+        } else if (double.class.equals(type)) {
+            return new ToDoubleCopier<>(reader, setter);
+        }
+        throw new IllegalArgumentException("Unexpected primitive type: " + type);
+    }
+
+    /**
+     * Reads a primitive number (or char) field cast to int, long, float or double as the Java language does,
+     * a narrower target type is cast from int, e.g. `(byte) (int) doubleValue`
+     */
+    abstract static class NumericReader<S> {
+
+        final FieldGetter<S> getter;
+
+        NumericReader(final FieldGetter<S> getter) {
+            this.getter = getter;
+        }
+
+        static <S> NumericReader<S> of(final FieldGetter<S> getter) {
+            final Class<?> type = getter.getReturnType();
+            if (byte.class.equals(type)) {
+                return new ByteReader<>(getter);
+            } else if (short.class.equals(type)) {
+                return new ShortReader<>(getter);
+            } else if (char.class.equals(type)) {
+                return new CharReader<>(getter);
+            } else if (int.class.equals(type)) {
+                return new IntReader<>(getter);
+            } else if (long.class.equals(type)) {
+                return new LongReader<>(getter);
+            } else if (float.class.equals(type)) {
+                return new FloatReader<>(getter);
+            } else if (double.class.equals(type)) {
+                return new DoubleReader<>(getter);
+            }
+            throw new IllegalArgumentException("Unexpected primitive type: " + type);
+        }
+
+        abstract int readInt(S src) throws IllegalAccessException, InvocationTargetException;
+
+        abstract long readLong(S src) throws IllegalAccessException, InvocationTargetException;
+
+        abstract float readFloat(S src) throws IllegalAccessException, InvocationTargetException;
+
+        abstract double readDouble(S src) throws IllegalAccessException, InvocationTargetException;
+
+        /**
+         *
+         * @param value  a boxed value of the source type
+         * @return  `value` as a number
+         */
+        Number number(final Object value) {
+            return (Number) value;
+        }
+    }
+
+    static final class ByteReader<S> extends NumericReader<S> {
+
+        ByteReader(final FieldGetter<S> getter) {
+            super(getter);
+        }
+
+        @Override
+        int readInt(final S src) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getByte(src);
+        }
+
+        @Override
+        long readLong(final S src) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getByte(src);
+        }
+
+        @Override
+        float readFloat(final S src) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getByte(src);
+        }
+
+        @Override
+        double readDouble(final S src) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getByte(src);
+        }
+    }
+
+    static final class ShortReader<S> extends NumericReader<S> {
+
+        ShortReader(final FieldGetter<S> getter) {
+            super(getter);
+        }
+
+        @Override
+        int readInt(final S src) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getShort(src);
+        }
+
+        @Override
+        long readLong(final S src) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getShort(src);
+        }
+
+        @Override
+        float readFloat(final S src) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getShort(src);
+        }
+
+        @Override
+        double readDouble(final S src) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getShort(src);
+        }
+    }
+
+    static final class CharReader<S> extends NumericReader<S> {
+
+        CharReader(final FieldGetter<S> getter) {
+            super(getter);
+        }
+
+        @Override
+        int readInt(final S src) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getChar(src);
+        }
+
+        @Override
+        long readLong(final S src) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getChar(src);
+        }
+
+        @Override
+        float readFloat(final S src) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getChar(src);
+        }
+
+        @Override
+        double readDouble(final S src) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getChar(src);
+        }
+
+        @Override
+        Number number(final Object value) {
+            return (int) (Character) value;
+        }
+    }
+
+    static final class IntReader<S> extends NumericReader<S> {
+
+        IntReader(final FieldGetter<S> getter) {
+            super(getter);
+        }
+
+        @Override
+        int readInt(final S src) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getInt(src);
+        }
+
+        @Override
+        long readLong(final S src) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getInt(src);
+        }
+
+        @Override
+        float readFloat(final S src) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getInt(src);
+        }
+
+        @Override
+        double readDouble(final S src) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getInt(src);
+        }
+    }
+
+    static final class LongReader<S> extends NumericReader<S> {
+
+        LongReader(final FieldGetter<S> getter) {
+            super(getter);
+        }
+
+        @Override
+        int readInt(final S src) throws IllegalAccessException, InvocationTargetException {
+            return (int) this.getter.getLong(src);
+        }
+
+        @Override
+        long readLong(final S src) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getLong(src);
+        }
+
+        @Override
+        float readFloat(final S src) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getLong(src);
+        }
+
+        @Override
+        double readDouble(final S src) throws IllegalAccessException, InvocationTargetException {
+            return (double) this.getter.getLong(src);
+        }
+    }
+
+    static final class FloatReader<S> extends NumericReader<S> {
+
+        FloatReader(final FieldGetter<S> getter) {
+            super(getter);
+        }
+
+        @Override
+        int readInt(final S src) throws IllegalAccessException, InvocationTargetException {
+            return (int) this.getter.getFloat(src);
+        }
+
+        @Override
+        long readLong(final S src) throws IllegalAccessException, InvocationTargetException {
+            return (long) this.getter.getFloat(src);
+        }
+
+        @Override
+        float readFloat(final S src) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getFloat(src);
+        }
+
+        @Override
+        double readDouble(final S src) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getFloat(src);
+        }
+    }
+
+    static final class DoubleReader<S> extends NumericReader<S> {
+
+        DoubleReader(final FieldGetter<S> getter) {
+            super(getter);
+        }
+
+        @Override
+        int readInt(final S src) throws IllegalAccessException, InvocationTargetException {
+            return (int) this.getter.getDouble(src);
+        }
+
+        @Override
+        long readLong(final S src) throws IllegalAccessException, InvocationTargetException {
+            return (long) this.getter.getDouble(src);
+        }
+
+        @Override
+        float readFloat(final S src) throws IllegalAccessException, InvocationTargetException {
+            return (float) this.getter.getDouble(src);
+        }
+
+        @Override
+        double readDouble(final S src) throws IllegalAccessException, InvocationTargetException {
+            return this.getter.getDouble(src);
+        }
+    }
+
+    /**
+     * Copies a primitive number (or char) to another primitive type by casting, without boxing,
+     * e.g. int to long (widening) or double to int (narrowing), see {@link #ofPrimitiveConversion}
+     */
+    abstract static class PrimitiveConversionCopier<S, D> extends FieldCopier<S, D> {
+
+        final NumericReader<S> reader;
+
+        PrimitiveConversionCopier(final NumericReader<S> reader, final FieldSetter<D> setter) {
+            super(reader.getter, setter);
+            this.reader = reader;
+        }
+    }
+
+    static final class ToByteCopier<S, D> extends PrimitiveConversionCopier<S, D> {
+
+        ToByteCopier(final NumericReader<S> reader, final FieldSetter<D> setter) {
+            super(reader, setter);
+        }
+
+        @Override
+        void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+            this.setter.setByte(dest, (byte) this.reader.readInt(src));
+        }
+
+        @Override
+        boolean copyIfChanged(final S src, final D dest, final FieldGetter<D> destGetter)
+                throws IllegalAccessException, InvocationTargetException {
+            final byte value = (byte) this.reader.readInt(src);
+            if (value == destGetter.getByte(dest)) {
+                return false;
+            }
+            this.setter.setByte(dest, value);
+            return true;
+        }
+
+        @Override
+        Object transform(final Object value) {
+            return this.reader.number(value).byteValue();
+        }
+    }
+
+    static final class ToShortCopier<S, D> extends PrimitiveConversionCopier<S, D> {
+
+        ToShortCopier(final NumericReader<S> reader, final FieldSetter<D> setter) {
+            super(reader, setter);
+        }
+
+        @Override
+        void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+            this.setter.setShort(dest, (short) this.reader.readInt(src));
+        }
+
+        @Override
+        boolean copyIfChanged(final S src, final D dest, final FieldGetter<D> destGetter)
+                throws IllegalAccessException, InvocationTargetException {
+            final short value = (short) this.reader.readInt(src);
+            if (value == destGetter.getShort(dest)) {
+                return false;
+            }
+            this.setter.setShort(dest, value);
+            return true;
+        }
+
+        @Override
+        Object transform(final Object value) {
+            return this.reader.number(value).shortValue();
+        }
+    }
+
+    static final class ToCharCopier<S, D> extends PrimitiveConversionCopier<S, D> {
+
+        ToCharCopier(final NumericReader<S> reader, final FieldSetter<D> setter) {
+            super(reader, setter);
+        }
+
+        @Override
+        void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+            this.setter.setChar(dest, (char) this.reader.readInt(src));
+        }
+
+        @Override
+        boolean copyIfChanged(final S src, final D dest, final FieldGetter<D> destGetter)
+                throws IllegalAccessException, InvocationTargetException {
+            final char value = (char) this.reader.readInt(src);
+            if (value == destGetter.getChar(dest)) {
+                return false;
+            }
+            this.setter.setChar(dest, value);
+            return true;
+        }
+
+        @Override
+        Object transform(final Object value) {
+            return (char) this.reader.number(value).intValue();
+        }
+    }
+
+    static final class ToIntCopier<S, D> extends PrimitiveConversionCopier<S, D> {
+
+        ToIntCopier(final NumericReader<S> reader, final FieldSetter<D> setter) {
+            super(reader, setter);
+        }
+
+        @Override
+        void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+            this.setter.setInt(dest, this.reader.readInt(src));
+        }
+
+        @Override
+        boolean copyIfChanged(final S src, final D dest, final FieldGetter<D> destGetter)
+                throws IllegalAccessException, InvocationTargetException {
+            final int value = this.reader.readInt(src);
+            if (value == destGetter.getInt(dest)) {
+                return false;
+            }
+            this.setter.setInt(dest, value);
+            return true;
+        }
+
+        @Override
+        Object transform(final Object value) {
+            return this.reader.number(value).intValue();
+        }
+    }
+
+    static final class ToLongCopier<S, D> extends PrimitiveConversionCopier<S, D> {
+
+        ToLongCopier(final NumericReader<S> reader, final FieldSetter<D> setter) {
+            super(reader, setter);
+        }
+
+        @Override
+        void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+            this.setter.setLong(dest, this.reader.readLong(src));
+        }
+
+        @Override
+        boolean copyIfChanged(final S src, final D dest, final FieldGetter<D> destGetter)
+                throws IllegalAccessException, InvocationTargetException {
+            final long value = this.reader.readLong(src);
+            if (value == destGetter.getLong(dest)) {
+                return false;
+            }
+            this.setter.setLong(dest, value);
+            return true;
+        }
+
+        @Override
+        Object transform(final Object value) {
+            return this.reader.number(value).longValue();
+        }
+    }
+
+    static final class ToFloatCopier<S, D> extends PrimitiveConversionCopier<S, D> {
+
+        ToFloatCopier(final NumericReader<S> reader, final FieldSetter<D> setter) {
+            super(reader, setter);
+        }
+
+        @Override
+        void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+            this.setter.setFloat(dest, this.reader.readFloat(src));
+        }
+
+        @Override
+        boolean copyIfChanged(final S src, final D dest, final FieldGetter<D> destGetter)
+                throws IllegalAccessException, InvocationTargetException {
+            final float value = this.reader.readFloat(src);
+            if (Float.floatToIntBits(value) == Float.floatToIntBits(destGetter.getFloat(dest))) {
+                return false;
+            }
+            this.setter.setFloat(dest, value);
+            return true;
+        }
+
+        @Override
+        Object transform(final Object value) {
+            return this.reader.number(value).floatValue();
+        }
+    }
+
+    static final class ToDoubleCopier<S, D> extends PrimitiveConversionCopier<S, D> {
+
+        ToDoubleCopier(final NumericReader<S> reader, final FieldSetter<D> setter) {
+            super(reader, setter);
+        }
+
+        @Override
+        void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+            this.setter.setDouble(dest, this.reader.readDouble(src));
+        }
+
+        @Override
+        boolean copyIfChanged(final S src, final D dest, final FieldGetter<D> destGetter)
+                throws IllegalAccessException, InvocationTargetException {
+            final double value = this.reader.readDouble(src);
+            if (Double.doubleToLongBits(value) == Double.doubleToLongBits(destGetter.getDouble(dest))) {
+                return false;
+            }
+            this.setter.setDouble(dest, value);
+            return true;
+        }
+
+        @Override
+        Object transform(final Object value) {
+            return this.reader.number(value).doubleValue();
+        }
+    }
+
+    static final class BooleanCopier<S, D> extends FieldCopier<S, D> {
+
+        BooleanCopier(final FieldGetter<S> getter, final FieldSetter<D> setter) {
+            super(getter, setter);
+        }
+
+        @Override
+        void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+            this.setter.setBoolean(dest, this.getter.getBoolean(src));
+        }
+
+        @Override
+        boolean copyIfChanged(final S src, final D dest, final FieldGetter<D> destGetter)
+                throws IllegalAccessException, InvocationTargetException {
+            final boolean value = this.getter.getBoolean(src);
+            if (value == destGetter.getBoolean(dest)) {
+                return false;
+            }
+            this.setter.setBoolean(dest, value);
+            return true;
+        }
+    }
+
+    static final class ByteCopier<S, D> extends FieldCopier<S, D> {
+
+        ByteCopier(final FieldGetter<S> getter, final FieldSetter<D> setter) {
+            super(getter, setter);
+        }
+
+        @Override
+        void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+            this.setter.setByte(dest, this.getter.getByte(src));
+        }
+
+        @Override
+        boolean copyIfChanged(final S src, final D dest, final FieldGetter<D> destGetter)
+                throws IllegalAccessException, InvocationTargetException {
+            final byte value = this.getter.getByte(src);
+            if (value == destGetter.getByte(dest)) {
+                return false;
+            }
+            this.setter.setByte(dest, value);
+            return true;
+        }
+    }
+
+    static final class CharCopier<S, D> extends FieldCopier<S, D> {
+
+        CharCopier(final FieldGetter<S> getter, final FieldSetter<D> setter) {
+            super(getter, setter);
+        }
+
+        @Override
+        void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+            this.setter.setChar(dest, this.getter.getChar(src));
+        }
+
+        @Override
+        boolean copyIfChanged(final S src, final D dest, final FieldGetter<D> destGetter)
+                throws IllegalAccessException, InvocationTargetException {
+            final char value = this.getter.getChar(src);
+            if (value == destGetter.getChar(dest)) {
+                return false;
+            }
+            this.setter.setChar(dest, value);
+            return true;
+        }
+    }
+
+    static final class ShortCopier<S, D> extends FieldCopier<S, D> {
+
+        ShortCopier(final FieldGetter<S> getter, final FieldSetter<D> setter) {
+            super(getter, setter);
+        }
+
+        @Override
+        void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+            this.setter.setShort(dest, this.getter.getShort(src));
+        }
+
+        @Override
+        boolean copyIfChanged(final S src, final D dest, final FieldGetter<D> destGetter)
+                throws IllegalAccessException, InvocationTargetException {
+            final short value = this.getter.getShort(src);
+            if (value == destGetter.getShort(dest)) {
+                return false;
+            }
+            this.setter.setShort(dest, value);
+            return true;
+        }
+    }
+
+    static final class IntCopier<S, D> extends FieldCopier<S, D> {
+
+        IntCopier(final FieldGetter<S> getter, final FieldSetter<D> setter) {
+            super(getter, setter);
+        }
+
+        @Override
+        void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+            this.setter.setInt(dest, this.getter.getInt(src));
+        }
+
+        @Override
+        boolean copyIfChanged(final S src, final D dest, final FieldGetter<D> destGetter)
+                throws IllegalAccessException, InvocationTargetException {
+            final int value = this.getter.getInt(src);
+            if (value == destGetter.getInt(dest)) {
+                return false;
+            }
+            this.setter.setInt(dest, value);
+            return true;
+        }
+    }
+
+    static final class LongCopier<S, D> extends FieldCopier<S, D> {
+
+        LongCopier(final FieldGetter<S> getter, final FieldSetter<D> setter) {
+            super(getter, setter);
+        }
+
+        @Override
+        void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+            this.setter.setLong(dest, this.getter.getLong(src));
+        }
+
+        @Override
+        boolean copyIfChanged(final S src, final D dest, final FieldGetter<D> destGetter)
+                throws IllegalAccessException, InvocationTargetException {
+            final long value = this.getter.getLong(src);
+            if (value == destGetter.getLong(dest)) {
+                return false;
+            }
+            this.setter.setLong(dest, value);
+            return true;
+        }
+    }
+
+    static final class FloatCopier<S, D> extends FieldCopier<S, D> {
+
+        FloatCopier(final FieldGetter<S> getter, final FieldSetter<D> setter) {
+            super(getter, setter);
+        }
+
+        @Override
+        void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+            this.setter.setFloat(dest, this.getter.getFloat(src));
+        }
+
+        @Override
+        boolean copyIfChanged(final S src, final D dest, final FieldGetter<D> destGetter)
+                throws IllegalAccessException, InvocationTargetException {
+            final float value = this.getter.getFloat(src);
+            if (Float.floatToIntBits(value) == Float.floatToIntBits(destGetter.getFloat(dest))) {
+                return false;
+            }
+            this.setter.setFloat(dest, value);
+            return true;
+        }
+    }
+
+    static final class DoubleCopier<S, D> extends FieldCopier<S, D> {
+
+        DoubleCopier(final FieldGetter<S> getter, final FieldSetter<D> setter) {
+            super(getter, setter);
+        }
+
+        @Override
+        void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+            this.setter.setDouble(dest, this.getter.getDouble(src));
+        }
+
+        @Override
+        boolean copyIfChanged(final S src, final D dest, final FieldGetter<D> destGetter)
+                throws IllegalAccessException, InvocationTargetException {
+            final double value = this.getter.getDouble(src);
+            if (Double.doubleToLongBits(value) == Double.doubleToLongBits(destGetter.getDouble(dest))) {
+                return false;
+            }
+            this.setter.setDouble(dest, value);
+            return true;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+/**
+ * Selects the fields copied by a projection of a converter
+ * @see ByFieldNameBeanConverter#project(FieldFilter)
+ */
+public interface FieldFilter {
+
+    /**
+     *
+     * @param fieldName  the name of a mapped field
+     * @return  whether the field is copied
+     */
+    boolean accept(String fieldName);
+}
@@ -16,16 +16,29 @@
 package tech.firas.framework.bean;
 
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.Locale;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
-import java.util.regex.Pattern;
 
+/**
+ * Gets the value of a field of a Java bean, through its getter or directly
+ *
+ * A FieldGetter is immutable after construction and can be used by multiple threads concurrently
+ */
 public class FieldGetter<T> extends FieldAccessor {
 
     private final Method getMethod;
+    private final Accessors.ValueGetter accessor;
+
+    /**
+     * reads the field without boxing if its getter returns a primitive type, or else null
+     */
+    private final MethodHandle primitiveGetter;
 
     /**
      * Construct a FieldGetter to get a field in `srcClass`
@@ -44,16 +57,22 @@ public class FieldGetter<T> extends FieldAccessor {
         final Class<?> fieldType = field.getType();
         final Class<?> declaringClass = field.getDeclaringClass();
 
-        final Pattern getterPattern = Pattern.compile(
-                (fieldType.equals(boolean.class) ?
-                        (configuration.isAllowGetBoolean() ? "(get|is)" : "is") : "get") +
-                        field.getName().substring(0, 1).toUpperCase(Locale.US) + field.getName().substring(1));
-        for (Class<?> clazz = srcClass; declaringClass.isAssignableFrom(clazz); clazz = clazz.getSuperclass()) {
-            for (final Method method : clazz.getMethods()) {
-                if (getterPattern.matcher(method.getName()).matches() &&
-                        method.getReturnType().isAssignableFrom(fieldType) &&
-                        method.getParameterTypes().length == 0) {
+        if (declaringClass.isAssignableFrom(srcClass)) {
+            final BeanMetadata metadata = BeanMetadata.forClass(srcClass);
+            final String capitalized = BeanMetadata.capitalize(field.getName());
+            final List<Method> candidates = new ArrayList<>();
+            if (fieldType.equals(boolean.class)) {
+                candidates.addAll(metadata.getMethods("is" + capitalized));
+            }
+            if (!fieldType.equals(boolean.class) || configuration.isAllowGetBoolean()) {
+                candidates.addAll(metadata.getMethods("get" + capitalized));
+            }
+            for (final Method method : candidates) {
+                if (method.getReturnType().isAssignableFrom(fieldType) && method.getParameterTypes().length == 0) {
                     this.getMethod = method;
+                    this.accessor = Accessors.getter(method);
+                    this.primitiveGetter = method.getReturnType().isPrimitive() ?
+                            Accessors.primitiveGetter(method) : null;
                     return;
                 }
             }
@@ -64,6 +83,8 @@ public class FieldGetter<T> extends FieldAccessor {
         }
         this.getMethod = null;
         field.setAccessible(true);
+        this.accessor = Accessors.getter(field);
+        this.primitiveGetter = fieldType.isPrimitive() ? Accessors.primitiveGetter(field) : null;
     }
 
     /**
@@ -77,18 +98,212 @@ public class FieldGetter<T> extends FieldAccessor {
         return this.getMethod.getReturnType();
     }
 
+    /**
+     *
+     * @return  the generic type of the value got from this getter
+     */
+    public Type getGenericReturnType() {
+        if (this.getMethod == null) {
+            return this.field.getGenericType();
+        }
+        return this.getMethod.getGenericReturnType();
+    }
+
+    /**
+     *
+     * @return  the getter method, or null if the field is accessed directly
+     */
+    Method getGetterMethod() {
+        return this.getMethod;
+    }
+
     /**
      * Get the field value of the Java bean `obj`
+     *
+     * The getter / field is accessed through an accessor bound at construction,
+     * see {@link Accessors}
+     *
      * @param obj  the Java bean to set
      * @return  the value of the field
-     * @throws InvocationTargetException  if it fails to set the value of the field in `obj`
+     * @throws InvocationTargetException  if it fails to get the value of the field in `obj`
      * @throws IllegalAccessException  if it fails to access the field / its getter
      */
     public Object get(final T obj) throws IllegalAccessException, InvocationTargetException {
-        if (this.getMethod == null) {
-            return field.get(obj);
+        try {
+            return this.accessor.get(obj);
+        } catch (IllegalAccessException | InvocationTargetException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    /**
+     * Get the value of a `boolean` field of the Java bean `obj` without boxing
+     * if the getter returns `boolean`, or else unbox the value got by {@link #get(Object)}
+     * @param obj  the Java bean to read
+     * @return  the value of the field
+     * @throws InvocationTargetException  if it fails to get the value of the field in `obj`
+     * @throws IllegalAccessException  if it fails to access the field / its getter
+     */
+    public boolean getBoolean(final T obj) throws IllegalAccessException, InvocationTargetException {
+        if (null == this.primitiveGetter || !boolean.class.equals(this.primitiveGetter.type().returnType())) {
+            return (Boolean) get(obj);
+        }
+        try {
+            return (boolean) this.primitiveGetter.invokeExact((Object) obj);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    /**
+     * Get the value of a `byte` field of the Java bean `obj` without boxing
+     * if the getter returns `byte`, or else unbox the value got by {@link #get(Object)}
+     * @param obj  the Java bean to read
+     * @return  the value of the field
+     * @throws InvocationTargetException  if it fails to get the value of the field in `obj`
+     * @throws IllegalAccessException  if it fails to access the field / its getter
+     */
+    public byte getByte(final T obj) throws IllegalAccessException, InvocationTargetException {
+        if (null == this.primitiveGetter || !byte.class.equals(this.primitiveGetter.type().returnType())) {
+            return (Byte) get(obj);
+        }
+        try {
+            return (byte) this.primitiveGetter.invokeExact((Object) obj);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    /**
+     * Get the value of a `char` field of the Java bean `obj` without boxing
+     * if the getter returns `char`, or else unbox the value got by {@link #get(Object)}
+     * @param obj  the Java bean to read
+     * @return  the value of the field
+     * @throws InvocationTargetException  if it fails to get the value of the field in `obj`
+     * @throws IllegalAccessException  if it fails to access the field / its getter
+     */
+    public char getChar(final T obj) throws IllegalAccessException, InvocationTargetException {
+        if (null == this.primitiveGetter || !char.class.equals(this.primitiveGetter.type().returnType())) {
+            return (Character) get(obj);
+        }
+        try {
+            return (char) this.primitiveGetter.invokeExact((Object) obj);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    /**
+     * Get the value of a `short` field of the Java bean `obj` without boxing
+     * if the getter returns `short`, or else unbox the value got by {@link #get(Object)}
+     * @param obj  the Java bean to read
+     * @return  the value of the field
+     * @throws InvocationTargetException  if it fails to get the value of the field in `obj`
+     * @throws IllegalAccessException  if it fails to access the field / its getter
+     */
+    public short getShort(final T obj) throws IllegalAccessException, InvocationTargetException {
+        if (null == this.primitiveGetter || !short.class.equals(this.primitiveGetter.type().returnType())) {
+            return (Short) get(obj);
+        }
+        try {
+            return (short) this.primitiveGetter.invokeExact((Object) obj);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    /**
+     * Get the value of a `int` field of the Java bean `obj` without boxing
+     * if the getter returns `int`, or else unbox the value got by {@link #get(Object)}
+     * @param obj  the Java bean to read
+     * @return  the value of the field
+     * @throws InvocationTargetException  if it fails to get the value of the field in `obj`
+     * @throws IllegalAccessException  if it fails to access the field / its getter
+     */
+    public int getInt(final T obj) throws IllegalAccessException, InvocationTargetException {
+        if (null == this.primitiveGetter || !int.class.equals(this.primitiveGetter.type().returnType())) {
+            return (Integer) get(obj);
+        }
+        try {
+            return (int) this.primitiveGetter.invokeExact((Object) obj);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    /**
+     * Get the value of a `long` field of the Java bean `obj` without boxing
+     * if the getter returns `long`, or else unbox the value got by {@link #get(Object)}
+     * @param obj  the Java bean to read
+     * @return  the value of the field
+     * @throws InvocationTargetException  if it fails to get the value of the field in `obj`
+     * @throws IllegalAccessException  if it fails to access the field / its getter
+     */
+    public long getLong(final T obj) throws IllegalAccessException, InvocationTargetException {
+        if (null == this.primitiveGetter || !long.class.equals(this.primitiveGetter.type().returnType())) {
+            return (Long) get(obj);
+        }
+        try {
+            return (long) this.primitiveGetter.invokeExact((Object) obj);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    /**
+     * Get the value of a `float` field of the Java bean `obj` without boxing
+     * if the getter returns `float`, or else unbox the value got by {@link #get(Object)}
+     * @param obj  the Java bean to read
+     * @return  the value of the field
+     * @throws InvocationTargetException  if it fails to get the value of the field in `obj`
+     * @throws IllegalAccessException  if it fails to access the field / its getter
+     */
+    public float getFloat(final T obj) throws IllegalAccessException, InvocationTargetException {
+        if (null == this.primitiveGetter || !float.class.equals(this.primitiveGetter.type().returnType())) {
+            return (Float) get(obj);
+        }
+        try {
+            return (float) this.primitiveGetter.invokeExact((Object) obj);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    /**
+     * Get the value of a `double` field of the Java bean `obj` without boxing
+     * if the getter returns `double`, or else unbox the value got by {@link #get(Object)}
+     * @param obj  the Java bean to read
+     * @return  the value of the field
+     * @throws InvocationTargetException  if it fails to get the value of the field in `obj`
+     * @throws IllegalAccessException  if it fails to access the field / its getter
+     */
+    public double getDouble(final T obj) throws IllegalAccessException, InvocationTargetException {
+        if (null == this.primitiveGetter || !double.class.equals(this.primitiveGetter.type().returnType())) {
+            return (Double) get(obj);
+        }
+        try {
+            return (double) this.primitiveGetter.invokeExact((Object) obj);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
         }
-        return this.getMethod.invoke(obj);
     }
 
     public static final class Configuration implements Serializable {
@@ -102,6 +317,17 @@ public class FieldGetter<T> extends FieldAccessor {
          */
         private boolean allowDirectlyGetField;
 
+        public Configuration() {}
+
+        /**
+         * Copy a configuration
+         * @param other  the configuration to copy
+         */
+        public Configuration(final Configuration other) {
+            this.allowGetBoolean = other.allowGetBoolean;
+            this.allowDirectlyGetField = other.allowDirectlyGetField;
+        }
+
         public boolean isAllowGetBoolean() {
             return allowGetBoolean;
         }
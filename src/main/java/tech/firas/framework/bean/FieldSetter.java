@@ -16,15 +16,27 @@
 package tech.firas.framework.bean;
 
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.Locale;
+import java.lang.reflect.Type;
 import java.util.Objects;
 
+/**
+ * Sets the value of a field of a Java bean, through its setter or directly
+ *
+ * A FieldSetter is immutable after construction and can be used by multiple threads concurrently
+ */
 public class FieldSetter<E> extends FieldAccessor {
 
     private final Method setMethod;
+    private final Accessors.ValueSetter accessor;
+
+    /**
+     * writes the field without boxing if its setter accepts a primitive type, or else null
+     */
+    private final MethodHandle primitiveSetter;
 
     /**
      * Construct a FieldSetter to get a field in `destClass`
@@ -43,16 +55,14 @@ public class FieldSetter<E> extends FieldAccessor {
         final Class<?> fieldType = field.getType();
         final Class<?> declaringClass = field.getDeclaringClass();
 
-        final String setterName = "set" + field.getName().substring(0, 1).toUpperCase(Locale.US) +
-                field.getName().substring(1);
-        for (Class<?> clazz = destClass; declaringClass.isAssignableFrom(clazz); clazz = clazz.getSuperclass()) {
-            for (final Method method : clazz.getMethods()) {
-                if (!setterName.equals(method.getName())) {
-                    continue;
-                }
+        if (declaringClass.isAssignableFrom(destClass)) {
+            final String setterName = "set" + BeanMetadata.capitalize(field.getName());
+            for (final Method method : BeanMetadata.forClass(destClass).getMethods(setterName)) {
                 Class<?>[] types = method.getParameterTypes();
                 if (types.length == 1 && ObjectType.isObjectTypeAssignableFrom(fieldType, types[0])) {
                     this.setMethod = method;
+                    this.accessor = Accessors.setter(method);
+                    this.primitiveSetter = types[0].isPrimitive() ? Accessors.primitiveSetter(method) : null;
                     return;
                 }
             }
@@ -63,6 +73,8 @@ public class FieldSetter<E> extends FieldAccessor {
         }
         this.setMethod = null;
         field.setAccessible(true);
+        this.accessor = Accessors.setter(field);
+        this.primitiveSetter = fieldType.isPrimitive() ? Accessors.primitiveSetter(field) : null;
     }
 
     /**
@@ -76,18 +88,219 @@ public class FieldSetter<E> extends FieldAccessor {
         return this.setMethod.getParameterTypes()[0];
     }
 
+    /**
+     *
+     * @return  the generic type of the field value that this setter accepts
+     */
+    public Type getGenericParameterType() {
+        if (this.setMethod == null) {
+            return this.field.getGenericType();
+        }
+        return this.setMethod.getGenericParameterTypes()[0];
+    }
+
+    /**
+     *
+     * @return  the setter method, or null if the field is accessed directly
+     */
+    Method getSetterMethod() {
+        return this.setMethod;
+    }
+
     /**
      * Set the field value of the Java bean `obj` to `value`
+     *
+     * The setter / field is accessed through an accessor bound at construction,
+     * see {@link Accessors}
+     *
      * @param obj  the Java bean to set
      * @param value  the value of the field
      * @throws InvocationTargetException  if it fails to set the value of the field in `obj`
      * @throws IllegalAccessException  if it fails to access the field / its setter
      */
     public void set(E obj, Object value) throws InvocationTargetException, IllegalAccessException {
-        if (this.setMethod == null) {
-            this.field.set(obj, value);
-        } else {
-            this.setMethod.invoke(obj, value);
+        try {
+            this.accessor.set(obj, value);
+        } catch (IllegalAccessException | InvocationTargetException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    /**
+     * Set the value of a `boolean` field of the Java bean `obj` without boxing
+     * if the setter accepts `boolean`, or else box the value and set it by {@link #set(Object, Object)}
+     * @param obj  the Java bean to set
+     * @param value  the value of the field
+     * @throws InvocationTargetException  if it fails to set the value of the field in `obj`
+     * @throws IllegalAccessException  if it fails to access the field / its setter
+     */
+    public void setBoolean(final E obj, final boolean value) throws InvocationTargetException, IllegalAccessException {
+        if (null == this.primitiveSetter || !boolean.class.equals(this.primitiveSetter.type().parameterType(1))) {
+            set(obj, value);
+            return;
+        }
+        try {
+            this.primitiveSetter.invokeExact((Object) obj, value);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    /**
+     * Set the value of a `byte` field of the Java bean `obj` without boxing
+     * if the setter accepts `byte`, or else box the value and set it by {@link #set(Object, Object)}
+     * @param obj  the Java bean to set
+     * @param value  the value of the field
+     * @throws InvocationTargetException  if it fails to set the value of the field in `obj`
+     * @throws IllegalAccessException  if it fails to access the field / its setter
+     */
+    public void setByte(final E obj, final byte value) throws InvocationTargetException, IllegalAccessException {
+        if (null == this.primitiveSetter || !byte.class.equals(this.primitiveSetter.type().parameterType(1))) {
+            set(obj, value);
+            return;
+        }
+        try {
+            this.primitiveSetter.invokeExact((Object) obj, value);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    /**
+     * Set the value of a `char` field of the Java bean `obj` without boxing
+     * if the setter accepts `char`, or else box the value and set it by {@link #set(Object, Object)}
+     * @param obj  the Java bean to set
+     * @param value  the value of the field
+     * @throws InvocationTargetException  if it fails to set the value of the field in `obj`
+     * @throws IllegalAccessException  if it fails to access the field / its setter
+     */
+    public void setChar(final E obj, final char value) throws InvocationTargetException, IllegalAccessException {
+        if (null == this.primitiveSetter || !char.class.equals(this.primitiveSetter.type().parameterType(1))) {
+            set(obj, value);
+            return;
+        }
+        try {
+            this.primitiveSetter.invokeExact((Object) obj, value);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    /**
+     * Set the value of a `short` field of the Java bean `obj` without boxing
+     * if the setter accepts `short`, or else box the value and set it by {@link #set(Object, Object)}
+     * @param obj  the Java bean to set
+     * @param value  the value of the field
+     * @throws InvocationTargetException  if it fails to set the value of the field in `obj`
+     * @throws IllegalAccessException  if it fails to access the field / its setter
+     */
+    public void setShort(final E obj, final short value) throws InvocationTargetException, IllegalAccessException {
+        if (null == this.primitiveSetter || !short.class.equals(this.primitiveSetter.type().parameterType(1))) {
+            set(obj, value);
+            return;
+        }
+        try {
+            this.primitiveSetter.invokeExact((Object) obj, value);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    /**
+     * Set the value of a `int` field of the Java bean `obj` without boxing
+     * if the setter accepts `int`, or else box the value and set it by {@link #set(Object, Object)}
+     * @param obj  the Java bean to set
+     * @param value  the value of the field
+     * @throws InvocationTargetException  if it fails to set the value of the field in `obj`
+     * @throws IllegalAccessException  if it fails to access the field / its setter
+     */
+    public void setInt(final E obj, final int value) throws InvocationTargetException, IllegalAccessException {
+        if (null == this.primitiveSetter || !int.class.equals(this.primitiveSetter.type().parameterType(1))) {
+            set(obj, value);
+            return;
+        }
+        try {
+            this.primitiveSetter.invokeExact((Object) obj, value);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    /**
+     * Set the value of a `long` field of the Java bean `obj` without boxing
+     * if the setter accepts `long`, or else box the value and set it by {@link #set(Object, Object)}
+     * @param obj  the Java bean to set
+     * @param value  the value of the field
+     * @throws InvocationTargetException  if it fails to set the value of the field in `obj`
+     * @throws IllegalAccessException  if it fails to access the field / its setter
+     */
+    public void setLong(final E obj, final long value) throws InvocationTargetException, IllegalAccessException {
+        if (null == this.primitiveSetter || !long.class.equals(this.primitiveSetter.type().parameterType(1))) {
+            set(obj, value);
+            return;
+        }
+        try {
+            this.primitiveSetter.invokeExact((Object) obj, value);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    /**
+     * Set the value of a `float` field of the Java bean `obj` without boxing
+     * if the setter accepts `float`, or else box the value and set it by {@link #set(Object, Object)}
+     * @param obj  the Java bean to set
+     * @param value  the value of the field
+     * @throws InvocationTargetException  if it fails to set the value of the field in `obj`
+     * @throws IllegalAccessException  if it fails to access the field / its setter
+     */
+    public void setFloat(final E obj, final float value) throws InvocationTargetException, IllegalAccessException {
+        if (null == this.primitiveSetter || !float.class.equals(this.primitiveSetter.type().parameterType(1))) {
+            set(obj, value);
+            return;
+        }
+        try {
+            this.primitiveSetter.invokeExact((Object) obj, value);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
+        }
+    }
+
+    /**
+     * Set the value of a `double` field of the Java bean `obj` without boxing
+     * if the setter accepts `double`, or else box the value and set it by {@link #set(Object, Object)}
+     * @param obj  the Java bean to set
+     * @param value  the value of the field
+     * @throws InvocationTargetException  if it fails to set the value of the field in `obj`
+     * @throws IllegalAccessException  if it fails to access the field / its setter
+     */
+    public void setDouble(final E obj, final double value) throws InvocationTargetException, IllegalAccessException {
+        if (null == this.primitiveSetter || !double.class.equals(this.primitiveSetter.type().parameterType(1))) {
+            set(obj, value);
+            return;
+        }
+        try {
+            this.primitiveSetter.invokeExact((Object) obj, value);
+        } catch (Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new InvocationTargetException(ex);
         }
     }
 
@@ -97,6 +310,16 @@ public class FieldSetter<E> extends FieldAccessor {
          */
         private boolean allowDirectlySetField;
 
+        public Configuration() {}
+
+        /**
+         * Copy a configuration
+         * @param other  the configuration to copy
+         */
+        public Configuration(final Configuration other) {
+            this.allowDirectlySetField = other.allowDirectlySetField;
+        }
+
         public boolean isAllowDirectlySetField() {
             return allowDirectlySetField;
         }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+/**
+ * Converts the value of a field whose type can not be assigned to the type of the target field,
+ * registered by {@link ByFieldNameBeanConverter.Configuration#addFieldValueConverter(FieldValueConverter)}
+ *
+ * The converter of a field is chosen once when the converter of the Java beans is built, so
+ * {@link #supports(Class, Class)} is not called when converting.
+ * An implementation should be thread-safe, and Serializable if the configuration is to be serialized.
+ *
+ * @see StandardFieldValueConverter
+ */
+public interface FieldValueConverter {
+
+    /**
+     *
+     * @param srcType  the type of the value got from the source Java bean
+     * @param destType  the type of the value that the target Java bean accepts
+     * @return  whether this converter converts a value of `srcType` to `destType`
+     */
+    boolean supports(Class<?> srcType, Class<?> destType);
+
+    /**
+     *
+     * @param value  the non-null value got from the source Java bean
+     * @param destType  the type of the value that the target Java bean accepts
+     * @return  the value to set to the target Java bean
+     */
+    Object convert(Object value, Class<?> destType);
+}
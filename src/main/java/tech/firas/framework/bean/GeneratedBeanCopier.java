@@ -0,0 +1,41 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * The base class of the copier classes generated by {@link BeanCopierGenerator}
+ *
+ * It is public only because the generated classes are defined in another class loader,
+ * and it is not intended to be extended by other classes
+ */
+public abstract class GeneratedBeanCopier<S, D> extends BeanCopier<S, D> {
+
+    /**
+     * copies the fields that the generated code can not access directly, may be null
+     */
+    private final BeanCopier<S, D> remaining;
+
+    protected GeneratedBeanCopier(final BeanCopier<S, D> remaining) {
+        this.remaining = remaining;
+    }
+
+    protected final void copyRemaining(final S src, final D dest)
+            throws IllegalAccessException, InvocationTargetException {
+        this.remaining.copy(src, dest);
+    }
+}
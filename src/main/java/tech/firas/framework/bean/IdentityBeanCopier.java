@@ -0,0 +1,70 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.IdentityHashMap;
+
+/**
+ * Remembers the target of each Java bean copied in the current conversion of an object graph,
+ * so that a Java bean referenced more than once is converted once and cyclic references are preserved.
+ * Only used by a converter that preserves identity, so that the other converters pay nothing
+ *
+ * The conversion of an object graph starts at the outermost copy in the thread and ends when it returns
+ */
+final class IdentityBeanCopier<S, D> extends BeanCopier<S, D> {
+
+    private static final ThreadLocal<IdentityHashMap<Object, Object>> converted = new ThreadLocal<>();
+
+    private final BeanCopier<S, D> delegate;
+
+    IdentityBeanCopier(final BeanCopier<S, D> delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     *
+     * @param src  a source Java bean
+     * @return  the target Java bean `src` is copied to in the current conversion, or null if there is none
+     */
+    static Object getConverted(final Object src) {
+        final IdentityHashMap<Object, Object> map = converted.get();
+        return map == null ? null : map.get(src);
+    }
+
+    @Override
+    public D newInstance() throws InstantiationException, IllegalAccessException, InvocationTargetException {
+        return this.delegate.newInstance();
+    }
+
+    @Override
+    public void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+        final IdentityHashMap<Object, Object> map = converted.get();
+        if (map != null) {
+            map.put(src, dest);
+            this.delegate.copy(src, dest);
+            return;
+        }
+        final IdentityHashMap<Object, Object> root = new IdentityHashMap<>();
+        root.put(src, dest);
+        converted.set(root);
+        try {
+            this.delegate.copy(src, dest);
+        } finally {
+            converted.remove();
+        }
+    }
+}
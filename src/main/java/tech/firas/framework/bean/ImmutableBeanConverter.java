@@ -0,0 +1,443 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.beans.ConstructorProperties;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+import org.springframework.core.convert.converter.Converter;
+
+/**
+ * Converts a Java bean to an immutable Java bean of another type, which is created in one call
+ * with the values of the source fields of the same names, instead of by a default constructor and setters
+ *
+ * The target Java bean is created by the first one found of
+ * 1. the public constructor or public static factory method annotated by {@link BeanCreator}
+ * 2. the canonical constructor of a record (on Java 16+)
+ * 3. the public constructor annotated by {@link ConstructorProperties}
+ * 4. a builder returned by a public static method "builder()" of the target type, whose method "build()"
+ *    returns the target Java bean, and whose one-parameter methods named as the fields
+ *    (or "with" / "set" and the capitalized field name) are called for the source fields
+ *
+ * The source fields are resolved for the parameters once in the constructor, and each conversion only collects
+ * their values into an argument array, which is passed to the constructor / factory method by a method handle,
+ * or to the methods of the builder by the accessors of {@link FieldSetter}. A parameter without a source field of an assignable type gets null
+ * (or the default value of a primitive type), and a builder method without a source field is not called.
+ *
+ * A converter is immutable after construction and can be shared by any number of threads
+ *
+ * @param <S>  the type of the source Java bean
+ * @param <D>  the type of the target Java bean
+ */
+public class ImmutableBeanConverter<S, D> implements Converter<S, D> {
+
+    private static final Logger logger = Logger.getLogger(ImmutableBeanConverter.class.getName());
+
+    private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+    /**
+     * passed to a builder to not call the method of the parameter
+     */
+    private static final Object NOT_SET = new Object();
+
+    private final Class<D> destClass;
+    private final Creator creator;
+    private final String[] names;
+
+    /**
+     * the getter of the source field of each parameter, or null if there is no such source field
+     */
+    private final FieldGetter<S>[] getters;
+
+    /**
+     * the argument of each parameter without a source field
+     */
+    private final Object[] missingValues;
+
+    /**
+     * the argument of each parameter whose source value is null
+     */
+    private final Object[] nullValues;
+
+    /**
+     * Construct an ImmutableBeanConverter
+     * @param srcClass  the type of the source Java bean to convert from
+     * @param destClass  the type of the target Java bean to convert to
+     * @param configuration  specifies how to get the fields of the source Java bean, null for the default;
+     *                       a null source value of a primitive parameter gets its default value unless
+     *                       the {@link NullValueStrategy} is {@link NullValueStrategy#OVERWRITE},
+     *                       and the method of a builder is not called for a null source value if it is
+     *                       {@link NullValueStrategy#SKIP}
+     * @throws NoSuchMethodException  if there is no way to create the target Java bean
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ImmutableBeanConverter(final Class<S> srcClass, final Class<D> destClass,
+            final ByFieldNameBeanConverter.Configuration configuration) throws NoSuchMethodException {
+        if (null == srcClass) {
+            throw new IllegalArgumentException("srcClass can not be null");
+        }
+        if (null == destClass) {
+            throw new IllegalArgumentException("destClass can not be null");
+        }
+        final ByFieldNameBeanConverter.Configuration conf = configuration == null ?
+                new ByFieldNameBeanConverter.Configuration() : configuration;
+        this.destClass = destClass;
+
+        final List<String> names = new ArrayList<>();
+        final List<Class<?>> types = new ArrayList<>();
+        this.creator = findCreator(srcClass, destClass, conf, names, types);
+        final boolean builder = this.creator instanceof BuilderCreator;
+
+        this.names = names.toArray(new String[names.size()]);
+        this.getters = new FieldGetter[this.names.length];
+        this.missingValues = new Object[this.names.length];
+        this.nullValues = new Object[this.names.length];
+        for (int i = 0; i < this.names.length; i += 1) {
+            final Class<?> type = types.get(i);
+            this.getters[i] = findGetter(srcClass, this.names[i], type, conf);
+            final Object defaultValue = type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+            this.missingValues[i] = builder ? NOT_SET : defaultValue;
+            if (builder && NullValueStrategy.SKIP == conf.getNullValueStrategy()) {
+                this.nullValues[i] = NOT_SET;
+            } else if (NullValueStrategy.OVERWRITE != conf.getNullValueStrategy()) {
+                this.nullValues[i] = defaultValue;
+            }
+        }
+    }
+
+    @Override
+    public D convert(final S src) {
+        if (null == src) {
+            return null;
+        }
+        final Object[] arguments = new Object[this.names.length];
+        try {
+            for (int i = 0; i < arguments.length; i += 1) {
+                final FieldGetter<S> getter = this.getters[i];
+                final Object value = null == getter ? this.missingValues[i] : getter.get(src);
+                arguments[i] = null == value ? this.nullValues[i] : value;
+            }
+            return this.destClass.cast(this.creator.create(arguments));
+        } catch (IllegalAccessException | InvocationTargetException | IllegalArgumentException ex) {
+            throw new RuntimeException("Fail to convert an instance of \"" + src.getClass().getName() +
+                    "\" to \"" + this.destClass.getName() + '\"', ex);
+        }
+    }
+
+    /**
+     *
+     * @return  the names of the source fields passed to create the target Java bean, in order
+     */
+    public String[] getParameterNames() {
+        return this.names.clone();
+    }
+
+    /**
+     * Find how to create the target Java bean, adding the names and types of its parameters
+     */
+    private static Creator findCreator(final Class<?> srcClass, final Class<?> destClass,
+            final ByFieldNameBeanConverter.Configuration conf, final List<String> names, final List<Class<?>> types)
+            throws NoSuchMethodException {
+        AccessibleObject annotated = null;
+        for (final Constructor<?> constructor : destClass.getConstructors()) {
+            if (constructor.isAnnotationPresent(BeanCreator.class)) {
+                annotated = checkUnique(annotated, constructor);
+            }
+        }
+        for (final Method method : destClass.getMethods()) {
+            if (method.isAnnotationPresent(BeanCreator.class) && Modifier.isStatic(method.getModifiers()) &&
+                    destClass.isAssignableFrom(method.getReturnType())) {
+                annotated = checkUnique(annotated, method);
+            }
+        }
+        if (annotated instanceof Constructor) {
+            final Constructor<?> constructor = (Constructor<?>) annotated;
+            addParameters(constructor.getAnnotation(BeanCreator.class).value(), constructor.getParameterTypes(),
+                    names, types, constructor);
+            return new HandleCreator(unreflect(constructor));
+        } else if (annotated instanceof Method) {
+            final Method method = (Method) annotated;
+            addParameters(method.getAnnotation(BeanCreator.class).value(), method.getParameterTypes(),
+                    names, types, method);
+            return new HandleCreator(unreflect(method));
+        }
+
+        final Constructor<?> canonical = Records.getCanonicalConstructor(destClass, names, types);
+        if (null != canonical) {
+            return new HandleCreator(unreflect(canonical));
+        }
+
+        for (final Constructor<?> constructor : destClass.getConstructors()) {
+            final ConstructorProperties properties = constructor.getAnnotation(ConstructorProperties.class);
+            if (null != properties) {
+                addParameters(properties.value(), constructor.getParameterTypes(), names, types, constructor);
+                return new HandleCreator(unreflect(constructor));
+            }
+        }
+
+        final Method builder;
+        try {
+            builder = destClass.getMethod("builder");
+        } catch (NoSuchMethodException ex) {
+            throw new NoSuchMethodException("There is no @BeanCreator, canonical record constructor, " +
+                    "@ConstructorProperties constructor or static builder() method to create " + destClass.getName());
+        }
+        if (!Modifier.isStatic(builder.getModifiers())) {
+            throw new NoSuchMethodException("The builder() method of " + destClass.getName() + " is not static");
+        }
+        final Class<?> builderClass = builder.getReturnType();
+        final Method build = builderClass.getMethod("build");
+        if (!destClass.isAssignableFrom(build.getReturnType())) {
+            throw new NoSuchMethodException("The build() method of " + builderClass.getName() +
+                    " does not return " + destClass.getName());
+        }
+        final List<Accessors.ValueSetter> setters = new ArrayList<>();
+        final BeanMetadata builderMetadata = BeanMetadata.forClass(builderClass);
+        for (final Field field : BeanMetadata.forClass(srcClass).getFields()) {
+            if ((!conf.isAllowGetTransient() && Modifier.isTransient(field.getModifiers())) ||
+                    names.contains(field.getName())) {
+                continue;
+            }
+            final Method setter = findBuilderMethod(builderMetadata, field.getName());
+            if (null != setter) {
+                names.add(field.getName());
+                types.add(setter.getParameterTypes()[0]);
+                setters.add(Accessors.setter(setter));
+            }
+        }
+        return new BuilderCreator(unreflect(builder), setters.toArray(new Accessors.ValueSetter[setters.size()]),
+                Accessors.getter(build));
+    }
+
+    /**
+     *
+     * @return  a method handle of `member` whose parameters and return type are Object
+     * @throws NoSuchMethodException  if the constructor / method is not accessible
+     */
+    private static MethodHandle unreflect(final AccessibleObject member) throws NoSuchMethodException {
+        try {
+            final MethodHandle handle = member instanceof Constructor ?
+                    lookup.unreflectConstructor((Constructor<?>) member) : lookup.unreflect((Method) member);
+            return handle.asType(handle.type().generic());
+        } catch (IllegalAccessException ex) {
+            final NoSuchMethodException exception = new NoSuchMethodException(member + " is not accessible");
+            exception.initCause(ex);
+            throw exception;
+        }
+    }
+
+    private static AccessibleObject checkUnique(final AccessibleObject found, final AccessibleObject another) {
+        if (null != found) {
+            throw new IllegalArgumentException("There are more than one @BeanCreator: " + found + " and " + another);
+        }
+        return another;
+    }
+
+    private static void addParameters(final String[] parameterNames, final Class<?>[] parameterTypes,
+            final List<String> names, final List<Class<?>> types, final Object creator) {
+        if (parameterNames.length != parameterTypes.length) {
+            throw new IllegalArgumentException("The number of the parameter names of " + creator +
+                    " does not match the number of its parameters");
+        }
+        for (int i = 0; i < parameterNames.length; i += 1) {
+            names.add(parameterNames[i]);
+            types.add(parameterTypes[i]);
+        }
+    }
+
+    /**
+     *
+     * @return  the public method of the builder named as the field, or "with" / "set" and the capitalized name,
+     *          which has one parameter, or null if there is no such method
+     */
+    private static Method findBuilderMethod(final BeanMetadata builderMetadata, final String fieldName) {
+        final String capitalized = BeanMetadata.capitalize(fieldName);
+        for (final String name : new String[] {fieldName, "with" + capitalized, "set" + capitalized}) {
+            for (final Method method : builderMetadata.getMethods(name)) {
+                if (method.getParameterTypes().length == 1 && !Modifier.isStatic(method.getModifiers())) {
+                    return method;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     *
+     * @return  the getter of the source field of the name, which can be passed as a parameter of `type`,
+     *          or null if there is no such field
+     */
+    private static <S> FieldGetter<S> findGetter(final Class<S> srcClass, final String name, final Class<?> type,
+            final ByFieldNameBeanConverter.Configuration conf) {
+        for (final Field field : BeanMetadata.forClass(srcClass).getFields(name)) {
+            if (!conf.isAllowGetTransient() && Modifier.isTransient(field.getModifiers())) {
+                continue;
+            }
+            try {
+                final FieldGetter<S> getter = new FieldGetter<>(srcClass, field, conf.getGetterConfiguration());
+                if (ObjectType.isObjectTypeAssignableFrom(type, getter.getReturnType())) {
+                    return getter;
+                }
+            } catch (NoSuchMethodException ex) {
+                logger.finer(ex.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates the target Java bean from the arguments, in one call of a constructor or a factory method,
+     * or by a builder
+     */
+    private abstract static class Creator {
+
+        /**
+         * @throws InvocationTargetException  if the constructor / method throws, or an argument can not be passed
+         */
+        abstract Object create(Object[] arguments) throws InvocationTargetException;
+    }
+
+    /**
+     * Calls a constructor or a static factory method by a method handle spreading the argument array
+     */
+    private static final class HandleCreator extends Creator {
+
+        private final MethodHandle handle;
+
+        /**
+         * @param handle  a method handle whose parameters and return type are Object
+         */
+        HandleCreator(final MethodHandle handle) {
+            this.handle = handle.asSpreader(Object[].class, handle.type().parameterCount());
+        }
+
+        @Override
+        Object create(final Object[] arguments) throws InvocationTargetException {
+            try {
+                return (Object) this.handle.invokeExact(arguments);
+            } catch (Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new InvocationTargetException(ex);
+            }
+        }
+    }
+
+    private static final class BuilderCreator extends Creator {
+
+        /**
+         * calls the static method "builder()", of type ()Object
+         */
+        private final MethodHandle builder;
+        private final Accessors.ValueSetter[] setters;
+        private final Accessors.ValueGetter build;
+
+        BuilderCreator(final MethodHandle builder, final Accessors.ValueSetter[] setters,
+                final Accessors.ValueGetter build) {
+            this.builder = builder;
+            this.setters = setters;
+            this.build = build;
+        }
+
+        @Override
+        Object create(final Object[] arguments) throws InvocationTargetException {
+            try {
+                final Object builder = (Object) this.builder.invokeExact();
+                for (int i = 0; i < arguments.length; i += 1) {
+                    if (NOT_SET != arguments[i]) {
+                        this.setters[i].set(builder, arguments[i]);
+                    }
+                }
+                return this.build.get(builder);
+            } catch (InvocationTargetException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new InvocationTargetException(ex);
+            }
+        }
+    }
+
+    /**
+     * Reads the components of a record by reflection, as this library is compiled for Java 7
+     */
+    private static final class Records {
+
+        private static final Method IS_RECORD;
+        private static final Method GET_RECORD_COMPONENTS;
+        private static final Method GET_NAME;
+        private static final Method GET_TYPE;
+
+        static {
+            Method isRecord = null;
+            Method getRecordComponents = null;
+            Method getName = null;
+            Method getType = null;
+            try {
+                isRecord = Class.class.getMethod("isRecord");
+                getRecordComponents = Class.class.getMethod("getRecordComponents");
+                final Class<?> recordComponent = Class.forName("java.lang.reflect.RecordComponent");
+                getName = recordComponent.getMethod("getName");
+                getType = recordComponent.getMethod("getType");
+            } catch (ClassNotFoundException | NoSuchMethodException ex) {
+                isRecord = null;
+            }
+            IS_RECORD = isRecord;
+            GET_RECORD_COMPONENTS = getRecordComponents;
+            GET_NAME = getName;
+            GET_TYPE = getType;
+        }
+
+        /**
+         * Get the canonical constructor if `clazz` is a record, adding the names and types of its components
+         * @return  the canonical constructor, or null if `clazz` is not a record
+         */
+        static Constructor<?> getCanonicalConstructor(final Class<?> clazz, final List<String> names,
+                final List<Class<?>> types) throws NoSuchMethodException {
+            if (null == IS_RECORD) {
+                return null;
+            }
+            try {
+                if (!(Boolean) IS_RECORD.invoke(clazz)) {
+                    return null;
+                }
+                final Object[] components = (Object[]) GET_RECORD_COMPONENTS.invoke(clazz);
+                final Class<?>[] parameterTypes = new Class<?>[components.length];
+                for (int i = 0; i < components.length; i += 1) {
+                    parameterTypes[i] = (Class<?>) GET_TYPE.invoke(components[i]);
+                    names.add((String) GET_NAME.invoke(components[i]));
+                    types.add(parameterTypes[i]);
+                }
+                return clazz.getConstructor(parameterTypes);
+            } catch (IllegalAccessException ex) {
+                throw new IllegalStateException(ex);
+            } catch (InvocationTargetException ex) {
+                throw new IllegalStateException(ex.getCause());
+            }
+        }
+    }
+}
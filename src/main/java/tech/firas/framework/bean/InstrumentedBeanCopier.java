@@ -0,0 +1,64 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Records the time of each conversion (creating the target Java bean and copying the fields)
+ * and of each copy into an existing target into {@link ConverterMetrics},
+ * only used by an instrumented converter so that a converter that is not instrumented pays nothing
+ */
+final class InstrumentedBeanCopier<S, D> extends BeanCopier<S, D> {
+
+    private final BeanCopier<S, D> delegate;
+    private final ConverterMetrics metrics;
+
+    InstrumentedBeanCopier(final BeanCopier<S, D> delegate, final ConverterMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    ConverterMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    @Override
+    public D newInstance() throws InstantiationException, IllegalAccessException, InvocationTargetException {
+        return this.delegate.newInstance();
+    }
+
+    @Override
+    public D convert(final S src) throws InstantiationException, IllegalAccessException,
+            InvocationTargetException {
+        final long start = System.nanoTime();
+        try {
+            return this.delegate.convert(src);
+        } finally {
+            this.metrics.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+        final long start = System.nanoTime();
+        try {
+            this.delegate.copy(src, dest);
+        } finally {
+            this.metrics.record(System.nanoTime() - start);
+        }
+    }
+}
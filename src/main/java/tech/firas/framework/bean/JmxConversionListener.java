@@ -0,0 +1,87 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.lang.management.ManagementFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+/**
+ * Registers the metrics of each instrumented converter as an MXBean named
+ * "tech.firas.framework.bean:type=ConverterMetrics,source=...,target=..."
+ *
+ * There is one MXBean for each pair of types: the metrics of a converter replace the metrics of
+ * the previous converter of the same pair, so that rebuilding converters does not leak MXBeans
+ */
+public class JmxConversionListener implements ConversionListener {
+
+    private static final Logger logger = Logger.getLogger(JmxConversionListener.class.getName());
+
+    /**
+     * makes unregistering the previous metrics and registering the new metrics of a pair of types atomic
+     */
+    private static final Object lock = new Object();
+
+    private final MBeanServer server;
+
+    /**
+     * Register to the platform MBean server
+     */
+    public JmxConversionListener() {
+        this(ManagementFactory.getPlatformMBeanServer());
+    }
+
+    public JmxConversionListener(final MBeanServer server) {
+        if (null == server) {
+            throw new IllegalArgumentException("server can not be null");
+        }
+        this.server = server;
+    }
+
+    @Override
+    public void converterCreated(final ConverterMetrics metrics) {
+        try {
+            final ObjectName name = getObjectName(metrics.getSourceType(), metrics.getTargetType());
+            synchronized (lock) {
+                if (this.server.isRegistered(name)) {
+                    this.server.unregisterMBean(name);
+                }
+                this.server.registerMBean(metrics, name);
+            }
+        } catch (JMException ex) {
+            logger.log(Level.WARNING, "Fail to register the metrics of the converter from " +
+                    metrics.getSourceType() + " to " + metrics.getTargetType(), ex);
+        }
+    }
+
+    /**
+     *
+     * @param sourceType  the name of the type of the source Java bean
+     * @param targetType  the name of the type of the target Java bean
+     * @return  the name of the MXBean of the metrics of the converters from `sourceType` to `targetType`
+     * @throws MalformedObjectNameException  never for valid class names
+     */
+    public static ObjectName getObjectName(final String sourceType, final String targetType)
+            throws MalformedObjectNameException {
+        return new ObjectName("tech.firas.framework.bean:type=ConverterMetrics" +
+                ",source=" + ObjectName.quote(sourceType) + ",target=" + ObjectName.quote(targetType));
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds the copier of a lazy converter on the first use, by double-checked locking,
+ * the built copier is published by a volatile field
+ *
+ * The configuration is copied at construction, so changing the caller's configuration
+ * before the first use does not change the converter
+ */
+final class LazyBeanCopier<S, D> extends BeanCopier<S, D> {
+
+    private final ByFieldNameBeanConverter<S, D> converter;
+    private final Class<S> srcClass;
+    private final ByFieldNameBeanConverter.Configuration configuration;
+    private volatile BeanCopier<S, D> delegate;
+
+    LazyBeanCopier(final ByFieldNameBeanConverter<S, D> converter, final Class<S> srcClass,
+            final ByFieldNameBeanConverter.Configuration configuration) {
+        this.converter = converter;
+        this.srcClass = srcClass;
+        this.configuration = new ByFieldNameBeanConverter.Configuration(configuration);
+    }
+
+    /**
+     *
+     * @return  the built copier, building it if it is not built yet
+     */
+    BeanCopier<S, D> get() {
+        BeanCopier<S, D> copier = this.delegate;
+        if (null == copier) {
+            synchronized (this) {
+                copier = this.delegate;
+                if (null == copier) {
+                    copier = this.converter.buildCopier(this.srcClass, this.configuration,
+                            new HashMap<Map.Entry<Class<?>, Class<?>>, ByFieldNameBeanConverter<?, ?>>());
+                    this.delegate = copier;
+                }
+            }
+        }
+        return copier;
+    }
+
+    /**
+     *
+     * @return  the built copier, or null if it is not built yet
+     */
+    BeanCopier<S, D> getIfBuilt() {
+        return this.delegate;
+    }
+
+    @Override
+    public D newInstance() throws InstantiationException, IllegalAccessException, InvocationTargetException {
+        return get().newInstance();
+    }
+
+    @Override
+    public void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+        get().copy(src, dest);
+    }
+
+    @Override
+    public D convert(final S src) throws InstantiationException, IllegalAccessException,
+            InvocationTargetException {
+        return get().convert(src);
+    }
+}
@@ -0,0 +1,358 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.springframework.core.convert.converter.Converter;
+
+/**
+ * Converts a map from the field names to the field values (e.g. from JSON or a cache) to a Java bean
+ *
+ * The fields are discovered by {@link FieldSetter} as {@link ByFieldNameBeanConverter} does, once in the constructor.
+ * A field whose name is not in the map is left as it is; a null value of a primitive field is skipped.
+ *
+ * A number is set to a primitive field by the typed setters without boxing again, and,
+ * if {@link ByFieldNameBeanConverter.Configuration#isAllowPrimitiveWidening()} /
+ * {@link ByFieldNameBeanConverter.Configuration#isAllowPrimitiveNarrowing()},
+ * a number of another type (e.g. an Integer from JSON for a long field) is converted to the type of the field
+ *
+ * The setting strategy of each field is chosen once in the constructor by the type of the field and the
+ * configuration, so a conversion only checks the type of each value against it
+ *
+ * A converter is immutable after construction and can be shared by any number of threads
+ *
+ * @param <D>  the type of the target Java bean
+ */
+public class MapToBeanConverter<D> implements Converter<Map<String, ?>, D> {
+
+    private static final Logger logger = Logger.getLogger(MapToBeanConverter.class.getName());
+
+    private final Constructor<D> constructor;
+    private final String[] names;
+
+    /**
+     * the strategy of each field, chosen once by the type of the field
+     */
+    private final ValueSetter<D>[] setters;
+
+    /**
+     * Construct a MapToBeanConverter
+     * @param destClass  the type of the target Java bean to convert to
+     * @param configuration  specifies how to set the fields of the Java bean, null for the default
+     * @throws NoSuchMethodException  if the target Java bean has no accessible default constructor
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public MapToBeanConverter(final Class<D> destClass, final ByFieldNameBeanConverter.Configuration configuration)
+            throws NoSuchMethodException {
+        if (null == destClass) {
+            throw new IllegalArgumentException("destClass can not be null");
+        }
+        final ByFieldNameBeanConverter.Configuration conf = configuration == null ?
+                new ByFieldNameBeanConverter.Configuration() : configuration;
+        try {
+            this.constructor = destClass.getConstructor();
+            if (!conf.isLazy()) {
+                this.constructor.newInstance();
+            }
+        } catch (NoSuchMethodException | InstantiationException | IllegalAccessException | InvocationTargetException ex) {
+            logger.log(Level.SEVERE, "Fail to access default constructor", ex);
+            throw new NoSuchMethodException("There is no accessible default constructor (no parameter) for " +
+                    destClass.getName());
+        }
+
+        final List<String> names = new ArrayList<>();
+        final List<FieldSetter<D>> setters = new ArrayList<>();
+        final Set<String> found = new HashSet<>();
+        for (final Field field : BeanMetadata.forClass(destClass).getFields()) {
+            if ((!conf.isAllowSetTransient() && Modifier.isTransient(field.getModifiers())) ||
+                    found.contains(field.getName())) {
+                continue;
+            }
+            try {
+                setters.add(new FieldSetter<>(destClass, field, conf.getSetterConfiguration()));
+                names.add(field.getName());
+                found.add(field.getName());
+            } catch (NoSuchMethodException ex) {
+                logger.finer(ex.getMessage());
+            }
+        }
+        this.names = names.toArray(new String[names.size()]);
+        this.setters = new ValueSetter[setters.size()];
+        for (int i = 0; i < this.setters.length; i += 1) {
+            this.setters[i] = ValueSetter.of(setters.get(i), conf.isAllowPrimitiveWidening(),
+                    conf.isAllowPrimitiveNarrowing());
+        }
+    }
+
+    @Override
+    public D convert(final Map<String, ?> src) {
+        if (null == src) {
+            return null;
+        }
+        final D dest;
+        try {
+            dest = this.constructor.newInstance(ReflectiveBeanCopier.NO_ARGUMENTS);
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException ex) {
+            throw new RuntimeException("Fail to create an instance of \"" +
+                    this.constructor.getDeclaringClass().getName() + '\"', ex);
+        }
+        return convertInto(src, dest);
+    }
+
+    /**
+     * Set the fields of `dest` whose names are in `src`
+     * @param src  the map of the field values, nothing is set if it is null
+     * @param dest  the target Java bean to set
+     * @return  `dest`
+     */
+    public D convertInto(final Map<String, ?> src, final D dest) {
+        if (null == dest) {
+            throw new IllegalArgumentException("dest can not be null");
+        }
+        if (null == src) {
+            return dest;
+        }
+        int i = 0;
+        try {
+            for (; i < this.setters.length; i += 1) {
+                final Object value = src.get(this.names[i]);
+                if (null == value) {
+                    if (this.setters[i].primitive || !src.containsKey(this.names[i])) {
+                        continue;
+                    }
+                    this.setters[i].setter.set(dest, null);
+                } else {
+                    this.setters[i].set(dest, value);
+                }
+            }
+        } catch (IllegalAccessException | InvocationTargetException | IllegalArgumentException |
+                ClassCastException ex) {
+            throw new RuntimeException("Fail to set the field \"" + this.names[i] + "\" of \"" +
+                    this.constructor.getDeclaringClass().getName() + "\" from the map", ex);
+        }
+        return dest;
+    }
+
+    /**
+     *
+     * @return  the names of the fields that can be set, in order
+     */
+    public String[] getFieldNames() {
+        return this.names.clone();
+    }
+
+    /**
+     * Sets a non-null map value to a field, the strategy is chosen once by the type of the field
+     */
+    private abstract static class ValueSetter<D> {
+
+        /**
+         * the wrapper types of the primitive numbers
+         */
+        static final Set<Class<?>> NUMBER_TYPES = new HashSet<Class<?>>(Arrays.<Class<?>>asList(
+                Byte.class, Short.class, Integer.class, Long.class, Float.class, Double.class));
+
+        final FieldSetter<D> setter;
+        final boolean primitive;
+
+        ValueSetter(final FieldSetter<D> setter) {
+            this.setter = setter;
+            this.primitive = setter.getParameterType().isPrimitive();
+        }
+
+        static <D> ValueSetter<D> of(final FieldSetter<D> setter, final boolean allowWidening,
+                final boolean allowNarrowing) {
+            final Class<?> type = setter.getParameterType();
+            if (!FieldCopier.isNumeric(type)) {
+                return new ObjectSetter<>(setter);
+            }
+            // the wrapper types of the numbers converted to the field type, any other number if narrowing
+            final Set<Class<?>> convertible = new HashSet<>();
+            for (final Class<?> numberType : NUMBER_TYPES) {
+                final Class<?> primitiveType = ObjectType.getPrimitiveType(numberType);
+                if (FieldCopier.isWidening(primitiveType, type) ? allowWidening :
+                        allowNarrowing && !type.equals(primitiveType)) {
+                    convertible.add(numberType);
+                }
+            }
+            final boolean otherNumbers = allowNarrowing;
+            if (byte.class.equals(type)) {
+                return new ByteSetter<>(setter, convertible, otherNumbers);
+            } else if (short.class.equals(type)) {
+                return new ShortSetter<>(setter, convertible, otherNumbers);
+            } else if (char.class.equals(type)) {
+                return new CharSetter<>(setter, convertible, otherNumbers);
+            } else if (int.class.equals(type)) {
+                return new IntSetter<>(setter, convertible, otherNumbers);
+            } else if (long.class.equals(type)) {
+                return new LongSetter<>(setter, convertible, otherNumbers);
+            } else if (float.class.equals(type)) {
+                return new FloatSetter<>(setter, convertible, otherNumbers);
+            }
+            return new DoubleSetter<>(setter, convertible, otherNumbers);
+        }
+
+        abstract void set(D dest, Object value) throws IllegalAccessException, InvocationTargetException;
+    }
+
+    private static final class ObjectSetter<D> extends ValueSetter<D> {
+
+        ObjectSetter(final FieldSetter<D> setter) {
+            super(setter);
+        }
+
+        @Override
+        void set(final D dest, final Object value) throws IllegalAccessException, InvocationTargetException {
+            this.setter.set(dest, value);
+        }
+    }
+
+    /**
+     * Sets a number to a primitive number (or char) field by the typed setter without boxing again,
+     * if it is of the wrapper type of the field or it can be converted by the configuration,
+     * or else lets the setter reject it
+     */
+    private abstract static class NumberSetter<D> extends ValueSetter<D> {
+
+        private final Class<?> wrapperType;
+
+        /**
+         * the wrapper types of the primitive numbers allowed to be converted to the type of the field
+         */
+        private final Set<Class<?>> convertible;
+
+        /**
+         * whether a number that is not of a wrapper type (e.g. a BigDecimal) is converted
+         */
+        private final boolean otherNumbers;
+
+        NumberSetter(final FieldSetter<D> setter, final Set<Class<?>> convertible, final boolean otherNumbers) {
+            super(setter);
+            this.wrapperType = ObjectType.getObjectType(setter.getParameterType());
+            this.convertible = convertible;
+            this.otherNumbers = otherNumbers;
+        }
+
+        @Override
+        final void set(final D dest, final Object value) throws IllegalAccessException, InvocationTargetException {
+            final Class<?> valueType = value.getClass();
+            if (value instanceof Number && (valueType == this.wrapperType || this.convertible.contains(valueType) ||
+                    (this.otherNumbers && !NUMBER_TYPES.contains(valueType)))) {
+                setNumber(dest, (Number) value);
+            } else {
+                this.setter.set(dest, value);
+            }
+        }
+
+        abstract void setNumber(D dest, Number number) throws IllegalAccessException, InvocationTargetException;
+    }
+
+    private static final class ByteSetter<D> extends NumberSetter<D> {
+
+        ByteSetter(final FieldSetter<D> setter, final Set<Class<?>> convertible, final boolean otherNumbers) {
+            super(setter, convertible, otherNumbers);
+        }
+
+        @Override
+        void setNumber(final D dest, final Number number) throws IllegalAccessException, InvocationTargetException {
+            this.setter.setByte(dest, number.byteValue());
+        }
+    }
+
+    private static final class ShortSetter<D> extends NumberSetter<D> {
+
+        ShortSetter(final FieldSetter<D> setter, final Set<Class<?>> convertible, final boolean otherNumbers) {
+            super(setter, convertible, otherNumbers);
+        }
+
+        @Override
+        void setNumber(final D dest, final Number number) throws IllegalAccessException, InvocationTargetException {
+            this.setter.setShort(dest, number.shortValue());
+        }
+    }
+
+    private static final class CharSetter<D> extends NumberSetter<D> {
+
+        CharSetter(final FieldSetter<D> setter, final Set<Class<?>> convertible, final boolean otherNumbers) {
+            super(setter, convertible, otherNumbers);
+        }
+
+        @Override
+        void setNumber(final D dest, final Number number) throws IllegalAccessException, InvocationTargetException {
+            this.setter.setChar(dest, (char) number.intValue());
+        }
+    }
+
+    private static final class IntSetter<D> extends NumberSetter<D> {
+
+        IntSetter(final FieldSetter<D> setter, final Set<Class<?>> convertible, final boolean otherNumbers) {
+            super(setter, convertible, otherNumbers);
+        }
+
+        @Override
+        void setNumber(final D dest, final Number number) throws IllegalAccessException, InvocationTargetException {
+            this.setter.setInt(dest, number.intValue());
+        }
+    }
+
+    private static final class LongSetter<D> extends NumberSetter<D> {
+
+        LongSetter(final FieldSetter<D> setter, final Set<Class<?>> convertible, final boolean otherNumbers) {
+            super(setter, convertible, otherNumbers);
+        }
+
+        @Override
+        void setNumber(final D dest, final Number number) throws IllegalAccessException, InvocationTargetException {
+            this.setter.setLong(dest, number.longValue());
+        }
+    }
+
+    private static final class FloatSetter<D> extends NumberSetter<D> {
+
+        FloatSetter(final FieldSetter<D> setter, final Set<Class<?>> convertible, final boolean otherNumbers) {
+            super(setter, convertible, otherNumbers);
+        }
+
+        @Override
+        void setNumber(final D dest, final Number number) throws IllegalAccessException, InvocationTargetException {
+            this.setter.setFloat(dest, number.floatValue());
+        }
+    }
+
+    private static final class DoubleSetter<D> extends NumberSetter<D> {
+
+        DoubleSetter(final FieldSetter<D> setter, final Set<Class<?>> convertible, final boolean otherNumbers) {
+            super(setter, convertible, otherNumbers);
+        }
+
+        @Override
+        void setNumber(final D dest, final Number number) throws IllegalAccessException, InvocationTargetException {
+            this.setter.setDouble(dest, number.doubleValue());
+        }
+    }
+}
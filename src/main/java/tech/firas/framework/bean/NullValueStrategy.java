@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+/**
+ * How {@link ByFieldNameBeanConverter} copies a null source value
+ *
+ * The strategy is applied when the mapping is built: only the fields whose source values can be null
+ * are copied by a null-aware copier, so the other fields pay nothing
+ *
+ * @see ByFieldNameBeanConverter.Configuration#setNullValueStrategy(NullValueStrategy)
+ */
+public enum NullValueStrategy {
+
+    /**
+     * copy the null value as any other value, the default;
+     * copying it to a primitive target field fails
+     */
+    OVERWRITE,
+
+    /**
+     * leave the target field as it is, e.g. for a partial update (PATCH)
+     */
+    SKIP,
+
+    /**
+     * set a primitive target field to its default value (0 or false),
+     * and copy the null value to any other target field
+     */
+    DEFAULT_PRIMITIVE
+}
@@ -47,6 +47,34 @@ public final class ObjectType {
         }
     }
 
+    /**
+     *
+     * @param clazz a type
+     * @return the primitive type if clazz is a boxed object type,
+     *          or else null
+     */
+    public static Class<?> getPrimitiveType(final Class<?> clazz) {
+        if (Integer.class.equals(clazz)) {
+            return int.class;
+        } else if (Boolean.class.equals(clazz)) {
+            return boolean.class;
+        } else if (Long.class.equals(clazz)) {
+            return long.class;
+        } else if (Double.class.equals(clazz)) {
+            return double.class;
+        } else if (Float.class.equals(clazz)) {
+            return float.class;
+        } else if (Short.class.equals(clazz)) {
+            return short.class;
+        } else if (Byte.class.equals(clazz)) {
+            return byte.class;
+        } else if (Character.class.equals(clazz)) {
+            return char.class;
+        } else {
+            return null;
+        }
+    }
+
     public static boolean isObjectTypeAssignableFrom(final Class<?> base, final Class<?> derived) {
         return getObjectType(base).isAssignableFrom(getObjectType(derived));
     }
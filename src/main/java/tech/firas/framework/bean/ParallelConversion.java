@@ -0,0 +1,95 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.logging.Logger;
+
+/**
+ * Splits an array of Java beans across a {@link ForkJoinPool} and converts the parts in parallel
+ */
+final class ParallelConversion {
+
+    private static final Logger logger = Logger.getLogger(ParallelConversion.class.getName());
+
+    /**
+     * the default number of elements converted sequentially in one task
+     */
+    static final int DEFAULT_THRESHOLD = 1024;
+
+    private ParallelConversion() {}
+
+    /**
+     * Convert `src` into `result` in `pool`
+     * @param pool  the pool to run the conversion, null for the default pool
+     */
+    static <S, D> void convert(final ByFieldNameBeanConverter<S, D> converter, final S[] src, final D[] result,
+            final ForkJoinPool pool, final int threshold) {
+        final ForkJoinPool forkJoinPool = pool == null ? DefaultPool.pool : pool;
+        forkJoinPool.invoke(new ConvertTask<>(converter, src, result, 0, src.length, threshold));
+    }
+
+    /**
+     * The common pool on Java 8+, or a pool shared by this library on Java 7
+     */
+    private static final class DefaultPool {
+
+        private static final ForkJoinPool pool = findPool();
+
+        private static ForkJoinPool findPool() {
+            try {
+                return (ForkJoinPool) ForkJoinPool.class.getMethod("commonPool").invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException ex) {
+                logger.fine("ForkJoinPool.commonPool is not available, creating a shared pool");
+                return new ForkJoinPool();
+            }
+        }
+    }
+
+    private static final class ConvertTask<S, D> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ByFieldNameBeanConverter<S, D> converter;
+        private final S[] src;
+        private final D[] result;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        ConvertTask(final ByFieldNameBeanConverter<S, D> converter, final S[] src, final D[] result,
+                final int from, final int to, final int threshold) {
+            this.converter = converter;
+            this.src = src;
+            this.result = result;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.to - this.from <= this.threshold) {
+                this.converter.convertRange(this.src, this.result, this.from, this.to);
+            } else {
+                final int middle = (this.from + this.to) >>> 1;
+                invokeAll(new ConvertTask<>(this.converter, this.src, this.result, this.from, middle, this.threshold),
+                        new ConvertTask<>(this.converter, this.src, this.result, middle, this.to, this.threshold));
+            }
+        }
+    }
+}
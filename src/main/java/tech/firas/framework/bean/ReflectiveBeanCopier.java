@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+
+/**
+ * Copies the fields through {@link FieldCopier}s, i.e. through {@link FieldGetter} and {@link FieldSetter}
+ */
+final class ReflectiveBeanCopier<S, D> extends BeanCopier<S, D> {
+
+    /**
+     * passed to the default constructor instead of allocating an empty varargs array on each call
+     */
+    static final Object[] NO_ARGUMENTS = new Object[0];
+
+    private final Constructor<D> constructor;
+    private final FieldCopier<S, D>[] copiers;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    ReflectiveBeanCopier(final Constructor<D> constructor, final List<FieldCopier<S, D>> copiers) {
+        this.constructor = constructor;
+        this.copiers = copiers.toArray(new FieldCopier[copiers.size()]);
+    }
+
+    @Override
+    public D newInstance() throws InstantiationException, IllegalAccessException, InvocationTargetException {
+        return this.constructor.newInstance(NO_ARGUMENTS);
+    }
+
+    @Override
+    public void copy(final S src, final D dest) throws IllegalAccessException, InvocationTargetException {
+        for (final FieldCopier<S, D> copier : this.copiers) {
+            copier.copy(src, dest);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Date;
+
+/**
+ * Commonly used {@link FieldValueConverter}s
+ *
+ * The conversions between {@link Date} and `java.time.Instant` are only supported on Java 8 or later
+ */
+public enum StandardFieldValueConverter implements FieldValueConverter {
+
+    /**
+     * converts an enum constant to its name
+     */
+    ENUM_TO_STRING {
+        @Override
+        public boolean supports(final Class<?> srcType, final Class<?> destType) {
+            return srcType.isEnum() && destType.isAssignableFrom(String.class);
+        }
+
+        @Override
+        public Object convert(final Object value, final Class<?> destType) {
+            return ((Enum<?>) value).name();
+        }
+    },
+
+    /**
+     * converts a name to the enum constant of the name
+     */
+    STRING_TO_ENUM {
+        @Override
+        public boolean supports(final Class<?> srcType, final Class<?> destType) {
+            return String.class.equals(srcType) && destType.isEnum();
+        }
+
+        @Override
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public Object convert(final Object value, final Class<?> destType) {
+            return Enum.valueOf((Class) destType, (String) value);
+        }
+    },
+
+    /**
+     * converts a number (e.g. a {@link BigDecimal}) to a primitive number or its boxed type,
+     * by the `xxxValue()` methods of {@link Number}
+     */
+    NUMBER_TO_PRIMITIVE {
+        @Override
+        public boolean supports(final Class<?> srcType, final Class<?> destType) {
+            return Number.class.isAssignableFrom(ObjectType.getObjectType(srcType)) &&
+                    null != primitiveNumber(destType);
+        }
+
+        @Override
+        public Object convert(final Object value, final Class<?> destType) {
+            final Number number = (Number) value;
+            final Class<?> type = primitiveNumber(destType);
+            if (int.class.equals(type)) {
+                return number.intValue();
+            } else if (long.class.equals(type)) {
+                return number.longValue();
+            } else if (double.class.equals(type)) {
+                return number.doubleValue();
+            } else if (float.class.equals(type)) {
+                return number.floatValue();
+            } else if (short.class.equals(type)) {
+                return number.shortValue();
+            } else {
+                return number.byteValue();
+            }
+        }
+    },
+
+    /**
+     * converts a primitive number or its boxed type to a {@link BigDecimal}
+     */
+    NUMBER_TO_BIG_DECIMAL {
+        @Override
+        public boolean supports(final Class<?> srcType, final Class<?> destType) {
+            return BigDecimal.class.equals(destType) && (null != primitiveNumber(srcType) ||
+                    BigInteger.class.equals(srcType));
+        }
+
+        @Override
+        public Object convert(final Object value, final Class<?> destType) {
+            if (value instanceof BigInteger) {
+                return new BigDecimal((BigInteger) value);
+            } else if (value instanceof Double || value instanceof Float) {
+                return BigDecimal.valueOf(((Number) value).doubleValue());
+            }
+            return BigDecimal.valueOf(((Number) value).longValue());
+        }
+    },
+
+    /**
+     * converts a {@link Date} (including `java.sql.Date` and `java.sql.Time`,
+     * whose `toInstant()` is not supported) to a `java.time.Instant` by its milliseconds
+     */
+    DATE_TO_INSTANT {
+        @Override
+        public boolean supports(final Class<?> srcType, final Class<?> destType) {
+            return Date.class.isAssignableFrom(srcType) && null != Java8.INSTANT &&
+                    destType.isAssignableFrom(Java8.INSTANT);
+        }
+
+        @Override
+        public Object convert(final Object value, final Class<?> destType) {
+            return Java8.invoke(Java8.TO_INSTANT, value);
+        }
+    },
+
+    /**
+     * converts a `java.time.Instant` to a {@link Date}
+     */
+    INSTANT_TO_DATE {
+        @Override
+        public boolean supports(final Class<?> srcType, final Class<?> destType) {
+            return null != Java8.INSTANT && Java8.INSTANT.equals(srcType) && Date.class.equals(destType);
+        }
+
+        @Override
+        public Object convert(final Object value, final Class<?> destType) {
+            return Java8.invoke(Java8.FROM_INSTANT, value);
+        }
+    };
+
+    /**
+     *
+     * @return  the primitive type of `type` if it is a primitive number (except char) or its boxed type,
+     *          or else null
+     */
+    private static Class<?> primitiveNumber(final Class<?> type) {
+        final Class<?> objectType = ObjectType.getObjectType(type);
+        if (Integer.class.equals(objectType)) {
+            return int.class;
+        } else if (Long.class.equals(objectType)) {
+            return long.class;
+        } else if (Double.class.equals(objectType)) {
+            return double.class;
+        } else if (Float.class.equals(objectType)) {
+            return float.class;
+        } else if (Short.class.equals(objectType)) {
+            return short.class;
+        } else if (Byte.class.equals(objectType)) {
+            return byte.class;
+        }
+        return null;
+    }
+
+    /**
+     * The `java.time` API looked up reflectively, all null before Java 8
+     *
+     * The methods are bound once as method handles of type (Object)Object,
+     * so that a conversion calls them by `invokeExact` without an argument array
+     */
+    private static final class Java8 {
+
+        static final Class<?> INSTANT;
+
+        /**
+         * `Instant.ofEpochMilli(date.getTime())`
+         */
+        static final MethodHandle TO_INSTANT;
+
+        /**
+         * `Date.from(Instant)`
+         */
+        static final MethodHandle FROM_INSTANT;
+
+        static {
+            final MethodHandles.Lookup lookup = MethodHandles.lookup();
+            final MethodType type = MethodType.methodType(Object.class, Object.class);
+            Class<?> instant = null;
+            MethodHandle toInstant = null;
+            MethodHandle fromInstant = null;
+            try {
+                instant = Class.forName("java.time.Instant");
+                toInstant = MethodHandles.filterReturnValue(
+                        lookup.findVirtual(Date.class, "getTime", MethodType.methodType(long.class)),
+                        lookup.findStatic(instant, "ofEpochMilli", MethodType.methodType(instant, long.class)))
+                        .asType(type);
+                fromInstant = lookup.findStatic(Date.class, "from", MethodType.methodType(Date.class, instant))
+                        .asType(type);
+            } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException ex) {
+                instant = null;
+            }
+            INSTANT = instant;
+            TO_INSTANT = toInstant;
+            FROM_INSTANT = fromInstant;
+        }
+
+        static Object invoke(final MethodHandle handle, final Object argument) {
+            try {
+                return (Object) handle.invokeExact(argument);
+            } catch (Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new IllegalArgumentException(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter striped across cache lines by thread, similar to `java.util.concurrent.atomic.LongAdder`
+ * (which is not available on Java 7), so that threads updating it concurrently rarely contend
+ *
+ * It can hold several counters (slots) per stripe, e.g. the buckets of a histogram
+ */
+final class StripedCounter {
+
+    /**
+     * 8 longs, i.e. a 64-byte cache line, between the first slots of 2 stripes
+     */
+    private static final int PADDING = 8;
+
+    private final AtomicLongArray cells;
+    private final int stripeMask;
+    private final int stripeSize;
+    private final int slots;
+
+    /**
+     * @param slots  the number of counters
+     */
+    StripedCounter(final int slots) {
+        int stripes = 1;
+        while (stripes < Runtime.getRuntime().availableProcessors() * 2) {
+            stripes <<= 1;
+        }
+        this.slots = slots;
+        this.stripeMask = stripes - 1;
+        this.stripeSize = (slots + PADDING - 1) / PADDING * PADDING;
+        this.cells = new AtomicLongArray(stripes * this.stripeSize);
+    }
+
+    void add(final int slot, final long delta) {
+        final int stripe = (int) Thread.currentThread().getId() & this.stripeMask;
+        this.cells.addAndGet(stripe * this.stripeSize + slot, delta);
+    }
+
+    /**
+     *
+     * @return  the sum of the counter of `slot` in all stripes
+     */
+    long sum(final int slot) {
+        long sum = 0;
+        for (int i = slot; i < this.cells.length(); i += this.stripeSize) {
+            sum += this.cells.get(i);
+        }
+        return sum;
+    }
+
+    int getSlots() {
+        return this.slots;
+    }
+}
@@ -0,0 +1,462 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Converts a field value whose type is not assignable to the target field,
+ * by a {@link FieldValueConverter} or, in deep conversion mode, by a nested converter
+ *
+ * The value converters of a converter are resolved once when the converter is built,
+ * so converting does not look up anything
+ */
+abstract class ValueConverter {
+
+    /**
+     * the value is copied as is
+     */
+    static final ValueConverter IDENTITY = new ValueConverter() {
+        @Override
+        Object convert(final Object value) {
+            return value;
+        }
+    };
+
+    /**
+     *
+     * @param value  the value got from the source Java bean
+     * @return  the value to set to the target Java bean
+     */
+    abstract Object convert(Object value);
+
+    /**
+     * Check whether a value converted before, e.g. the current value of the target field, equals what `value`
+     * converts to, without converting it if possible, so that {@link ByFieldNameBeanConverter#copyChanged}
+     * does not rely on the `equals` of the nested Java beans
+     * @param value  the value got from the source Java bean
+     * @param current  the value to compare with
+     * @return  whether `value` converts to a value equal to `current`
+     */
+    boolean matches(final Object value, final Object current) {
+        return Objects.equals(convert(value), current);
+    }
+
+    /**
+     * Resolve how to convert a value of `srcType` to `destType`
+     * @param graph  the converters of the Java bean types already built for the root converter,
+     *               so that each pair of types is built once and cyclic references end
+     * @return  {@link #IDENTITY} if the value can be copied as is, or null if it can not be converted
+     */
+    static ValueConverter resolve(final Type srcType, final Type destType,
+            final ByFieldNameBeanConverter.Configuration configuration,
+            final Map<Map.Entry<Class<?>, Class<?>>, ByFieldNameBeanConverter<?, ?>> graph) {
+        final Class<?> srcClass = ObjectType.getObjectType(rawType(srcType));
+        final Class<?> destClass = ObjectType.getObjectType(rawType(destType));
+
+        if (srcClass.isArray() && destClass.isArray()) {
+            if (srcClass.getComponentType().isPrimitive() || destClass.getComponentType().isPrimitive()) {
+                return destClass.isAssignableFrom(srcClass) ? IDENTITY : null;
+            }
+            final ValueConverter element = resolve(componentType(srcType), componentType(destType),
+                    configuration, graph);
+            if (element == null || element == IDENTITY) {
+                // reference arrays are covariant
+                return element;
+            }
+            return new ArrayConverter(element, destClass.getComponentType());
+        }
+
+        if (Collection.class.isAssignableFrom(srcClass) && Collection.class.isAssignableFrom(destClass)) {
+            final ValueConverter element = resolve(elementType(srcType), elementType(destType),
+                    configuration, graph);
+            if (element == null || (element == IDENTITY && destClass.isAssignableFrom(srcClass))) {
+                return element;
+            }
+            final Constructor<?> constructor = collectionConstructor(destClass);
+            return constructor == null ? null : new CollectionConverter(element, constructor);
+        }
+
+        if (Map.class.isAssignableFrom(srcClass) && Map.class.isAssignableFrom(destClass)) {
+            final ValueConverter key = resolve(typeArgument(srcType, 0), typeArgument(destType, 0),
+                    configuration, graph);
+            if (key == null) {
+                return null;
+            }
+            final ValueConverter value = resolve(typeArgument(srcType, 1), typeArgument(destType, 1),
+                    configuration, graph);
+            if (value == null ||
+                    (key == IDENTITY && value == IDENTITY && destClass.isAssignableFrom(srcClass))) {
+                return value;
+            }
+            final Class<?> implementation = mapImplementation(destClass);
+            if (implementation == null) {
+                return null;
+            }
+            try {
+                return new MapConverter(key, value, implementation.getConstructor(int.class), true);
+            } catch (NoSuchMethodException ex) {
+                // e.g. a TreeMap, which can not be presized
+            }
+            try {
+                return new MapConverter(key, value, implementation.getConstructor(), false);
+            } catch (NoSuchMethodException ex) {
+                return null;
+            }
+        }
+
+        if (destClass.isAssignableFrom(srcClass)) {
+            return IDENTITY;
+        }
+        if (isBean(srcClass) && isBean(destClass) && !Modifier.isAbstract(destClass.getModifiers())) {
+            final Map.Entry<Class<?>, Class<?>> key = new AbstractMap.SimpleImmutableEntry<Class<?>, Class<?>>(
+                    srcClass, destClass);
+            ByFieldNameBeanConverter<?, ?> converter = graph.get(key);
+            if (converter == null) {
+                try {
+                    converter = ByFieldNameBeanConverter.nested(srcClass, destClass, configuration, graph);
+                } catch (NoSuchMethodException ex) {
+                    return null;
+                }
+            }
+            return new BeanConverter(converter);
+        }
+        return null;
+    }
+
+    private static boolean isBean(final Class<?> clazz) {
+        if (clazz.isArray() || clazz.isInterface() || clazz.isEnum() ||
+                Collection.class.isAssignableFrom(clazz) || Map.class.isAssignableFrom(clazz)) {
+            return false;
+        }
+        final String name = clazz.getName();
+        return !name.startsWith("java.") && !name.startsWith("javax.");
+    }
+
+    private static Class<?> rawType(final Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        } else if (type instanceof ParameterizedType) {
+            return rawType(((ParameterizedType) type).getRawType());
+        } else if (type instanceof GenericArrayType) {
+            return Array.newInstance(rawType(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        } else if (type instanceof WildcardType) {
+            return rawType(((WildcardType) type).getUpperBounds()[0]);
+        } else if (type instanceof TypeVariable) {
+            return rawType(((TypeVariable<?>) type).getBounds()[0]);
+        }
+        return Object.class;
+    }
+
+    private static Type componentType(final Type arrayType) {
+        if (arrayType instanceof GenericArrayType) {
+            return ((GenericArrayType) arrayType).getGenericComponentType();
+        }
+        return rawType(arrayType).getComponentType();
+    }
+
+    /**
+     *
+     * @return  the type argument of a collection type with one type parameter (e.g. a List), or Object
+     */
+    private static Type elementType(final Type collectionType) {
+        if (collectionType instanceof ParameterizedType) {
+            final Type[] arguments = ((ParameterizedType) collectionType).getActualTypeArguments();
+            if (arguments.length == 1) {
+                return arguments[0];
+            }
+        }
+        return Object.class;
+    }
+
+    /**
+     *
+     * @return  the type argument at `index` of a map type with 2 type parameters, or Object
+     */
+    private static Type typeArgument(final Type mapType, final int index) {
+        if (mapType instanceof ParameterizedType) {
+            final Type[] arguments = ((ParameterizedType) mapType).getActualTypeArguments();
+            if (arguments.length == 2) {
+                return arguments[index];
+            }
+        }
+        return Object.class;
+    }
+
+    /**
+     *
+     * @return  the map implementation for `type`, or null if there is none
+     */
+    private static Class<?> mapImplementation(final Class<?> type) {
+        if (!type.isInterface() && !Modifier.isAbstract(type.getModifiers())) {
+            return type;
+        } else if (type.isAssignableFrom(LinkedHashMap.class)) {
+            return LinkedHashMap.class;
+        } else if (type.isAssignableFrom(TreeMap.class)) {
+            return TreeMap.class;
+        } else if (type.isAssignableFrom(ConcurrentHashMap.class)) {
+            return ConcurrentHashMap.class;
+        }
+        return null;
+    }
+
+    /**
+     *
+     * @return  the default constructor of the collection implementation for `type`, or null if there is none
+     */
+    private static Constructor<?> collectionConstructor(final Class<?> type) {
+        Class<?> implementation = type;
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers())) {
+            if (type.isAssignableFrom(ArrayList.class)) {
+                implementation = ArrayList.class;
+            } else if (type.isAssignableFrom(LinkedHashSet.class)) {
+                implementation = LinkedHashSet.class;
+            } else if (type.isAssignableFrom(TreeSet.class)) {
+                implementation = TreeSet.class;
+            } else if (type.isAssignableFrom(LinkedList.class)) {
+                implementation = LinkedList.class;
+            } else {
+                return null;
+            }
+        }
+        try {
+            return implementation.getConstructor();
+        } catch (NoSuchMethodException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Converts a non-null value by a {@link FieldValueConverter}
+     */
+    static final class Adapter extends ValueConverter {
+
+        private final FieldValueConverter converter;
+        private final Class<?> destType;
+
+        Adapter(final FieldValueConverter converter, final Class<?> destType) {
+            this.converter = converter;
+            this.destType = destType;
+        }
+
+        @Override
+        Object convert(final Object value) {
+            return null == value ? null : this.converter.convert(value, this.destType);
+        }
+    }
+
+    static final class BeanConverter extends ValueConverter {
+
+        private final ByFieldNameBeanConverter<?, ?> converter;
+
+        BeanConverter(final ByFieldNameBeanConverter<?, ?> converter) {
+            this.converter = converter;
+        }
+
+        @Override
+        Object convert(final Object value) {
+            return this.converter.convertNested(value);
+        }
+
+        @Override
+        boolean matches(final Object value, final Object current) {
+            if (null == value || null == current) {
+                return value == current;
+            }
+            return this.converter.matchesNested(value, current);
+        }
+    }
+
+    static final class ArrayConverter extends ValueConverter {
+
+        private final ValueConverter element;
+        private final Class<?> componentType;
+
+        ArrayConverter(final ValueConverter element, final Class<?> componentType) {
+            this.element = element;
+            this.componentType = componentType;
+        }
+
+        @Override
+        Object convert(final Object value) {
+            if (null == value) {
+                return null;
+            }
+            final Object[] src = (Object[]) value;
+            final Object[] result = (Object[]) Array.newInstance(this.componentType, src.length);
+            for (int i = 0; i < src.length; i += 1) {
+                result[i] = this.element.convert(src[i]);
+            }
+            return result;
+        }
+
+        @Override
+        boolean matches(final Object value, final Object current) {
+            if (null == value || null == current) {
+                return value == current;
+            }
+            if (!(current instanceof Object[]) || ((Object[]) value).length != ((Object[]) current).length) {
+                return false;
+            }
+            final Object[] src = (Object[]) value;
+            final Object[] dest = (Object[]) current;
+            for (int i = 0; i < src.length; i += 1) {
+                if (!this.element.matches(src[i], dest[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    static final class CollectionConverter extends ValueConverter {
+
+        private final ValueConverter element;
+        private final Constructor<?> constructor;
+
+        CollectionConverter(final ValueConverter element, final Constructor<?> constructor) {
+            this.element = element;
+            this.constructor = constructor;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Object convert(final Object value) {
+            if (null == value) {
+                return null;
+            }
+            final Collection<Object> result;
+            try {
+                result = (Collection<Object>) this.constructor.newInstance();
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException ex) {
+                throw new RuntimeException("Fail to create an instance of \"" +
+                        this.constructor.getDeclaringClass().getName() + '\"', ex);
+            }
+            if (result instanceof ArrayList) {
+                ((ArrayList<?>) result).ensureCapacity(((Collection<?>) value).size());
+            }
+            for (final Object item : (Collection<?>) value) {
+                result.add(this.element.convert(item));
+            }
+            return result;
+        }
+
+        /**
+         * Compare the elements in the order of iteration, so 2 sets of different orders are not matched
+         */
+        @Override
+        boolean matches(final Object value, final Object current) {
+            if (null == value || null == current) {
+                return value == current;
+            }
+            if (!(current instanceof Collection) ||
+                    ((Collection<?>) value).size() != ((Collection<?>) current).size()) {
+                return false;
+            }
+            final Iterator<?> iterator = ((Collection<?>) current).iterator();
+            for (final Object item : (Collection<?>) value) {
+                if (!iterator.hasNext() || !this.element.matches(item, iterator.next())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Converts the keys and the values of a map into a new map, presized to the source map if possible
+     */
+    static final class MapConverter extends ValueConverter {
+
+        private final ValueConverter key;
+        private final ValueConverter value;
+        private final Constructor<?> constructor;
+
+        /**
+         * whether the constructor takes the initial capacity
+         */
+        private final boolean sized;
+
+        MapConverter(final ValueConverter key, final ValueConverter value, final Constructor<?> constructor,
+                final boolean sized) {
+            this.key = key;
+            this.value = value;
+            this.constructor = constructor;
+            this.sized = sized;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Object convert(final Object value) {
+            if (null == value) {
+                return null;
+            }
+            final Map<?, ?> src = (Map<?, ?>) value;
+            final Map<Object, Object> result;
+            try {
+                result = (Map<Object, Object>) (this.sized ?
+                        this.constructor.newInstance((int) (src.size() / 0.75f) + 1) :
+                        this.constructor.newInstance());
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException ex) {
+                throw new RuntimeException("Fail to create an instance of \"" +
+                        this.constructor.getDeclaringClass().getName() + '\"', ex);
+            }
+            for (final Map.Entry<?, ?> entry : src.entrySet()) {
+                result.put(this.key.convert(entry.getKey()), this.value.convert(entry.getValue()));
+            }
+            return result;
+        }
+
+        @Override
+        boolean matches(final Object value, final Object current) {
+            if (null == value || null == current) {
+                return value == current;
+            }
+            if (!(current instanceof Map) || ((Map<?, ?>) value).size() != ((Map<?, ?>) current).size()) {
+                return false;
+            }
+            final Map<?, ?> dest = (Map<?, ?>) current;
+            for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                final Object key = this.key.convert(entry.getKey());
+                final Object existing = dest.get(key);
+                if ((null == existing && !dest.containsKey(key)) || !this.value.matches(entry.getValue(), existing)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
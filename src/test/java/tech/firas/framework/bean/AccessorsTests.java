@@ -0,0 +1,216 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class AccessorsTests {
+
+    /**
+     * a sample value of each field of {@link PrimitiveBean}
+     */
+    private static final Map<String, Object> values = new LinkedHashMap<>();
+
+    static {
+        values.put("booleanValue", true);
+        values.put("byteValue", (byte) 1);
+        values.put("charValue", 'c');
+        values.put("shortValue", (short) 3);
+        values.put("intValue", 4);
+        values.put("longValue", 5L);
+        values.put("floatValue", 6.5F);
+        values.put("doubleValue", 7.5);
+        values.put("stringValue", "s");
+    }
+
+    @Test
+    public void testMethodTiers() throws Throwable {
+        for (final Accessors.Tier tier : Accessors.Tier.values()) {
+            for (final Map.Entry<String, Object> entry : values.entrySet()) {
+                final Field field = PrimitiveBean.class.getDeclaredField(entry.getKey());
+                final String capitalized = BeanMetadata.capitalize(field.getName());
+                final Method getMethod = PrimitiveBean.class.getMethod("get" + capitalized);
+                final Method setMethod = PrimitiveBean.class.getMethod("set" + capitalized, field.getType());
+                final Accessors.ValueGetter getter = Accessors.createGetter(getMethod, tier);
+                final Accessors.ValueSetter setter = Accessors.createSetter(setMethod, tier);
+                assertTier(tier, getter, "Getter", field.getType().isPrimitive());
+                assertTier(tier, setter, "Setter", field.getType().isPrimitive());
+
+                final PrimitiveBean bean = new PrimitiveBean();
+                setter.set(bean, entry.getValue());
+                Assert.assertEquals(entry.getValue(), getter.get(bean));
+            }
+        }
+    }
+
+    @Test
+    public void testFieldTiers() throws Throwable {
+        for (final Accessors.Tier tier : Accessors.Tier.values()) {
+            for (final Map.Entry<String, Object> entry : values.entrySet()) {
+                final Field field = PrimitiveBean.class.getDeclaredField(entry.getKey());
+                field.setAccessible(true);
+                final Accessors.ValueGetter getter = Accessors.createGetter(field, tier);
+                final Accessors.ValueSetter setter = Accessors.createSetter(field, tier);
+                final String prefix = tier == Accessors.Tier.REFLECTIVE ? "ReflectiveField" : "Handle";
+                Assert.assertEquals(prefix + "Getter", getter.getClass().getSimpleName());
+                Assert.assertEquals(prefix + "Setter", setter.getClass().getSimpleName());
+
+                final PrimitiveBean bean = new PrimitiveBean();
+                setter.set(bean, entry.getValue());
+                Assert.assertEquals(entry.getValue(), getter.get(bean));
+            }
+        }
+    }
+
+    /**
+     * Every tier widens a primitive wrapper to the parameter type like {@link Method#invoke} does
+     */
+    @Test
+    public void testWideningOnEveryTier() throws Throwable {
+        for (final Accessors.Tier tier : Accessors.Tier.values()) {
+            final PrimitiveBean bean = new PrimitiveBean();
+            Accessors.createSetter(PrimitiveBean.class.getMethod("setLongValue", long.class), tier).set(bean, 42);
+            Assert.assertEquals(42L, bean.getLongValue());
+            Accessors.createSetter(PrimitiveBean.class.getMethod("setDoubleValue", double.class), tier)
+                    .set(bean, 1.5F);
+            Assert.assertEquals(1.5, bean.getDoubleValue(), 0);
+            Accessors.createSetter(PrimitiveBean.class.getMethod("setIntValue", int.class), tier)
+                    .set(bean, 'a');
+            Assert.assertEquals('a', bean.getIntValue());
+
+            final Field field = PrimitiveBean.class.getDeclaredField("longValue");
+            field.setAccessible(true);
+            Accessors.createSetter(field, tier).set(bean, (short) 7);
+            Assert.assertEquals(7L, bean.getLongValue());
+        }
+    }
+
+    @Test
+    public void testCachedAccessorsAreShared() throws NoSuchMethodException {
+        final Method getMethod = PrimitiveBean.class.getMethod("getIntValue");
+        Assert.assertSame(Accessors.getter(getMethod), Accessors.getter(getMethod));
+        Assert.assertSame(Accessors.primitiveGetter(getMethod), Accessors.primitiveGetter(getMethod));
+    }
+
+    private static void assertTier(final Accessors.Tier tier, final Object accessor, final String kind,
+            final boolean primitive) {
+        final String name = accessor.getClass().getSimpleName();
+        switch (tier) {
+            case SPUN:
+                if ("Setter".equals(kind) && primitive) {
+                    Assert.assertEquals("SpunPrimitiveSetter", name);
+                } else {
+                    Assert.assertTrue(name, accessor.getClass().getName().contains("$$Lambda"));
+                }
+                break;
+            case HANDLE:
+                Assert.assertEquals("Handle" + kind, name);
+                break;
+            default:
+                Assert.assertEquals("ReflectiveMethod" + kind, name);
+        }
+    }
+
+    public static class PrimitiveBean {
+        private boolean booleanValue;
+        private byte byteValue;
+        private char charValue;
+        private short shortValue;
+        private int intValue;
+        private long longValue;
+        private float floatValue;
+        private double doubleValue;
+        private String stringValue;
+
+        public boolean getBooleanValue() {
+            return booleanValue;
+        }
+
+        public void setBooleanValue(final boolean booleanValue) {
+            this.booleanValue = booleanValue;
+        }
+
+        public byte getByteValue() {
+            return byteValue;
+        }
+
+        public void setByteValue(final byte byteValue) {
+            this.byteValue = byteValue;
+        }
+
+        public char getCharValue() {
+            return charValue;
+        }
+
+        public void setCharValue(final char charValue) {
+            this.charValue = charValue;
+        }
+
+        public short getShortValue() {
+            return shortValue;
+        }
+
+        public void setShortValue(final short shortValue) {
+            this.shortValue = shortValue;
+        }
+
+        public int getIntValue() {
+            return intValue;
+        }
+
+        public void setIntValue(final int intValue) {
+            this.intValue = intValue;
+        }
+
+        public long getLongValue() {
+            return longValue;
+        }
+
+        public void setLongValue(final long longValue) {
+            this.longValue = longValue;
+        }
+
+        public float getFloatValue() {
+            return floatValue;
+        }
+
+        public void setFloatValue(final float floatValue) {
+            this.floatValue = floatValue;
+        }
+
+        public double getDoubleValue() {
+            return doubleValue;
+        }
+
+        public void setDoubleValue(final double doubleValue) {
+            this.doubleValue = doubleValue;
+        }
+
+        public String getStringValue() {
+            return stringValue;
+        }
+
+        public void setStringValue(final String stringValue) {
+            this.stringValue = stringValue;
+        }
+    }
+}
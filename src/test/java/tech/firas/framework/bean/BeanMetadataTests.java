@@ -0,0 +1,127 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BeanMetadataTests {
+
+    @Test
+    public void testFieldOrder() throws NoSuchFieldException {
+        final List<Field> fields = BeanMetadata.forClass(Derived.class).getFields();
+        Assert.assertEquals(5, fields.size());
+        // the fields of the class come before the fields of its base classes
+        final Set<Field> derivedFields = new HashSet<>(fields.subList(0, 2));
+        Assert.assertTrue(derivedFields.contains(Derived.class.getDeclaredField("name")));
+        Assert.assertTrue(derivedFields.contains(Derived.class.getDeclaredField("extra")));
+        final Set<Field> baseFields = new HashSet<>(fields.subList(2, 5));
+        Assert.assertTrue(baseFields.contains(Base.class.getDeclaredField("name")));
+        Assert.assertTrue(baseFields.contains(Base.class.getDeclaredField("id")));
+        Assert.assertTrue(baseFields.contains(Base.class.getDeclaredField("cache")));
+    }
+
+    @Test
+    public void testStaticFieldsExcluded() {
+        for (final Field field : BeanMetadata.forClass(Derived.class).getFields()) {
+            Assert.assertNotEquals("CONSTANT", field.getName());
+        }
+        Assert.assertTrue(BeanMetadata.forClass(Derived.class).getFields("CONSTANT").isEmpty());
+        Assert.assertTrue(BeanMetadata.forClass(Object.class).getFields().isEmpty());
+    }
+
+    @Test
+    public void testShadowedFields() throws NoSuchFieldException {
+        final List<Field> fields = BeanMetadata.forClass(Derived.class).getFields("name");
+        Assert.assertEquals(2, fields.size());
+        Assert.assertEquals(Derived.class.getDeclaredField("name"), fields.get(0));
+        Assert.assertEquals(Base.class.getDeclaredField("name"), fields.get(1));
+        Assert.assertEquals(1, BeanMetadata.forClass(Base.class).getFields("name").size());
+        Assert.assertTrue(BeanMetadata.forClass(Derived.class).getFields("missing").isEmpty());
+    }
+
+    @Test
+    public void testMethods() throws NoSuchMethodException {
+        final List<Method> methods = BeanMetadata.forClass(Derived.class).getMethods("getId");
+        Assert.assertEquals(1, methods.size());
+        Assert.assertEquals(Base.class.getMethod("getId"), methods.get(0));
+        Assert.assertEquals(2, BeanMetadata.forClass(Derived.class).getMethods("setName").size());
+        Assert.assertTrue(BeanMetadata.forClass(Derived.class).getMethods("hidden").isEmpty());
+    }
+
+    @Test
+    public void testCaching() {
+        final BeanMetadata metadata = BeanMetadata.forClass(Derived.class);
+        Assert.assertSame(metadata, BeanMetadata.forClass(Derived.class));
+        Assert.assertNotSame(metadata, BeanMetadata.forClass(Base.class));
+        Assert.assertSame(metadata.getFields(), BeanMetadata.forClass(Derived.class).getFields());
+
+        final Object key = new Object();
+        Assert.assertNull(metadata.getAccessor(key));
+        final Object first = new Object();
+        Assert.assertSame(first, metadata.putAccessor(key, first));
+        Assert.assertSame(first, metadata.putAccessor(key, new Object()));
+        Assert.assertSame(first, BeanMetadata.forClass(Derived.class).getAccessor(key));
+    }
+
+    @Test
+    public void testCapitalize() {
+        Assert.assertEquals("AaAa", BeanMetadata.capitalize("aaAa"));
+        Assert.assertEquals("X", BeanMetadata.capitalize("x"));
+    }
+
+    public static class Base {
+        public static final String CONSTANT = "constant";
+
+        private String name;
+        private long id;
+        private transient Object cache;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        void hidden() {
+        }
+    }
+
+    public static class Derived extends Base {
+        private String name;
+        private int extra;
+
+        public void setName(final CharSequence name) {
+            this.name = String.valueOf(name);
+        }
+
+        public int getExtra() {
+            return extra;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GeneratedCopierTests {
+
+    @Test
+    public void testGeneratedCopier() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+        conf.setAllowBytecodeGeneration(true);
+        final ByFieldNameBeanConverter<Source, Target> converter =
+                new ByFieldNameBeanConverter<>(Source.class, Target.class, conf);
+        final BeanCopier<Source, Target> copier = converter.copier();
+        Assert.assertTrue(copier instanceof GeneratedBeanCopier);
+        Assert.assertTrue(copier.getClass().getName(),
+                copier.getClass().getName().startsWith("tech.firas.framework.bean.generated.BeanCopier$"));
+
+        final Target target = converter.convert(new Source());
+        Assert.assertEquals("name", target.getName());
+        Assert.assertEquals(3, target.getSize());
+        // the fields without getters / setters are not mapped without direct field access
+        Assert.assertNull(target.count);
+        Assert.assertNull(target.secret);
+    }
+
+    @Test
+    public void testReflectiveCopierWithoutGeneration() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter<Source, Target> converter =
+                new ByFieldNameBeanConverter<>(Source.class, Target.class, null);
+        Assert.assertTrue(converter.copier() instanceof ReflectiveBeanCopier);
+        Assert.assertEquals("name", converter.convert(new Source()).getName());
+    }
+
+    /**
+     * The generated code copies the public members and hands the non-public fields to a reflective copier
+     */
+    @Test
+    public void testNonPublicFieldsFallback() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+        conf.setAllowBytecodeGeneration(true);
+        conf.getGetterConfiguration().setAllowDirectlyGetField(true);
+        conf.getSetterConfiguration().setAllowDirectlySetField(true);
+        final ByFieldNameBeanConverter<Source, Target> converter =
+                new ByFieldNameBeanConverter<>(Source.class, Target.class, conf);
+        Assert.assertTrue(converter.copier() instanceof GeneratedBeanCopier);
+
+        final Target target = converter.convert(new Source());
+        Assert.assertEquals("name", target.getName());
+        Assert.assertEquals(3, target.getSize());
+        Assert.assertEquals(Long.valueOf(4L), target.count);
+        Assert.assertEquals("secret", target.secret);
+    }
+
+    /**
+     * No copier can be generated for a non-public class, so the reflective copier is used
+     */
+    @Test
+    public void testNonPublicClassFallback() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+        conf.setAllowBytecodeGeneration(true);
+        final ByFieldNameBeanConverter<Source, HiddenTarget> converter =
+                new ByFieldNameBeanConverter<>(Source.class, HiddenTarget.class, conf);
+        Assert.assertTrue(converter.copier() instanceof ReflectiveBeanCopier);
+        Assert.assertEquals("name", converter.convert(new Source()).getName());
+    }
+
+    public static class Source {
+        private String name = "name";
+        private int size = 3;
+        public Long count = 4L;
+        private String secret = "secret";
+
+        public String getName() {
+            return name;
+        }
+
+        public int getSize() {
+            return size;
+        }
+    }
+
+    public static class Target {
+        private String name;
+        private int size;
+        public Long count;
+        private String secret;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public void setSize(final int size) {
+            this.size = size;
+        }
+    }
+
+    static class HiddenTarget {
+        private String name;
+
+        public HiddenTarget() {}
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+    }
+}
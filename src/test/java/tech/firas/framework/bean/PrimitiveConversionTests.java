@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PrimitiveConversionTests {
+
+    private static final String[] FIELDS = {
+            "byteValue", "charValue", "shortValue", "intValue", "longValue", "floatValue", "doubleValue"
+    };
+
+    /**
+     * values that overflow the narrower types, boxed as each source type by the Java casting conversion
+     */
+    private static final double[] SAMPLES = {-1.5e10, -70000.75, -1, 0, 200.5, 65535, 3e9};
+
+    @Test
+    public void testAllPairs() throws Throwable {
+        for (final String from : FIELDS) {
+            for (final String to : FIELDS) {
+                if (from.equals(to)) {
+                    continue;
+                }
+                final Field srcField = AccessorsTests.PrimitiveBean.class.getDeclaredField(from);
+                final Field destField = AccessorsTests.PrimitiveBean.class.getDeclaredField(to);
+                srcField.setAccessible(true);
+                destField.setAccessible(true);
+                final FieldGetter<AccessorsTests.PrimitiveBean> getter = new FieldGetter<>(
+                        AccessorsTests.PrimitiveBean.class, srcField, new FieldGetter.Configuration());
+                final FieldSetter<AccessorsTests.PrimitiveBean> setter = new FieldSetter<>(
+                        AccessorsTests.PrimitiveBean.class, destField, new FieldSetter.Configuration());
+                final FieldGetter<AccessorsTests.PrimitiveBean> destGetter = new FieldGetter<>(
+                        AccessorsTests.PrimitiveBean.class, destField, new FieldGetter.Configuration());
+                final FieldCopier<AccessorsTests.PrimitiveBean, AccessorsTests.PrimitiveBean> copier =
+                        FieldCopier.ofPrimitiveConversion(getter, setter);
+
+                for (final double sample : SAMPLES) {
+                    final Object value = cast(sample, double.class, srcField.getType());
+                    final Object expected = cast(value, srcField.getType(), destField.getType());
+                    final String message = from + " " + value + " to " + to;
+                    final AccessorsTests.PrimitiveBean bean = new AccessorsTests.PrimitiveBean();
+                    srcField.set(bean, value);
+
+                    copier.copy(bean, bean);
+                    Assert.assertEquals(message, expected, destField.get(bean));
+                    Assert.assertEquals(message, expected, copier.transform(value));
+                    Assert.assertFalse(message, copier.copyIfChanged(bean, bean, destGetter));
+                    destField.set(bean, cast(1, int.class, destField.getType()));
+                    Assert.assertEquals(message, !expected.equals(destField.get(bean)),
+                            copier.copyIfChanged(bean, bean, destGetter));
+                    Assert.assertEquals(message, expected, destField.get(bean));
+                }
+            }
+        }
+    }
+
+    /**
+     *
+     * @return  `value` cast from `from` to `to` as the Java language does
+     */
+    private static Object cast(final Object value, final Class<?> from, final Class<?> to) throws Throwable {
+        final MethodHandle handle = MethodHandles.explicitCastArguments(MethodHandles.identity(from),
+                MethodType.methodType(to, from));
+        return handle.invoke(value);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.firas.framework.bean.ByFieldNameBeanConverter;
+import tech.firas.framework.bean.test.ByFieldNameBeanConverterTests.A;
+import tech.firas.framework.bean.test.ByFieldNameBeanConverterTests.B;
+
+public class BatchConversionTests {
+
+    private static final int SIZE = 100000;
+
+    @Test
+    public void test() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter<A, B> converter = new ByFieldNameBeanConverter<>(A.class, B.class, null);
+        final A[] array = new A[SIZE];
+        for (int i = 0; i < SIZE; i += 1) {
+            array[i] = i % 100 == 0 ? null : new A();
+        }
+        final List<A> list = Arrays.asList(array);
+
+        final B[] arrayResult = converter.convertAll(array);
+        final List<B> listResult = converter.convertAll(list);
+        final List<B> intoResult = converter.convertInto(list, new ArrayList<B>());
+        Assert.assertEquals(SIZE, arrayResult.length);
+        Assert.assertEquals(SIZE, listResult.size());
+        Assert.assertEquals(SIZE, intoResult.size());
+        for (int i = 0; i < SIZE; i += 1) {
+            if (array[i] == null) {
+                Assert.assertNull(arrayResult[i]);
+                Assert.assertNull(listResult.get(i));
+                Assert.assertNull(intoResult.get(i));
+            } else {
+                Assert.assertEquals(array[i].getDdDd(), arrayResult[i].getDdDd());
+                Assert.assertEquals(array[i].getGgGg(), listResult.get(i).getGgGg());
+                Assert.assertEquals(array[i].isAaAa(), intoResult.get(i).isAaAa());
+            }
+        }
+        final Iterator<B> lazy = converter.convertLazily(list).iterator();
+        final B reused = new B();
+        final Iterator<B> reusing = converter.convertReusing(list.iterator(), reused);
+        for (int i = 0; i < SIZE; i += 1) {
+            final B b = lazy.next();
+            final B flyweight = reusing.next();
+            if (array[i] == null) {
+                Assert.assertNull(b);
+                Assert.assertNull(flyweight);
+            } else {
+                Assert.assertEquals(array[i].getDdDd(), b.getDdDd());
+                Assert.assertSame(reused, flyweight);
+                Assert.assertEquals(array[i].getDdDd(), flyweight.getDdDd());
+            }
+        }
+        Assert.assertFalse(lazy.hasNext());
+        Assert.assertFalse(reusing.hasNext());
+
+        Assert.assertNull(converter.convertAll((A[]) null));
+        Assert.assertNull(converter.convertAll((List<A>) null));
+    }
+}
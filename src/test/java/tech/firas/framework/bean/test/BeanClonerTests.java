@@ -0,0 +1,286 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.firas.framework.bean.BeanCloner;
+import tech.firas.framework.bean.ByFieldNameBeanConverter;
+
+public class BeanClonerTests {
+
+    @Test
+    public void testDeepClone() throws NoSuchMethodException {
+        for (final boolean generated : new boolean[] {false, true}) {
+            final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+            conf.setAllowBytecodeGeneration(generated);
+            final Node root = tree();
+            final Node clone = new BeanCloner<>(Node.class, conf).clone(root);
+
+            Assert.assertNotSame(root, clone);
+            Assert.assertSame(root.getName(), clone.getName());
+            Assert.assertEquals(root.getWeight(), clone.getWeight());
+            Assert.assertNotSame(root.getChildren(), clone.getChildren());
+            Assert.assertEquals(2, clone.getChildren().size());
+            Assert.assertNotSame(root.getChildren().get(0), clone.getChildren().get(0));
+            Assert.assertEquals("a", clone.getChildren().get(0).getName());
+            // the cyclic reference is kept
+            Assert.assertSame(clone, clone.getChildren().get(0).getParent());
+            Assert.assertNotSame(root.getValues(), clone.getValues());
+            Assert.assertArrayEquals(root.getValues(), clone.getValues());
+            Assert.assertNotSame(root.getAttributes(), clone.getAttributes());
+            Assert.assertEquals(root.getAttributes(), clone.getAttributes());
+            Assert.assertNotSame(root.getCreated(), clone.getCreated());
+            Assert.assertEquals(root.getCreated(), clone.getCreated());
+
+            root.getChildren().get(0).setName("changed");
+            root.getValues()[0] = 100;
+            Assert.assertEquals("a", clone.getChildren().get(0).getName());
+            Assert.assertEquals(1, clone.getValues()[0]);
+        }
+    }
+
+    @Test
+    public void testDepth() throws NoSuchMethodException {
+        final Node root = tree();
+        final Node shallow = new BeanCloner<>(Node.class, null, 0).clone(root);
+        Assert.assertSame(root.getChildren(), shallow.getChildren());
+        Assert.assertSame(root.getValues(), shallow.getValues());
+
+        final Node one = new BeanCloner<>(Node.class, null, 1).clone(root);
+        Assert.assertNotSame(root.getChildren(), one.getChildren());
+        Assert.assertSame(root.getChildren().get(0), one.getChildren().get(0));
+    }
+
+    @Test
+    public void testNull() throws NoSuchMethodException {
+        Assert.assertNull(new BeanCloner<>(Node.class, null).clone(null));
+    }
+
+    private static Node tree() {
+        final Node root = new Node();
+        root.setName("root");
+        root.setWeight(2);
+        root.setValues(new int[] {1, 2, 3});
+        root.setCreated(new Date(1000L));
+        final Map<String, String> attributes = new HashMap<>();
+        attributes.put("k", "v");
+        root.setAttributes(attributes);
+        final List<Node> children = new ArrayList<>();
+        for (final String name : new String[] {"a", "b"}) {
+            final Node child = new Node();
+            child.setName(name);
+            child.setParent(root);
+            children.add(child);
+        }
+        root.setChildren(children);
+        return root;
+    }
+
+    /**
+     * The JDK value holders and the classes with fields without getters / setters
+     * are cloned by their clone() method, or shared, instead of being copied empty
+     */
+    @Test
+    public void testOpaqueValues() throws NoSuchMethodException {
+        final Holder holder = new Holder();
+        final BitSet bits = new BitSet();
+        bits.set(5);
+        holder.setBits(bits);
+        holder.setCounter(new AtomicLong(42));
+        holder.setText(new StringBuilder("hello"));
+        holder.setPoint(new Point(1, 2));
+        holder.setPair(new Pair("a"));
+
+        final Holder clone = new BeanCloner<>(Holder.class, null).clone(holder);
+        Assert.assertNotSame(bits, clone.getBits());
+        Assert.assertEquals(bits, clone.getBits());
+        Assert.assertSame(holder.getCounter(), clone.getCounter());
+        Assert.assertEquals(42, clone.getCounter().get());
+        Assert.assertSame(holder.getText(), clone.getText());
+        Assert.assertEquals("hello", clone.getText().toString());
+        Assert.assertNotSame(holder.getPoint(), clone.getPoint());
+        Assert.assertEquals(1, clone.getPoint().x);
+        Assert.assertEquals(2, clone.getPoint().y);
+        Assert.assertSame(holder.getPair(), clone.getPair());
+    }
+
+    public static final class Node {
+        private String name;
+        private int weight;
+        private int[] values;
+        private Date created;
+        private Map<String, String> attributes;
+        private List<Node> children;
+        private Node parent;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        public void setWeight(int weight) {
+            this.weight = weight;
+        }
+
+        public int[] getValues() {
+            return values;
+        }
+
+        public void setValues(int[] values) {
+            this.values = values;
+        }
+
+        public Date getCreated() {
+            return created;
+        }
+
+        public void setCreated(Date created) {
+            this.created = created;
+        }
+
+        public Map<String, String> getAttributes() {
+            return attributes;
+        }
+
+        public void setAttributes(Map<String, String> attributes) {
+            this.attributes = attributes;
+        }
+
+        public List<Node> getChildren() {
+            return children;
+        }
+
+        public void setChildren(List<Node> children) {
+            this.children = children;
+        }
+
+        public Node getParent() {
+            return parent;
+        }
+
+        public void setParent(Node parent) {
+            this.parent = parent;
+        }
+    }
+
+    public static final class Holder {
+        private BitSet bits;
+        private AtomicLong counter;
+        private StringBuilder text;
+        private Point point;
+        private Pair pair;
+
+        public BitSet getBits() {
+            return bits;
+        }
+
+        public void setBits(final BitSet bits) {
+            this.bits = bits;
+        }
+
+        public AtomicLong getCounter() {
+            return counter;
+        }
+
+        public void setCounter(final AtomicLong counter) {
+            this.counter = counter;
+        }
+
+        public StringBuilder getText() {
+            return text;
+        }
+
+        public void setText(final StringBuilder text) {
+            this.text = text;
+        }
+
+        public Point getPoint() {
+            return point;
+        }
+
+        public void setPoint(final Point point) {
+            this.point = point;
+        }
+
+        public Pair getPair() {
+            return pair;
+        }
+
+        public void setPair(final Pair pair) {
+            this.pair = pair;
+        }
+    }
+
+    /**
+     * has fields without getters / setters and is cloneable
+     */
+    public static final class Point implements Cloneable {
+        private final int x;
+        private final int y;
+
+        public Point() {
+            this(0, 0);
+        }
+
+        public Point(final int x, final int y) {
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        public Point clone() {
+            try {
+                return (Point) super.clone();
+            } catch (CloneNotSupportedException ex) {
+                throw new AssertionError(ex);
+            }
+        }
+    }
+
+    /**
+     * has a field without a setter and is not cloneable
+     */
+    public static final class Pair {
+        private String first;
+
+        public Pair() {}
+
+        public Pair(final String first) {
+            this.first = first;
+        }
+
+        public String getFirst() {
+            return first;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.firas.framework.bean.BeanConverters;
+import tech.firas.framework.bean.ByFieldNameBeanConverter;
+
+public class BeanConvertersTests {
+
+    @Test
+    public void test() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+        conf.getGetterConfiguration().setAllowDirectlyGetField(true);
+        final ByFieldNameBeanConverter<ByFieldNameBeanConverterTests.A, ByFieldNameBeanConverterTests.B> converter =
+                BeanConverters.get(ByFieldNameBeanConverterTests.A.class, ByFieldNameBeanConverterTests.B.class, conf);
+        Assert.assertNotNull(converter);
+
+        final ByFieldNameBeanConverter.Configuration same = new ByFieldNameBeanConverter.Configuration();
+        same.getGetterConfiguration().setAllowDirectlyGetField(true);
+        Assert.assertSame(converter, BeanConverters.get(ByFieldNameBeanConverterTests.A.class,
+                ByFieldNameBeanConverterTests.B.class, same));
+
+        // modifying the configuration afterwards must not affect the registered converter
+        conf.getGetterConfiguration().setAllowDirectlyGetField(false);
+        Assert.assertSame(converter, BeanConverters.get(ByFieldNameBeanConverterTests.A.class,
+                ByFieldNameBeanConverterTests.B.class, same));
+        Assert.assertNotSame(converter, BeanConverters.get(ByFieldNameBeanConverterTests.A.class,
+                ByFieldNameBeanConverterTests.B.class, conf));
+
+        Assert.assertSame(BeanConverters.get(ByFieldNameBeanConverterTests.A.class,
+                ByFieldNameBeanConverterTests.B.class), BeanConverters.get(ByFieldNameBeanConverterTests.A.class,
+                ByFieldNameBeanConverterTests.B.class, new ByFieldNameBeanConverter.Configuration()));
+
+        // there is no generated converter
+        Assert.assertSame(BeanConverters.get(ByFieldNameBeanConverterTests.A.class,
+                ByFieldNameBeanConverterTests.B.class), BeanConverters.getConverter(
+                ByFieldNameBeanConverterTests.A.class, ByFieldNameBeanConverterTests.B.class));
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.firas.framework.bean.BeanEquivalence;
+
+public class BeanEquivalenceTests {
+
+    private final BeanEquivalence<Item> equivalence = new BeanEquivalence<>(Item.class, null);
+
+    @Test
+    public void testEquals() {
+        final Item a = item("x", 1, 0.5, new int[] {1, 2});
+        final Item b = item("x", 1, 0.5, new int[] {1, 2});
+        Assert.assertEquals(Arrays.asList("name", "count", "price", "codes"),
+                Arrays.asList(equivalence.getFieldNames()));
+        Assert.assertTrue(equivalence.equals(a, b));
+        Assert.assertEquals(equivalence.hashCode(a), equivalence.hashCode(b));
+        Assert.assertEquals(0, equivalence.compare(a, b));
+
+        b.getCodes()[1] = 3;
+        Assert.assertFalse(equivalence.equals(a, b));
+        // the arrays are not ordered
+        Assert.assertEquals(0, equivalence.compare(a, b));
+
+        b.setCodes(a.getCodes());
+        b.setPrice(Double.NaN);
+        Assert.assertFalse(equivalence.equals(a, b));
+        a.setPrice(Double.NaN);
+        Assert.assertTrue(equivalence.equals(a, b));
+
+        Assert.assertTrue(equivalence.equals(null, null));
+        Assert.assertFalse(equivalence.equals(a, null));
+        Assert.assertEquals(0, equivalence.hashCode(null));
+    }
+
+    @Test
+    public void testCompare() {
+        final List<Item> items = new ArrayList<>(Arrays.asList(
+                item("b", 1, 0.0, null), item("a", 2, 0.0, null), item(null, 3, 0.0, null),
+                item("a", 1, 2.0, null), item("a", 1, 1.0, null)));
+        Collections.sort(items, equivalence);
+        Assert.assertNull(items.get(0).getName());
+        Assert.assertEquals(1.0, items.get(1).getPrice(), 0.0);
+        Assert.assertEquals(2.0, items.get(2).getPrice(), 0.0);
+        Assert.assertEquals(2, items.get(3).getCount());
+        Assert.assertEquals("b", items.get(4).getName());
+    }
+
+    @Test
+    public void testNarrowPrimitives() {
+        final BeanEquivalence<Narrow> narrow = new BeanEquivalence<>(Narrow.class, null);
+        final Narrow a = new Narrow();
+        final Narrow b = new Narrow();
+        Assert.assertTrue(narrow.equals(a, b));
+
+        a.setB((byte) -1);
+        Assert.assertFalse(narrow.equals(a, b));
+        Assert.assertTrue(narrow.compare(a, b) < 0);
+        b.setB((byte) -1);
+        Assert.assertEquals(narrow.hashCode(a), narrow.hashCode(b));
+
+        a.setS(Short.MIN_VALUE);
+        b.setS(Short.MAX_VALUE);
+        Assert.assertTrue(narrow.compare(a, b) < 0);
+        b.setS(Short.MIN_VALUE);
+
+        // a char is unsigned
+        a.setC('\uffff');
+        b.setC('a');
+        Assert.assertFalse(narrow.equals(a, b));
+        Assert.assertTrue(narrow.compare(a, b) > 0);
+        b.setC('\uffff');
+        Assert.assertTrue(narrow.equals(a, b));
+        Assert.assertEquals(0, narrow.compare(a, b));
+    }
+
+    private static Item item(final String name, final int count, final double price, final int[] codes) {
+        final Item item = new Item();
+        item.setName(name);
+        item.setCount(count);
+        item.setPrice(price);
+        item.setCodes(codes);
+        return item;
+    }
+
+    public static final class Narrow {
+        private byte b;
+        private short s;
+        private char c;
+
+        public byte getB() {
+            return b;
+        }
+
+        public void setB(byte b) {
+            this.b = b;
+        }
+
+        public short getS() {
+            return s;
+        }
+
+        public void setS(short s) {
+            this.s = s;
+        }
+
+        public char getC() {
+            return c;
+        }
+
+        public void setC(char c) {
+            this.c = c;
+        }
+    }
+
+    public static final class Item {
+        private String name;
+        private int count;
+        private double price;
+        private int[] codes;
+        private transient int cached;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public void setPrice(double price) {
+            this.price = price;
+        }
+
+        public int[] getCodes() {
+            return codes;
+        }
+
+        public void setCodes(int[] codes) {
+            this.codes = codes;
+        }
+
+        public int getCached() {
+            return cached;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.firas.framework.bean.BeanToMapConverter;
+import tech.firas.framework.bean.ByFieldNameBeanConverter;
+import tech.firas.framework.bean.MapToBeanConverter;
+
+public class BeanMapConverterTests {
+
+    @Test
+    public void testBeanToMap() {
+        final Item item = new Item();
+        item.setName("abc");
+        item.setCount(3);
+        item.setPrice(1.5);
+        item.setTag(null);
+        final BeanToMapConverter<Item> converter = new BeanToMapConverter<>(Item.class, null);
+        final Map<String, Object> map = converter.convert(item);
+        Assert.assertEquals(Arrays.asList("name", "count", "price", "tag"), Arrays.asList(converter.getFieldNames()));
+        Assert.assertEquals(Arrays.asList(converter.getFieldNames()), Arrays.asList(map.keySet().toArray()));
+        Assert.assertEquals("abc", map.get("name"));
+        Assert.assertEquals(3, map.get("count"));
+        Assert.assertEquals(1.5, map.get("price"));
+        Assert.assertTrue(map.containsKey("tag"));
+        Assert.assertNull(map.get("tag"));
+        Assert.assertNull(converter.convert(null));
+    }
+
+    @Test
+    public void testMapToBean() throws NoSuchMethodException {
+        final MapToBeanConverter<Item> converter = new MapToBeanConverter<>(Item.class, null);
+        final Map<String, Object> map = new HashMap<>();
+        map.put("name", "abc");
+        map.put("count", 3);
+        map.put("price", null);
+        final Item item = converter.convert(map);
+        Assert.assertEquals("abc", item.getName());
+        Assert.assertEquals(3, item.getCount());
+        Assert.assertEquals(0.0, item.getPrice(), 0.0);
+        Assert.assertEquals("none", item.getTag());
+
+        map.put("tag", null);
+        Assert.assertNull(converter.convertInto(map, new Item()).getTag());
+    }
+
+    @Test
+    public void testRoundTrip() throws NoSuchMethodException {
+        final Item item = new Item();
+        item.setName("x");
+        item.setCount(-7);
+        item.setPrice(2.25);
+        final Item copy = new MapToBeanConverter<>(Item.class, null).convert(
+                new BeanToMapConverter<>(Item.class, null).convert(item));
+        Assert.assertEquals(item.getName(), copy.getName());
+        Assert.assertEquals(item.getCount(), copy.getCount());
+        Assert.assertEquals(item.getPrice(), copy.getPrice(), 0.0);
+        Assert.assertEquals(item.getTag(), copy.getTag());
+    }
+
+    @Test
+    public void testPrimitiveConversion() throws NoSuchMethodException {
+        final Map<String, Object> map = new HashMap<>();
+        map.put("count", 3L);
+        map.put("price", 4);
+        try {
+            new MapToBeanConverter<>(Item.class, null).convert(map);
+            Assert.fail("A long should not be set to an int field by default");
+        } catch (RuntimeException ex) {
+            // expected
+        }
+
+        final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+        conf.setAllowPrimitiveWidening(true);
+        map.remove("count");
+        Assert.assertEquals(4.0, new MapToBeanConverter<>(Item.class, conf).convert(map).getPrice(), 0.0);
+
+        conf.setAllowPrimitiveNarrowing(true);
+        map.put("count", 3L);
+        final Item item = new MapToBeanConverter<>(Item.class, conf).convert(map);
+        Assert.assertEquals(3, item.getCount());
+        Assert.assertEquals(4.0, item.getPrice(), 0.0);
+
+        // a number other than the wrappers of the primitive types is narrowed
+        map.put("count", new BigDecimal("5.7"));
+        Assert.assertEquals(5, new MapToBeanConverter<>(Item.class, conf).convert(map).getCount());
+    }
+
+    public static final class Item {
+        private String name;
+        private int count;
+        private double price;
+        private String tag = "none";
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public void setPrice(double price) {
+            this.price = price;
+        }
+
+        public String getTag() {
+            return tag;
+        }
+
+        public void setTag(String tag) {
+            this.tag = tag;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.core.convert.support.GenericConversionService;
+
+import tech.firas.framework.bean.ByFieldNameGenericConverter;
+
+public class ByFieldNameGenericConverterTests {
+
+    @Test
+    public void test() {
+        final ByFieldNameGenericConverter genericConverter =
+                new ByFieldNameGenericConverter(null, "tech.firas.framework.bean.test");
+        final GenericConversionService service = new GenericConversionService();
+        service.addConverter(genericConverter);
+
+        Assert.assertTrue(service.canConvert(ByFieldNameBeanConverterTests.A.class,
+                ByFieldNameBeanConverterTests.B.class));
+        Assert.assertFalse(service.canConvert(ByFieldNameBeanConverterTests.A.class, Integer.class));
+
+        final ByFieldNameBeanConverterTests.A a = new ByFieldNameBeanConverterTests.A();
+        final ByFieldNameBeanConverterTests.B b = service.convert(a, ByFieldNameBeanConverterTests.B.class);
+        Assert.assertEquals(a.getDdDd(), b.getDdDd());
+        Assert.assertEquals(a.getEeEe(), b.getEeEe());
+        Assert.assertNull(service.convert(null, ByFieldNameBeanConverterTests.B.class));
+
+        Assert.assertNotNull(genericConverter.getConverter(ByFieldNameBeanConverterTests.A.class,
+                ByFieldNameBeanConverterTests.B.class));
+        Assert.assertSame(genericConverter.getConverter(ByFieldNameBeanConverterTests.A.class,
+                ByFieldNameBeanConverterTests.B.class), genericConverter.getConverter(
+                ByFieldNameBeanConverterTests.A.class, ByFieldNameBeanConverterTests.B.class));
+        Assert.assertNull(genericConverter.getConverter(ByFieldNameBeanConverterTests.A.class, Integer.class));
+    }
+
+    @Test
+    public void testPackages() {
+        final ByFieldNameGenericConverter genericConverter =
+                new ByFieldNameGenericConverter(null, "tech.firas.framework.bean.te");
+        Assert.assertNull(genericConverter.getConverter(ByFieldNameBeanConverterTests.A.class,
+                ByFieldNameBeanConverterTests.B.class));
+    }
+}
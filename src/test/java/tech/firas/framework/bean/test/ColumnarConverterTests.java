@@ -0,0 +1,119 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.firas.framework.bean.ColumnarConverter;
+
+public class ColumnarConverterTests {
+
+    private static final String[] COLUMNS = {"id", "amount", "ratio", "name"};
+
+    @Test
+    public void testRows() throws NoSuchMethodException {
+        final ColumnarConverter<Row> converter = new ColumnarConverter<>(Row.class, COLUMNS, null);
+        final List<Row> rows = converter.fromRows(Arrays.asList(
+                new Object[] {1, 10L, 0.5, "a"},
+                new Object[] {null, 20L, 1.5, null}));
+        Assert.assertEquals(2, rows.size());
+        Assert.assertEquals(1, rows.get(0).getId());
+        Assert.assertEquals(10L, rows.get(0).getAmount());
+        Assert.assertEquals(0.5, rows.get(0).getRatio(), 0.0);
+        Assert.assertEquals("a", rows.get(0).getName());
+        Assert.assertEquals(0, rows.get(1).getId());
+        Assert.assertNull(rows.get(1).getName());
+
+        Assert.assertArrayEquals(new Object[] {1, 10L, 0.5, "a"}, converter.toRow(rows.get(0)));
+    }
+
+    @Test
+    public void testColumns() throws NoSuchMethodException {
+        final ColumnarConverter<Row> converter = new ColumnarConverter<>(Row.class, COLUMNS, null);
+        final List<Row> rows = converter.fromColumns(new Object[] {
+                new int[] {1, 2, 3},
+                new long[] {10L, 20L, 30L},
+                new Object[] {0.5, null, 2.5},
+                new String[] {"a", "b", null}
+        });
+        Assert.assertEquals(3, rows.size());
+        Assert.assertEquals(2, rows.get(1).getId());
+        Assert.assertEquals(30L, rows.get(2).getAmount());
+        Assert.assertEquals(0.0, rows.get(1).getRatio(), 0.0);
+        Assert.assertEquals("b", rows.get(1).getName());
+
+        final Object[] columns = converter.toColumns(rows);
+        Assert.assertArrayEquals(new int[] {1, 2, 3}, (int[]) columns[0]);
+        Assert.assertArrayEquals(new long[] {10L, 20L, 30L}, (long[]) columns[1]);
+        Assert.assertArrayEquals(new double[] {0.5, 0.0, 2.5}, (double[]) columns[2], 0.0);
+        Assert.assertArrayEquals(new String[] {"a", "b", null}, (String[]) columns[3]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMismatchedColumn() throws NoSuchMethodException {
+        new ColumnarConverter<>(Row.class, COLUMNS, null).fromColumns(new Object[] {
+                new long[] {1L}, new long[] {10L}, new double[] {0.5}, new String[] {"a"}
+        });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownColumn() throws NoSuchMethodException {
+        new ColumnarConverter<>(Row.class, new String[] {"id", "unknown"}, null);
+    }
+
+    public static final class Row {
+        private int id;
+        private long amount;
+        private double ratio;
+        private String name;
+
+        public int getId() {
+            return id;
+        }
+
+        public void setId(int id) {
+            this.id = id;
+        }
+
+        public long getAmount() {
+            return amount;
+        }
+
+        public void setAmount(long amount) {
+            this.amount = amount;
+        }
+
+        public double getRatio() {
+            return ratio;
+        }
+
+        public void setRatio(double ratio) {
+            this.ratio = ratio;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+}
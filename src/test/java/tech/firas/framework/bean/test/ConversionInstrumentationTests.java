@@ -0,0 +1,164 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.firas.framework.bean.ByFieldNameBeanConverter;
+import tech.firas.framework.bean.ConversionInstrumentation;
+import tech.firas.framework.bean.ConversionListener;
+import tech.firas.framework.bean.ConverterMetrics;
+import tech.firas.framework.bean.JmxConversionListener;
+
+public class ConversionInstrumentationTests {
+
+    @Test
+    public void testNotInstrumented() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter<ByFieldNameBeanConverterTests.A, ByFieldNameBeanConverterTests.B> converter =
+                new ByFieldNameBeanConverter<>(ByFieldNameBeanConverterTests.A.class,
+                        ByFieldNameBeanConverterTests.B.class, null);
+        Assert.assertNull(converter.getMetrics());
+    }
+
+    @Test
+    public void testMetrics() throws NoSuchMethodException {
+        final List<ConverterMetrics> created = new ArrayList<>();
+        final ConversionListener listener = new ConversionListener() {
+            @Override
+            public void converterCreated(final ConverterMetrics metrics) {
+                created.add(metrics);
+            }
+        };
+        ConversionInstrumentation.addListener(listener);
+        try {
+            for (final boolean generation : new boolean[] {false, true}) {
+                final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+                conf.setInstrumented(true);
+                conf.setAllowBytecodeGeneration(generation);
+                final ByFieldNameBeanConverter<ByFieldNameBeanConverterTests.A, ByFieldNameBeanConverterTests.B>
+                        converter = new ByFieldNameBeanConverter<>(ByFieldNameBeanConverterTests.A.class,
+                                ByFieldNameBeanConverterTests.B.class, conf);
+                final ConverterMetrics metrics = converter.getMetrics();
+                Assert.assertNotNull(metrics);
+                Assert.assertSame(metrics, created.get(created.size() - 1));
+                Assert.assertEquals(ByFieldNameBeanConverterTests.A.class.getName(), metrics.getSourceType());
+                Assert.assertEquals(ByFieldNameBeanConverterTests.B.class.getName(), metrics.getTargetType());
+                Assert.assertEquals(generation, metrics.isGenerated());
+                Assert.assertEquals(6, metrics.getMappedFieldCount());
+                Assert.assertTrue(metrics.getConstructionNanos() > 0);
+                Assert.assertEquals(0, metrics.getInvocationCount());
+                Assert.assertEquals(0, metrics.getP99Nanos());
+
+                final ByFieldNameBeanConverterTests.A[] src = new ByFieldNameBeanConverterTests.A[1000];
+                for (int i = 0; i < src.length; i += 1) {
+                    src[i] = new ByFieldNameBeanConverterTests.A();
+                }
+                converter.convertAll(src);
+                converter.convert(src[0]);
+                converter.copyInto(src[0], new ByFieldNameBeanConverterTests.B());
+                Assert.assertEquals(src.length + 2, metrics.getInvocationCount());
+                Assert.assertTrue(metrics.getTotalNanos() > 0);
+                Assert.assertTrue(metrics.getMedianNanos() <= metrics.getP99Nanos());
+                Assert.assertTrue(metrics.getP99Nanos() <= metrics.getPercentileNanos(1));
+            }
+            Assert.assertEquals(2, created.size());
+        } finally {
+            ConversionInstrumentation.removeListener(listener);
+        }
+    }
+
+    /**
+     * The time of a conversion includes creating the target Java bean
+     */
+    @Test
+    public void testConstructionTimed() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+        conf.setInstrumented(true);
+        final ByFieldNameBeanConverter<ByFieldNameBeanConverterTests.A, SlowTarget> converter =
+                new ByFieldNameBeanConverter<>(ByFieldNameBeanConverterTests.A.class, SlowTarget.class, conf);
+        converter.convert(new ByFieldNameBeanConverterTests.A());
+        Assert.assertEquals(1, converter.getMetrics().getInvocationCount());
+        Assert.assertTrue(converter.getMetrics().getTotalNanos() >= SlowTarget.DELAY_NANOS);
+    }
+
+    @Test
+    public void testJmx() throws Exception {
+        final MBeanServer server = MBeanServerFactory.newMBeanServer();
+        final ObjectName pattern = new ObjectName("tech.firas.framework.bean:type=ConverterMetrics,*");
+
+        final ConversionListener listener = new JmxConversionListener(server);
+        ConversionInstrumentation.addListener(listener);
+        try {
+            final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+            conf.setInstrumented(true);
+            final ByFieldNameBeanConverter<ByFieldNameBeanConverterTests.A, ByFieldNameBeanConverterTests.B>
+                    converter = new ByFieldNameBeanConverter<>(ByFieldNameBeanConverterTests.A.class,
+                            ByFieldNameBeanConverterTests.B.class, conf);
+            converter.convert(new ByFieldNameBeanConverterTests.A());
+
+            final ObjectName name = JmxConversionListener.getObjectName(
+                    ByFieldNameBeanConverterTests.A.class.getName(), ByFieldNameBeanConverterTests.B.class.getName());
+            Assert.assertEquals(Collections.singleton(name), server.queryNames(pattern, null));
+            Assert.assertEquals(ByFieldNameBeanConverterTests.B.class.getName(),
+                    server.getAttribute(name, "TargetType"));
+            Assert.assertEquals(1L, server.getAttribute(name, "InvocationCount"));
+            Assert.assertEquals(Boolean.FALSE, server.getAttribute(name, "Generated"));
+
+            // another converter of the same pair of types replaces the MXBean instead of adding one
+            conf.setAllowBytecodeGeneration(true);
+            final ByFieldNameBeanConverter<ByFieldNameBeanConverterTests.A, ByFieldNameBeanConverterTests.B>
+                    rebuilt = new ByFieldNameBeanConverter<>(ByFieldNameBeanConverterTests.A.class,
+                            ByFieldNameBeanConverterTests.B.class, conf);
+            Assert.assertEquals(Collections.singleton(name), server.queryNames(pattern, null));
+            Assert.assertEquals(0L, server.getAttribute(name, "InvocationCount"));
+            Assert.assertEquals(Boolean.TRUE, server.getAttribute(name, "Generated"));
+            rebuilt.convert(new ByFieldNameBeanConverterTests.A());
+            Assert.assertEquals(1L, server.getAttribute(name, "InvocationCount"));
+        } finally {
+            ConversionInstrumentation.removeListener(listener);
+        }
+    }
+
+    public static class SlowTarget {
+        static final long DELAY_NANOS = 5000000;
+
+        private int ddDd;
+
+        public SlowTarget() {
+            final long start = System.nanoTime();
+            while (System.nanoTime() - start < DELAY_NANOS) {
+                Thread.yield();
+            }
+        }
+
+        public int getDdDd() {
+            return ddDd;
+        }
+
+        public void setDdDd(final int ddDd) {
+            this.ddDd = ddDd;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.firas.framework.bean.ByFieldNameBeanConverter;
+
+public class CopyIntoTests {
+
+    @Test
+    public void testReflective() throws NoSuchMethodException {
+        test(new ByFieldNameBeanConverter<>(Source.class, Target.class, null));
+    }
+
+    @Test
+    public void testGenerated() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+        conf.setAllowBytecodeGeneration(true);
+        test(new ByFieldNameBeanConverter<>(Source.class, Target.class, conf));
+    }
+
+    private static void test(final ByFieldNameBeanConverter<Source, Target> converter) {
+        final Target target = new Target();
+        target.setName("old");
+        target.setSize(1);
+        target.setNote("kept");
+
+        final Source source = new Source();
+        source.setName("new");
+        source.setSize(2);
+        Assert.assertSame(target, converter.copyInto(source, target));
+        Assert.assertEquals("new", target.getName());
+        Assert.assertEquals(2, target.getSize());
+        // a field not in the source is left as it is
+        Assert.assertEquals("kept", target.getNote());
+
+        // a null value overwrites the target field like convert does
+        source.setName(null);
+        converter.copyInto(source, target);
+        Assert.assertNull(target.getName());
+
+        // nothing is copied from a null source
+        target.setName("unchanged");
+        Assert.assertSame(target, converter.copyInto(null, target));
+        Assert.assertEquals("unchanged", target.getName());
+
+        try {
+            converter.copyInto(source, null);
+            Assert.fail("copyInto should reject a null target");
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+    }
+
+    public static class Source {
+        private String name;
+        private int size;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public void setSize(final int size) {
+            this.size = size;
+        }
+    }
+
+    public static class Target {
+        private String name;
+        private int size;
+        private String note;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public void setSize(final int size) {
+            this.size = size;
+        }
+
+        public String getNote() {
+            return note;
+        }
+
+        public void setNote(final String note) {
+            this.note = note;
+        }
+    }
+}
@@ -0,0 +1,403 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.firas.framework.bean.ByFieldNameBeanConverter;
+
+public class DeepConversionTests {
+
+    @Test
+    public void testFlat() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter<Order, OrderDto> converter =
+                new ByFieldNameBeanConverter<>(Order.class, OrderDto.class, null);
+        final OrderDto dto = converter.convert(newOrder());
+        Assert.assertEquals("order", dto.getId());
+        Assert.assertNull(dto.getAddress());
+    }
+
+    @Test
+    public void testDeep() throws NoSuchMethodException {
+        for (final boolean generation : new boolean[] {false, true}) {
+            final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+            conf.setDeepConversion(true);
+            conf.setAllowBytecodeGeneration(generation);
+            final ByFieldNameBeanConverter<Order, OrderDto> converter =
+                    new ByFieldNameBeanConverter<>(Order.class, OrderDto.class, conf);
+
+            final Order order = newOrder();
+            final OrderDto dto = converter.convert(order);
+            Assert.assertEquals("order", dto.getId());
+            Assert.assertEquals("street", dto.getAddress().getStreet());
+            Assert.assertEquals(2, dto.getItems().size());
+            Assert.assertEquals("a", dto.getItems().get(0).getName());
+            Assert.assertNull(dto.getItems().get(1));
+            Assert.assertEquals(2, dto.getItemArray().length);
+            Assert.assertEquals("a", dto.getItemArray()[0].getName());
+            Assert.assertEquals(1, dto.getTags().size());
+            Assert.assertTrue(dto.getTags().contains("tag"));
+            Assert.assertSame(order.getNames(), dto.getNames());
+            // without preserving identity, a shared Java bean is converted twice
+            Assert.assertNotSame(dto.getItems().get(0), dto.getItemArray()[0]);
+
+            Assert.assertEquals("parent", dto.getParent().getId());
+            Assert.assertNull(dto.getParent().getParent());
+        }
+    }
+
+    @Test
+    public void testPreserveIdentity() throws NoSuchMethodException {
+        for (final boolean generation : new boolean[] {false, true}) {
+            final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+            conf.setDeepConversion(true);
+            conf.setPreserveIdentity(true);
+            conf.setAllowBytecodeGeneration(generation);
+            final ByFieldNameBeanConverter<Order, OrderDto> converter =
+                    new ByFieldNameBeanConverter<>(Order.class, OrderDto.class, conf);
+
+            final Order order = newOrder();
+            order.getParent().setParent(order);
+            final OrderDto dto = converter.convert(order);
+            Assert.assertSame(dto.getItems().get(0), dto.getItemArray()[0]);
+            Assert.assertSame(dto, dto.getParent().getParent());
+
+            // each conversion is of its own object graph
+            final OrderDto another = converter.convert(order);
+            Assert.assertNotSame(dto, another);
+            Assert.assertSame(another, another.getParent().getParent());
+        }
+    }
+
+    private static Order newOrder() {
+        final Address address = new Address();
+        address.setStreet("street");
+        final Item item = new Item();
+        item.setName("a");
+        final Order parent = new Order();
+        parent.setId("parent");
+
+        final Order order = new Order();
+        order.setId("order");
+        order.setAddress(address);
+        order.setItems(Arrays.asList(item, null));
+        order.setItemArray(new Item[] {item, null});
+        order.setTags(new ArrayList<>(Arrays.asList("tag")));
+        order.setNames(new ArrayList<>(Arrays.asList("name")));
+        order.setParent(parent);
+        return order;
+    }
+
+    @Test
+    public void testMap() throws NoSuchMethodException {
+        for (final boolean generation : new boolean[] {false, true}) {
+            final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+            conf.setDeepConversion(true);
+            conf.setAllowBytecodeGeneration(generation);
+            final ByFieldNameBeanConverter<Directory, DirectoryDto> converter =
+                    new ByFieldNameBeanConverter<>(Directory.class, DirectoryDto.class, conf);
+
+            final Address address = new Address();
+            address.setStreet("street");
+            final Directory directory = new Directory();
+            directory.setAddresses(new HashMap<String, Address>());
+            directory.getAddresses().put("home", address);
+            directory.getAddresses().put("none", null);
+            directory.setSorted(new HashMap<>(directory.getAddresses()));
+            directory.setLabels(new HashMap<String, String>());
+            directory.getLabels().put("a", "b");
+            directory.setCounts(new HashMap<String, Integer>());
+
+            final DirectoryDto dto = converter.convert(directory);
+            Assert.assertEquals(2, dto.getAddresses().size());
+            Assert.assertEquals("street", dto.getAddresses().get("home").getStreet());
+            Assert.assertTrue(dto.getAddresses().containsKey("none"));
+            Assert.assertNull(dto.getAddresses().get("none"));
+            Assert.assertEquals("street", dto.getSorted().get("home").getStreet());
+            Assert.assertEquals("home", dto.getSorted().firstKey());
+            Assert.assertSame(directory.getLabels(), dto.getLabels());
+            // the values can not be converted
+            Assert.assertNull(dto.getCounts());
+        }
+    }
+
+    public static class Directory {
+        private Map<String, Address> addresses;
+        private Map<String, Address> sorted;
+        private Map<String, String> labels;
+        private Map<String, Integer> counts;
+
+        public Map<String, Address> getAddresses() {
+            return addresses;
+        }
+
+        public void setAddresses(final Map<String, Address> addresses) {
+            this.addresses = addresses;
+        }
+
+        public Map<String, Address> getSorted() {
+            return sorted;
+        }
+
+        public void setSorted(final Map<String, Address> sorted) {
+            this.sorted = sorted;
+        }
+
+        public Map<String, String> getLabels() {
+            return labels;
+        }
+
+        public void setLabels(final Map<String, String> labels) {
+            this.labels = labels;
+        }
+
+        public Map<String, Integer> getCounts() {
+            return counts;
+        }
+
+        public void setCounts(final Map<String, Integer> counts) {
+            this.counts = counts;
+        }
+    }
+
+    public static class DirectoryDto {
+        private Map<String, AddressDto> addresses;
+        private SortedMap<String, AddressDto> sorted;
+        private Map<String, String> labels;
+        private Map<String, AddressDto> counts;
+
+        public Map<String, AddressDto> getAddresses() {
+            return addresses;
+        }
+
+        public void setAddresses(final Map<String, AddressDto> addresses) {
+            this.addresses = addresses;
+        }
+
+        public SortedMap<String, AddressDto> getSorted() {
+            return sorted;
+        }
+
+        public void setSorted(final SortedMap<String, AddressDto> sorted) {
+            this.sorted = sorted;
+        }
+
+        public Map<String, String> getLabels() {
+            return labels;
+        }
+
+        public void setLabels(final Map<String, String> labels) {
+            this.labels = labels;
+        }
+
+        public Map<String, AddressDto> getCounts() {
+            return counts;
+        }
+
+        public void setCounts(final Map<String, AddressDto> counts) {
+            this.counts = counts;
+        }
+    }
+
+    public static class Address {
+        private String street;
+
+        public String getStreet() {
+            return street;
+        }
+
+        public void setStreet(final String street) {
+            this.street = street;
+        }
+    }
+
+    public static class AddressDto {
+        private String street;
+
+        public String getStreet() {
+            return street;
+        }
+
+        public void setStreet(final String street) {
+            this.street = street;
+        }
+    }
+
+    public static class Item {
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+    }
+
+    public static class ItemDto {
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+    }
+
+    public static class Order {
+        private String id;
+        private Address address;
+        private List<Item> items;
+        private Item[] itemArray;
+        private List<String> tags;
+        private List<String> names;
+        private Order parent;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(final String id) {
+            this.id = id;
+        }
+
+        public Address getAddress() {
+            return address;
+        }
+
+        public void setAddress(final Address address) {
+            this.address = address;
+        }
+
+        public List<Item> getItems() {
+            return items;
+        }
+
+        public void setItems(final List<Item> items) {
+            this.items = items;
+        }
+
+        public Item[] getItemArray() {
+            return itemArray;
+        }
+
+        public void setItemArray(final Item[] itemArray) {
+            this.itemArray = itemArray;
+        }
+
+        public List<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(final List<String> tags) {
+            this.tags = tags;
+        }
+
+        public List<String> getNames() {
+            return names;
+        }
+
+        public void setNames(final List<String> names) {
+            this.names = names;
+        }
+
+        public Order getParent() {
+            return parent;
+        }
+
+        public void setParent(final Order parent) {
+            this.parent = parent;
+        }
+    }
+
+    public static class OrderDto {
+        private String id;
+        private AddressDto address;
+        private List<ItemDto> items;
+        private ItemDto[] itemArray;
+        private Set<String> tags;
+        private List<String> names;
+        private OrderDto parent;
+
+        public String getId() {
+            return id;
+        }
+
+        public void setId(final String id) {
+            this.id = id;
+        }
+
+        public AddressDto getAddress() {
+            return address;
+        }
+
+        public void setAddress(final AddressDto address) {
+            this.address = address;
+        }
+
+        public List<ItemDto> getItems() {
+            return items;
+        }
+
+        public void setItems(final List<ItemDto> items) {
+            this.items = items;
+        }
+
+        public ItemDto[] getItemArray() {
+            return itemArray;
+        }
+
+        public void setItemArray(final ItemDto[] itemArray) {
+            this.itemArray = itemArray;
+        }
+
+        public Set<String> getTags() {
+            return tags;
+        }
+
+        public void setTags(final Set<String> tags) {
+            this.tags = tags;
+        }
+
+        public List<String> getNames() {
+            return names;
+        }
+
+        public void setNames(final List<String> names) {
+            this.names = names;
+        }
+
+        public OrderDto getParent() {
+            return parent;
+        }
+
+        public void setParent(final OrderDto parent) {
+            this.parent = parent;
+        }
+    }
+}
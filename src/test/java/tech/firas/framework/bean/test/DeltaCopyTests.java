@@ -0,0 +1,279 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.firas.framework.bean.ByFieldNameBeanConverter;
+
+public class DeltaCopyTests {
+
+    @Test
+    public void testCopyChanged() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+        conf.setDeltaCopy(true);
+        final ByFieldNameBeanConverter<Dto, Entity> converter =
+                new ByFieldNameBeanConverter<>(Dto.class, Entity.class, conf);
+        Assert.assertEquals(Arrays.asList("name", "count", "price"),
+                Arrays.asList(converter.getDeltaFieldNames()));
+
+        final Dto dto = new Dto();
+        dto.setName("a");
+        dto.setCount(1);
+        dto.setPrice(1.5);
+        final Entity entity = new Entity();
+        BitSet changed = converter.copyChanged(dto, entity);
+        Assert.assertEquals(3, changed.cardinality());
+        Assert.assertEquals(3, entity.getWrites());
+
+        changed = converter.copyChanged(dto, entity);
+        Assert.assertTrue(changed.isEmpty());
+        Assert.assertEquals(3, entity.getWrites());
+
+        dto.setCount(2);
+        changed = converter.copyChanged(dto, entity);
+        Assert.assertEquals(1, changed.cardinality());
+        Assert.assertTrue(changed.get(1));
+        Assert.assertEquals(2, entity.getCount());
+        Assert.assertEquals(4, entity.getWrites());
+
+        Assert.assertTrue(converter.copyChanged(null, entity).isEmpty());
+    }
+
+    @Test
+    public void testPrimitiveConversion() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+        conf.setDeltaCopy(true);
+        conf.setAllowPrimitiveWidening(true);
+        conf.setAllowPrimitiveNarrowing(true);
+        final ByFieldNameBeanConverter<Entity, Narrow> converter =
+                new ByFieldNameBeanConverter<>(Entity.class, Narrow.class, conf);
+        final Entity entity = new Entity();
+        entity.setCount(3);
+        entity.setPrice(2.5);
+        final Narrow narrow = new Narrow();
+        narrow.setPrice((short) 2);
+        final BitSet changed = converter.copyChanged(entity, narrow);
+        Assert.assertFalse(changed.get(Arrays.asList(converter.getDeltaFieldNames()).indexOf("price")));
+        Assert.assertTrue(changed.get(Arrays.asList(converter.getDeltaFieldNames()).indexOf("count")));
+        Assert.assertEquals(3L, narrow.getCount());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNotDeltaCopy() throws NoSuchMethodException {
+        new ByFieldNameBeanConverter<>(Dto.class, Entity.class, null).copyChanged(new Dto(), new Entity());
+    }
+
+    @Test
+    public void testNested() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+        conf.setDeltaCopy(true);
+        conf.setDeepConversion(true);
+        final ByFieldNameBeanConverter<Parent, ParentEntity> converter =
+                new ByFieldNameBeanConverter<>(Parent.class, ParentEntity.class, conf);
+        final Dto dto = new Dto();
+        dto.setName("a");
+        final Parent parent = new Parent();
+        parent.setChild(dto);
+        parent.setChildren(Arrays.asList(dto, null));
+        parent.setByName(Collections.singletonMap("a", dto));
+
+        final ParentEntity entity = new ParentEntity();
+        Assert.assertEquals(3, converter.copyChanged(parent, entity).cardinality());
+        Assert.assertEquals(3, entity.getWrites());
+        final Entity child = entity.getChild();
+
+        // Entity does not override equals, the nested Java beans are compared field by field
+        Assert.assertTrue(converter.copyChanged(parent, entity).isEmpty());
+        Assert.assertEquals(3, entity.getWrites());
+        Assert.assertSame(child, entity.getChild());
+
+        dto.setCount(2);
+        Assert.assertEquals(3, converter.copyChanged(parent, entity).cardinality());
+        Assert.assertEquals(2, entity.getChild().getCount());
+        Assert.assertEquals(2, entity.getChildren().get(0).getCount());
+        Assert.assertEquals(2, entity.getByName().get("a").getCount());
+
+        parent.setChildren(Arrays.asList(dto));
+        final BitSet changed = converter.copyChanged(parent, entity);
+        Assert.assertEquals(1, changed.cardinality());
+        Assert.assertTrue(changed.get(Arrays.asList(converter.getDeltaFieldNames()).indexOf("children")));
+    }
+
+    public static final class Parent {
+        private Dto child;
+        private List<Dto> children;
+        private Map<String, Dto> byName;
+
+        public Dto getChild() {
+            return child;
+        }
+
+        public void setChild(Dto child) {
+            this.child = child;
+        }
+
+        public List<Dto> getChildren() {
+            return children;
+        }
+
+        public void setChildren(List<Dto> children) {
+            this.children = children;
+        }
+
+        public Map<String, Dto> getByName() {
+            return byName;
+        }
+
+        public void setByName(Map<String, Dto> byName) {
+            this.byName = byName;
+        }
+    }
+
+    public static final class ParentEntity {
+        private Entity child;
+        private List<Entity> children;
+        private Map<String, Entity> byName;
+        private transient int writes;
+
+        public Entity getChild() {
+            return child;
+        }
+
+        public void setChild(Entity child) {
+            this.child = child;
+            this.writes += 1;
+        }
+
+        public List<Entity> getChildren() {
+            return children;
+        }
+
+        public void setChildren(List<Entity> children) {
+            this.children = children;
+            this.writes += 1;
+        }
+
+        public Map<String, Entity> getByName() {
+            return byName;
+        }
+
+        public void setByName(Map<String, Entity> byName) {
+            this.byName = byName;
+            this.writes += 1;
+        }
+
+        public int getWrites() {
+            return writes;
+        }
+    }
+
+    public static final class Dto {
+        private String name;
+        private int count;
+        private double price;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public void setPrice(double price) {
+            this.price = price;
+        }
+    }
+
+    public static final class Entity {
+        private String name;
+        private int count;
+        private double price;
+        private transient int writes;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+            this.writes += 1;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+            this.writes += 1;
+        }
+
+        public double getPrice() {
+            return price;
+        }
+
+        public void setPrice(double price) {
+            this.price = price;
+            this.writes += 1;
+        }
+
+        public int getWrites() {
+            return writes;
+        }
+    }
+
+    public static final class Narrow {
+        private long count;
+        private short price;
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public short getPrice() {
+            return price;
+        }
+
+        public void setPrice(short price) {
+            this.price = price;
+        }
+    }
+}
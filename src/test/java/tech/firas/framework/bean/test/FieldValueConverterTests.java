@@ -0,0 +1,271 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.test;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.firas.framework.bean.ByFieldNameBeanConverter;
+import tech.firas.framework.bean.FieldValueConverter;
+import tech.firas.framework.bean.StandardFieldValueConverter;
+
+public class FieldValueConverterTests {
+
+    @Test
+    public void testNotConverting() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter<Source, Target> converter =
+                new ByFieldNameBeanConverter<>(Source.class, Target.class, null);
+        final Target target = converter.convert(new Source());
+        Assert.assertEquals(0, target.getI());
+        Assert.assertEquals(0, target.getL());
+        Assert.assertNull(target.getE());
+        Assert.assertEquals(0, target.getAmount(), 0);
+    }
+
+    @Test
+    public void testPrimitive() throws NoSuchMethodException {
+        for (final boolean generation : new boolean[] {false, true}) {
+            final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+            conf.setAllowBytecodeGeneration(generation);
+            conf.setAllowPrimitiveWidening(true);
+            final Source source = new Source();
+            Target target = new ByFieldNameBeanConverter<>(Source.class, Target.class, conf).convert(source);
+            Assert.assertEquals(source.getI(), target.getI());
+            Assert.assertEquals(source.getF(), target.getF(), 0);
+            Assert.assertEquals(source.getC(), target.getC());
+            Assert.assertEquals(source.getB(), target.getB(), 0);
+            // narrowing is not allowed
+            Assert.assertEquals(0, target.getL());
+            Assert.assertEquals(0, target.getD());
+            Assert.assertEquals(0, target.getS());
+
+            conf.setAllowPrimitiveNarrowing(true);
+            target = new ByFieldNameBeanConverter<>(Source.class, Target.class, conf).convert(source);
+            Assert.assertEquals((int) source.getL(), target.getL());
+            Assert.assertEquals((int) source.getD(), target.getD());
+            Assert.assertEquals((byte) source.getS(), target.getS());
+        }
+    }
+
+    @Test
+    public void testFieldValueConverter() throws NoSuchMethodException {
+        for (final boolean generation : new boolean[] {false, true}) {
+            final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+            conf.setAllowBytecodeGeneration(generation);
+            conf.addFieldValueConverter(StandardFieldValueConverter.ENUM_TO_STRING);
+            conf.addFieldValueConverter(StandardFieldValueConverter.NUMBER_TO_PRIMITIVE);
+            conf.addFieldValueConverter(new FieldValueConverter() {
+                @Override
+                public boolean supports(final Class<?> srcType, final Class<?> destType) {
+                    return Date.class.equals(srcType) && long.class.equals(destType);
+                }
+
+                @Override
+                public Object convert(final Object value, final Class<?> destType) {
+                    return ((Date) value).getTime();
+                }
+            });
+            final Source source = new Source();
+            final Target target = new ByFieldNameBeanConverter<>(Source.class, Target.class, conf).convert(source);
+            Assert.assertEquals("SECOND", target.getE());
+            Assert.assertEquals(12.5, target.getAmount(), 0);
+            Assert.assertEquals(source.getDate().getTime(), target.getDate());
+        }
+    }
+
+    @Test
+    public void testStandardFieldValueConverter() throws ClassNotFoundException {
+        Assert.assertTrue(StandardFieldValueConverter.STRING_TO_ENUM.supports(String.class, Status.class));
+        Assert.assertSame(Status.SECOND, StandardFieldValueConverter.STRING_TO_ENUM.convert("SECOND", Status.class));
+        Assert.assertFalse(StandardFieldValueConverter.NUMBER_TO_PRIMITIVE.supports(BigDecimal.class, char.class));
+        Assert.assertEquals(new BigDecimal("1.5"),
+                StandardFieldValueConverter.NUMBER_TO_BIG_DECIMAL.convert(1.5, BigDecimal.class));
+
+        final Class<?> instant = Class.forName("java.time.Instant");
+        Assert.assertTrue(StandardFieldValueConverter.DATE_TO_INSTANT.supports(Date.class, instant));
+        final Date date = new Date();
+        final Object converted = StandardFieldValueConverter.DATE_TO_INSTANT.convert(date, instant);
+        Assert.assertTrue(instant.isInstance(converted));
+        Assert.assertEquals(date, StandardFieldValueConverter.INSTANT_TO_DATE.convert(converted, Date.class));
+    }
+
+    @Test
+    public void testSqlDateToInstant() throws ClassNotFoundException {
+        final Class<?> instant = Class.forName("java.time.Instant");
+        final java.sql.Date date = new java.sql.Date(86400000L);
+        Assert.assertTrue(StandardFieldValueConverter.DATE_TO_INSTANT.supports(java.sql.Date.class, instant));
+        // java.sql.Date.toInstant() throws UnsupportedOperationException
+        final Object converted = StandardFieldValueConverter.DATE_TO_INSTANT.convert(date, instant);
+        Assert.assertEquals("1970-01-02T00:00:00Z", converted.toString());
+
+        final java.sql.Time time = new java.sql.Time(1000L);
+        Assert.assertEquals(new Date(1000L), StandardFieldValueConverter.INSTANT_TO_DATE.convert(
+                StandardFieldValueConverter.DATE_TO_INSTANT.convert(time, instant), Date.class));
+    }
+
+    public enum Status {
+        FIRST, SECOND
+    }
+
+    public static class Source {
+        private int i = 1 << 20;
+        private long l = (1L << 40) + 3;
+        private double d = 3.75;
+        private float f = 1.5f;
+        private char c = 'x';
+        private short s = 300;
+        private byte b = -3;
+        private Status e = Status.SECOND;
+        private BigDecimal amount = new BigDecimal("12.5");
+        private Date date = new Date();
+
+        public int getI() {
+            return i;
+        }
+
+        public long getL() {
+            return l;
+        }
+
+        public double getD() {
+            return d;
+        }
+
+        public float getF() {
+            return f;
+        }
+
+        public char getC() {
+            return c;
+        }
+
+        public short getS() {
+            return s;
+        }
+
+        public byte getB() {
+            return b;
+        }
+
+        public Status getE() {
+            return e;
+        }
+
+        public BigDecimal getAmount() {
+            return amount;
+        }
+
+        public Date getDate() {
+            return date;
+        }
+    }
+
+    public static class Target {
+        private long i;
+        private int l;
+        private int d;
+        private double f;
+        private int c;
+        private byte s;
+        private double b;
+        private String e;
+        private double amount;
+        private long date;
+
+        public long getI() {
+            return i;
+        }
+
+        public void setI(final long i) {
+            this.i = i;
+        }
+
+        public int getL() {
+            return l;
+        }
+
+        public void setL(final int l) {
+            this.l = l;
+        }
+
+        public int getD() {
+            return d;
+        }
+
+        public void setD(final int d) {
+            this.d = d;
+        }
+
+        public double getF() {
+            return f;
+        }
+
+        public void setF(final double f) {
+            this.f = f;
+        }
+
+        public int getC() {
+            return c;
+        }
+
+        public void setC(final int c) {
+            this.c = c;
+        }
+
+        public byte getS() {
+            return s;
+        }
+
+        public void setS(final byte s) {
+            this.s = s;
+        }
+
+        public double getB() {
+            return b;
+        }
+
+        public void setB(final double b) {
+            this.b = b;
+        }
+
+        public String getE() {
+            return e;
+        }
+
+        public void setE(final String e) {
+            this.e = e;
+        }
+
+        public double getAmount() {
+            return amount;
+        }
+
+        public void setAmount(final double amount) {
+            this.amount = amount;
+        }
+
+        public long getDate() {
+            return date;
+        }
+
+        public void setDate(final long date) {
+            this.date = date;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.firas.framework.bean.ByFieldNameBeanConverter;
+import tech.firas.framework.bean.NullValueStrategy;
+
+public class FusedConversionTests {
+
+    @Test
+    public void testFuse() throws NoSuchMethodException {
+        for (final boolean generated : new boolean[] {false, true}) {
+            final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+            conf.setAllowBytecodeGeneration(generated);
+            conf.setAllowPrimitiveWidening(true);
+            final ByFieldNameBeanConverter<Entity, Domain> first =
+                    new ByFieldNameBeanConverter<>(Entity.class, Domain.class, conf);
+            final ByFieldNameBeanConverter<Domain, Dto> second =
+                    new ByFieldNameBeanConverter<>(Domain.class, Dto.class, conf);
+            final ByFieldNameBeanConverter<Entity, Dto> fused = first.andThen(second);
+
+            final Entity entity = new Entity();
+            entity.setName("abc");
+            entity.setCount(3);
+            entity.setSecret("s");
+            final Dto expected = second.convert(first.convert(entity));
+            final Dto dto = fused.convert(entity);
+            Assert.assertEquals(expected.getName(), dto.getName());
+            Assert.assertEquals(expected.getCount(), dto.getCount());
+            Assert.assertEquals(3L, dto.getCount());
+            // not copied from Entity, so the value of Dto is kept instead of the default value of Domain
+            Assert.assertEquals("dto", dto.getNote());
+        }
+    }
+
+    @Test
+    public void testFuseThree() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+        conf.setAllowPrimitiveWidening(true);
+        conf.setNullValueStrategy(NullValueStrategy.SKIP);
+        final ByFieldNameBeanConverter<Entity, Entity> fused =
+                new ByFieldNameBeanConverter<>(Entity.class, Domain.class, conf)
+                        .andThen(new ByFieldNameBeanConverter<>(Domain.class, Dto.class, conf))
+                        .andThen(new ByFieldNameBeanConverter<>(Dto.class, Entity.class,
+                                new ByFieldNameBeanConverter.Configuration()));
+        final Entity entity = new Entity();
+        entity.setName(null);
+        entity.setCount(4);
+        entity.setSecret("s");
+        final Entity converted = fused.convert(entity);
+        // skipped as null by the first converter
+        Assert.assertEquals("unnamed", converted.getName());
+        // long can not be narrowed to int by the last converter
+        Assert.assertEquals(0, converted.getCount());
+        Assert.assertNull(converted.getSecret());
+    }
+
+    public static final class Entity {
+        private String name = "unnamed";
+        private int count;
+        private String secret;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public String getSecret() {
+            return secret;
+        }
+
+        public void setSecret(String secret) {
+            this.secret = secret;
+        }
+    }
+
+    public static final class Domain {
+        private String name;
+        private long count;
+        private String note = "domain";
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public String getNote() {
+            return note;
+        }
+
+        public void setNote(String note) {
+            this.note = note;
+        }
+    }
+
+    public static final class Dto {
+        private String name;
+        private long count;
+        private String note = "dto";
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public void setCount(long count) {
+            this.count = count;
+        }
+
+        public String getNote() {
+            return note;
+        }
+
+        public void setNote(String note) {
+            this.note = note;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.test;
+
+import java.beans.ConstructorProperties;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+
+import org.junit.Assert;
+import org.junit.Assume;
+import org.junit.Test;
+
+import tech.firas.framework.bean.BeanCreator;
+import tech.firas.framework.bean.ByFieldNameBeanConverter;
+import tech.firas.framework.bean.ImmutableBeanConverter;
+import tech.firas.framework.bean.NullValueStrategy;
+
+public class ImmutableBeanConverterTests {
+
+    @Test
+    public void testAnnotatedConstructor() throws NoSuchMethodException {
+        final Value value = new ImmutableBeanConverter<>(Source.class, Value.class, null).convert(source());
+        Assert.assertEquals("abc", value.getName());
+        Assert.assertEquals(3, value.getCount());
+        Assert.assertNull(new ImmutableBeanConverter<>(Source.class, Value.class, null).convert(null));
+    }
+
+    @Test
+    public void testFactory() throws NoSuchMethodException {
+        final ImmutableBeanConverter<Source, Created> converter =
+                new ImmutableBeanConverter<>(Source.class, Created.class, null);
+        Assert.assertArrayEquals(new String[] {"count", "missing"}, converter.getParameterNames());
+        final Created created = converter.convert(source());
+        Assert.assertEquals(3, created.count);
+        Assert.assertEquals(0L, created.missing);
+    }
+
+    @Test
+    public void testConstructorProperties() throws NoSuchMethodException {
+        final Properties properties = new ImmutableBeanConverter<>(Source.class, Properties.class, null)
+                .convert(source());
+        Assert.assertEquals("abc", properties.name);
+        Assert.assertEquals(1.5, properties.price, 0.0);
+    }
+
+    @Test
+    public void testBuilder() throws NoSuchMethodException {
+        final Built built = new ImmutableBeanConverter<>(Source.class, Built.class, null).convert(source());
+        Assert.assertEquals("abc", built.name);
+        Assert.assertEquals(3, built.count);
+        Assert.assertEquals("default", built.tag);
+
+        final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+        conf.setNullValueStrategy(NullValueStrategy.SKIP);
+        final Source source = source();
+        source.setName(null);
+        Assert.assertEquals("unnamed", new ImmutableBeanConverter<>(Source.class, Built.class, conf)
+                .convert(source).name);
+        Assert.assertNull(new ImmutableBeanConverter<>(Source.class, Built.class, null).convert(source).name);
+    }
+
+    @Test
+    public void testNullPrimitive() throws NoSuchMethodException {
+        final Source source = source();
+        source.setPrice(null);
+        try {
+            new ImmutableBeanConverter<>(Source.class, Properties.class, null).convert(source);
+            Assert.fail("A null value should not be passed as a primitive parameter by default");
+        } catch (RuntimeException ex) {
+            // expected
+        }
+        final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+        conf.setNullValueStrategy(NullValueStrategy.DEFAULT_PRIMITIVE);
+        Assert.assertEquals(0.0, new ImmutableBeanConverter<>(Source.class, Properties.class, conf)
+                .convert(source).price, 0.0);
+    }
+
+    /**
+     * The record is compiled at runtime, as the tests are compiled for Java 7
+     */
+    @Test
+    public void testRecord() throws Exception {
+        try {
+            Class.class.getMethod("isRecord");
+        } catch (NoSuchMethodException ex) {
+            Assume.assumeTrue("records need Java 16 or later", false);
+        }
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        Assume.assumeNotNull(compiler);
+
+        final File dir = Files.createTempDirectory("record").toFile();
+        final File file = new File(dir, "Point.java");
+        Files.write(file.toPath(), ("package sample;\n" +
+                "public record Point(String name, int count, long missing) {}\n").getBytes(StandardCharsets.UTF_8));
+        final boolean success = compiler.getTask(new StringWriter(), null, null,
+                Arrays.asList("-d", dir.getPath()), null,
+                compiler.getStandardFileManager(null, null, null).getJavaFileObjects(file)).call();
+        Assert.assertTrue(success);
+
+        try (final URLClassLoader loader = new URLClassLoader(new URL[] {dir.toURI().toURL()},
+                ImmutableBeanConverterTests.class.getClassLoader())) {
+            final Class<?> point = loader.loadClass("sample.Point");
+            final ImmutableBeanConverter<Source, ?> converter = new ImmutableBeanConverter<>(Source.class, point, null);
+            Assert.assertArrayEquals(new String[] {"name", "count", "missing"}, converter.getParameterNames());
+            final Object converted = converter.convert(source());
+            Assert.assertEquals("abc", point.getMethod("name").invoke(converted));
+            Assert.assertEquals(3, point.getMethod("count").invoke(converted));
+            Assert.assertEquals(0L, point.getMethod("missing").invoke(converted));
+        }
+    }
+
+    @Test(expected = NoSuchMethodException.class)
+    public void testNoCreator() throws NoSuchMethodException {
+        new ImmutableBeanConverter<>(Source.class, String.class, null);
+    }
+
+    private static Source source() {
+        final Source source = new Source();
+        source.setName("abc");
+        source.setCount(3);
+        source.setPrice(1.5);
+        return source;
+    }
+
+    public static final class Source {
+        private String name;
+        private int count;
+        private Double price;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public Double getPrice() {
+            return price;
+        }
+
+        public void setPrice(Double price) {
+            this.price = price;
+        }
+    }
+
+    public static final class Value {
+        private final String name;
+        private final int count;
+
+        @BeanCreator({"name", "count"})
+        public Value(final String name, final int count) {
+            this.name = name;
+            this.count = count;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+    }
+
+    public static final class Created {
+        final int count;
+        final long missing;
+
+        private Created(final int count, final long missing) {
+            this.count = count;
+            this.missing = missing;
+        }
+
+        @BeanCreator({"count", "missing"})
+        public static Created of(final int count, final long missing) {
+            return new Created(count, missing);
+        }
+    }
+
+    public static final class Properties {
+        final String name;
+        final double price;
+
+        @ConstructorProperties({"name", "price"})
+        public Properties(final String name, final double price) {
+            this.name = name;
+            this.price = price;
+        }
+    }
+
+    public static final class Built {
+        final String name;
+        final int count;
+        final String tag;
+
+        private Built(final Builder builder) {
+            this.name = builder.name;
+            this.count = builder.count;
+            this.tag = builder.tag;
+        }
+
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        public static final class Builder {
+            private String name = "unnamed";
+            private int count;
+            private String tag = "default";
+
+            public Builder name(final String name) {
+                this.name = name;
+                return this;
+            }
+
+            public Builder withCount(final int count) {
+                this.count = count;
+                return this;
+            }
+
+            public Builder tag(final String tag) {
+                this.tag = tag;
+                return this;
+            }
+
+            public Built build() {
+                return new Built(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.firas.framework.bean.BeanConverters;
+import tech.firas.framework.bean.ByFieldNameBeanConverter;
+import tech.firas.framework.bean.ConversionInstrumentation;
+import tech.firas.framework.bean.ConversionListener;
+import tech.firas.framework.bean.ConverterMetrics;
+
+public class LazyConversionTests {
+
+    @Test
+    public void testLazy() throws Exception {
+        final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+        new ByFieldNameBeanConverter<>(Source.class, Target.class, conf);
+        Assert.assertEquals(1, Target.constructed.getAndSet(0));
+
+        conf.setLazy(true);
+        conf.setInstrumented(true);
+        final AtomicInteger created = new AtomicInteger();
+        final ConversionListener listener = new ConversionListener() {
+            @Override
+            public void converterCreated(final ConverterMetrics metrics) {
+                created.incrementAndGet();
+            }
+        };
+        ConversionInstrumentation.addListener(listener);
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final ByFieldNameBeanConverter<Source, Target> converter =
+                    new ByFieldNameBeanConverter<>(Source.class, Target.class, conf);
+            Assert.assertEquals(0, Target.constructed.get());
+            Assert.assertNull(converter.getMetrics());
+            Assert.assertEquals(0, created.get());
+
+            final List<Callable<Target>> tasks = new ArrayList<>();
+            for (int i = 0; i < 64; i += 1) {
+                tasks.add(new Callable<Target>() {
+                    @Override
+                    public Target call() {
+                        final Source source = new Source();
+                        source.setValue("value");
+                        return converter.convert(source);
+                    }
+                });
+            }
+            for (final Future<Target> future : executor.invokeAll(tasks)) {
+                Assert.assertEquals("value", future.get().getValue());
+            }
+            Assert.assertEquals(1, created.get());
+            Assert.assertEquals(64, converter.getMetrics().getInvocationCount());
+        } finally {
+            executor.shutdown();
+            ConversionInstrumentation.removeListener(listener);
+        }
+    }
+
+    /**
+     * Changing the configuration after building a lazy converter does not change the converter
+     */
+    @Test
+    public void testConfigurationCopied() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+        conf.setLazy(true);
+        final ByFieldNameBeanConverter<Source, Target> converter =
+                new ByFieldNameBeanConverter<>(Source.class, Target.class, conf);
+        conf.setInstrumented(true);
+        conf.setAllowGetTransient(true);
+        conf.getGetterConfiguration().setAllowDirectlyGetField(true);
+
+        final Source source = new Source();
+        source.setValue("value");
+        Assert.assertEquals("value", converter.convert(source).getValue());
+        Assert.assertNull(converter.getMetrics());
+        Target.constructed.set(0);
+    }
+
+    @Test
+    public void testWarmUp() throws Exception {
+        final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+        conf.setLazy(true);
+        conf.setInstrumented(true);
+        final List<ByFieldNameBeanConverter<?, ?>> converters = new ArrayList<>();
+        converters.add(new ByFieldNameBeanConverter<>(Source.class, Target.class, conf));
+        converters.add(new ByFieldNameBeanConverter<>(ByFieldNameBeanConverterTests.A.class,
+                ByFieldNameBeanConverterTests.B.class, conf));
+        converters.add(new ByFieldNameBeanConverter<>(ByFieldNameBeanConverterTests.A.class,
+                ByFieldNameBeanConverterTests.B.class, null));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            for (final Future<?> future : BeanConverters.warmUp(converters, executor)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Assert.assertNotNull(converters.get(0).getMetrics());
+        Assert.assertEquals(1, converters.get(0).getMetrics().getMappedFieldCount());
+        Assert.assertNotNull(converters.get(1).getMetrics());
+        Assert.assertNull(converters.get(2).getMetrics());
+    }
+
+    public static class Source {
+        private String value;
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(final String value) {
+            this.value = value;
+        }
+    }
+
+    public static class Target {
+        static final AtomicInteger constructed = new AtomicInteger();
+
+        private String value;
+
+        public Target() {
+            constructed.incrementAndGet();
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public void setValue(final String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.test;
+
+import java.math.BigDecimal;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.firas.framework.bean.ByFieldNameBeanConverter;
+import tech.firas.framework.bean.NullValueStrategy;
+import tech.firas.framework.bean.StandardFieldValueConverter;
+
+public class NullValueStrategyTests {
+
+    @Test(expected = RuntimeException.class)
+    public void testOverwrite() throws NoSuchMethodException {
+        new ByFieldNameBeanConverter<>(Patch.class, Target.class, null).convert(new Patch());
+    }
+
+    @Test
+    public void testSkip() throws NoSuchMethodException {
+        for (final boolean generated : new boolean[] {false, true}) {
+            final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+            conf.setNullValueStrategy(NullValueStrategy.SKIP);
+            conf.setAllowBytecodeGeneration(generated);
+            final ByFieldNameBeanConverter<Patch, Target> converter =
+                    new ByFieldNameBeanConverter<>(Patch.class, Target.class, conf);
+            final Target target = new Target();
+            target.setCount(5);
+            target.setName("old");
+            target.setEnabled(true);
+
+            final Patch patch = new Patch();
+            patch.setName("new");
+            converter.copyInto(patch, target);
+            Assert.assertEquals(5, target.getCount());
+            Assert.assertEquals("new", target.getName());
+            Assert.assertTrue(target.isEnabled());
+
+            patch.setCount(7);
+            patch.setName(null);
+            converter.copyInto(patch, target);
+            Assert.assertEquals(7, target.getCount());
+            Assert.assertEquals("new", target.getName());
+        }
+    }
+
+    @Test
+    public void testDefaultPrimitive() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+        conf.setNullValueStrategy(NullValueStrategy.DEFAULT_PRIMITIVE);
+        final ByFieldNameBeanConverter<Patch, Target> converter =
+                new ByFieldNameBeanConverter<>(Patch.class, Target.class, conf);
+        final Target target = new Target();
+        target.setCount(5);
+        target.setName("old");
+        target.setEnabled(true);
+        converter.copyInto(new Patch(), target);
+        Assert.assertEquals(0, target.getCount());
+        Assert.assertNull(target.getName());
+        Assert.assertFalse(target.isEnabled());
+    }
+
+    @Test
+    public void testDeltaCopy() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+        conf.setNullValueStrategy(NullValueStrategy.SKIP);
+        conf.setDeltaCopy(true);
+        final ByFieldNameBeanConverter<Patch, Target> converter =
+                new ByFieldNameBeanConverter<>(Patch.class, Target.class, conf);
+        final Target target = new Target();
+        target.setName("old");
+        final Patch patch = new Patch();
+        patch.setCount(0);
+        Assert.assertTrue(converter.copyChanged(patch, target).isEmpty());
+        Assert.assertEquals("old", target.getName());
+    }
+
+    @Test
+    public void testConverting() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+        conf.addFieldValueConverter(StandardFieldValueConverter.NUMBER_TO_PRIMITIVE);
+        conf.setNullValueStrategy(NullValueStrategy.SKIP);
+        final Target target = new Target();
+        target.setCount(5);
+        final AmountPatch patch = new AmountPatch();
+        new ByFieldNameBeanConverter<>(AmountPatch.class, Target.class, conf).copyInto(patch, target);
+        Assert.assertEquals(5, target.getCount());
+        patch.setCount(new BigDecimal("7.5"));
+        new ByFieldNameBeanConverter<>(AmountPatch.class, Target.class, conf).copyInto(patch, target);
+        Assert.assertEquals(7, target.getCount());
+
+        conf.setNullValueStrategy(NullValueStrategy.DEFAULT_PRIMITIVE);
+        final ByFieldNameBeanConverter<AmountPatch, Target> converter =
+                new ByFieldNameBeanConverter<>(AmountPatch.class, Target.class, conf);
+        Assert.assertEquals(7, converter.convert(patch).getCount());
+        patch.setCount(null);
+        converter.copyInto(patch, target);
+        Assert.assertEquals(0, target.getCount());
+    }
+
+    public static final class AmountPatch {
+        private BigDecimal count;
+
+        public BigDecimal getCount() {
+            return count;
+        }
+
+        public void setCount(BigDecimal count) {
+            this.count = count;
+        }
+    }
+
+    public static final class Patch {
+        private Integer count;
+        private String name;
+        private Boolean enabled;
+
+        public Integer getCount() {
+            return count;
+        }
+
+        public void setCount(Integer count) {
+            this.count = count;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public Boolean getEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(Boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+
+    public static final class Target {
+        private int count;
+        private String name;
+        private boolean enabled;
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+    }
+}
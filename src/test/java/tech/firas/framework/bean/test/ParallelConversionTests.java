@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.firas.framework.bean.ByFieldNameBeanConverter;
+import tech.firas.framework.bean.test.ByFieldNameBeanConverterTests.A;
+import tech.firas.framework.bean.test.ByFieldNameBeanConverterTests.B;
+
+public class ParallelConversionTests {
+
+    private static final int SIZE = 50000;
+
+    @Test
+    public void testParallel() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter<A, B> converter = new ByFieldNameBeanConverter<>(A.class, B.class, null);
+        final A[] array = newArray();
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertConverted(array, converter.convertAllParallel(array));
+            assertConverted(array, converter.convertAllParallel(array, pool, 100));
+            assertConverted(array, converter.convertAllParallel(Arrays.asList(array)).toArray(new B[0]));
+            assertConverted(array, converter.convertAllParallel(Arrays.asList(array), pool, 7)
+                    .toArray(new B[0]));
+            // not longer than the threshold, converted in the calling thread
+            assertConverted(array, converter.convertAllParallel(array, pool, SIZE));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * The same converter (and so the same FieldGetters / FieldSetters) used by many threads at the same time
+     */
+    @Test
+    public void testContention() throws Exception {
+        final ByFieldNameBeanConverter<A, B> converter = new ByFieldNameBeanConverter<>(A.class, B.class, null);
+        final A[] array = newArray();
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<B[]>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i += 1) {
+                futures.add(executor.submit(new Callable<B[]>() {
+                    @Override
+                    public B[] call() throws InterruptedException {
+                        start.await();
+                        final B[] result = new B[array.length];
+                        for (int j = 0; j < array.length; j += 1) {
+                            result[j] = converter.convert(array[j]);
+                        }
+                        return result;
+                    }
+                }));
+            }
+            start.countDown();
+            for (final Future<B[]> future : futures) {
+                assertConverted(array, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static A[] newArray() {
+        final A[] array = new A[SIZE];
+        for (int i = 0; i < SIZE; i += 1) {
+            array[i] = i % 97 == 0 ? null : new A();
+        }
+        return array;
+    }
+
+    private static void assertConverted(final A[] src, final B[] result) {
+        Assert.assertEquals(src.length, result.length);
+        for (int i = 0; i < src.length; i += 1) {
+            if (src[i] == null) {
+                Assert.assertNull(result[i]);
+            } else {
+                Assert.assertEquals(src[i].isAaAa(), result[i].isAaAa());
+                Assert.assertEquals(src[i].getCcCc(), result[i].getCcCc());
+                Assert.assertEquals(src[i].getDdDd(), result[i].getDdDd());
+                Assert.assertEquals(src[i].getEeEe(), result[i].getEeEe());
+                Assert.assertEquals(src[i].getFfFf(), result[i].getFfFf(), 1e-8);
+                Assert.assertEquals(src[i].getGgGg(), result[i].getGgGg());
+            }
+        }
+    }
+}
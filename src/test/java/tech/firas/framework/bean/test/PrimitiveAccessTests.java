@@ -0,0 +1,199 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.firas.framework.bean.FieldGetter;
+import tech.firas.framework.bean.FieldSetter;
+
+public class PrimitiveAccessTests {
+
+    @Test
+    public void testThroughMethods() throws Exception {
+        test(MethodBean.class, new FieldGetter.Configuration(), new FieldSetter.Configuration());
+    }
+
+    @Test
+    public void testThroughFields() throws Exception {
+        final FieldGetter.Configuration getterConf = new FieldGetter.Configuration();
+        getterConf.setAllowDirectlyGetField(true);
+        final FieldSetter.Configuration setterConf = new FieldSetter.Configuration();
+        setterConf.setAllowDirectlySetField(true);
+        test(FieldBean.class, getterConf, setterConf);
+    }
+
+    /**
+     * The typed methods on a field of a wrapper type unbox / box the value instead
+     */
+    @Test
+    public void testWrapperFields() throws Exception {
+        final WrapperBean bean = new WrapperBean();
+        final FieldGetter<WrapperBean> getter = new FieldGetter<>(WrapperBean.class,
+                WrapperBean.class.getDeclaredField("count"), new FieldGetter.Configuration());
+        final FieldSetter<WrapperBean> setter = new FieldSetter<>(WrapperBean.class,
+                WrapperBean.class.getDeclaredField("count"), new FieldSetter.Configuration());
+        setter.setLong(bean, 42L);
+        Assert.assertEquals(Long.valueOf(42L), bean.getCount());
+        Assert.assertEquals(42L, getter.getLong(bean));
+    }
+
+    private static <T> void test(final Class<T> beanClass, final FieldGetter.Configuration getterConf,
+            final FieldSetter.Configuration setterConf) throws Exception {
+        final T bean = beanClass.newInstance();
+
+        final FieldSetter<T> booleanSetter = setter(beanClass, "booleanValue", setterConf);
+        final FieldSetter<T> byteSetter = setter(beanClass, "byteValue", setterConf);
+        final FieldSetter<T> charSetter = setter(beanClass, "charValue", setterConf);
+        final FieldSetter<T> shortSetter = setter(beanClass, "shortValue", setterConf);
+        final FieldSetter<T> intSetter = setter(beanClass, "intValue", setterConf);
+        final FieldSetter<T> longSetter = setter(beanClass, "longValue", setterConf);
+        final FieldSetter<T> floatSetter = setter(beanClass, "floatValue", setterConf);
+        final FieldSetter<T> doubleSetter = setter(beanClass, "doubleValue", setterConf);
+        booleanSetter.setBoolean(bean, true);
+        byteSetter.setByte(bean, Byte.MIN_VALUE);
+        charSetter.setChar(bean, Character.MAX_VALUE);
+        shortSetter.setShort(bean, Short.MIN_VALUE);
+        intSetter.setInt(bean, Integer.MIN_VALUE);
+        longSetter.setLong(bean, Long.MAX_VALUE);
+        floatSetter.setFloat(bean, Float.MIN_VALUE);
+        doubleSetter.setDouble(bean, Double.MAX_VALUE);
+
+        Assert.assertTrue(getter(beanClass, "booleanValue", getterConf).getBoolean(bean));
+        Assert.assertEquals(Byte.MIN_VALUE, getter(beanClass, "byteValue", getterConf).getByte(bean));
+        Assert.assertEquals(Character.MAX_VALUE, getter(beanClass, "charValue", getterConf).getChar(bean));
+        Assert.assertEquals(Short.MIN_VALUE, getter(beanClass, "shortValue", getterConf).getShort(bean));
+        Assert.assertEquals(Integer.MIN_VALUE, getter(beanClass, "intValue", getterConf).getInt(bean));
+        Assert.assertEquals(Long.MAX_VALUE, getter(beanClass, "longValue", getterConf).getLong(bean));
+        Assert.assertEquals(Float.MIN_VALUE, getter(beanClass, "floatValue", getterConf).getFloat(bean), 0);
+        Assert.assertEquals(Double.MAX_VALUE, getter(beanClass, "doubleValue", getterConf).getDouble(bean), 0);
+
+        // the boxed paths agree with the typed ones
+        Assert.assertEquals(Boolean.TRUE, getter(beanClass, "booleanValue", getterConf).get(bean));
+        Assert.assertEquals(Long.MAX_VALUE, getter(beanClass, "longValue", getterConf).get(bean));
+        intSetter.set(bean, 7);
+        Assert.assertEquals(7, getter(beanClass, "intValue", getterConf).getInt(bean));
+    }
+
+    private static <T> FieldGetter<T> getter(final Class<T> beanClass, final String name,
+            final FieldGetter.Configuration conf) throws NoSuchFieldException, NoSuchMethodException {
+        return new FieldGetter<>(beanClass, beanClass.getDeclaredField(name), conf);
+    }
+
+    private static <T> FieldSetter<T> setter(final Class<T> beanClass, final String name,
+            final FieldSetter.Configuration conf) throws NoSuchFieldException, NoSuchMethodException {
+        return new FieldSetter<>(beanClass, beanClass.getDeclaredField(name), conf);
+    }
+
+    public static class FieldBean {
+        private boolean booleanValue;
+        private byte byteValue;
+        private char charValue;
+        private short shortValue;
+        private int intValue;
+        private long longValue;
+        private float floatValue;
+        private double doubleValue;
+    }
+
+    public static class MethodBean {
+        private boolean booleanValue;
+        private byte byteValue;
+        private char charValue;
+        private short shortValue;
+        private int intValue;
+        private long longValue;
+        private float floatValue;
+        private double doubleValue;
+
+        public boolean isBooleanValue() {
+            return booleanValue;
+        }
+
+        public void setBooleanValue(final boolean booleanValue) {
+            this.booleanValue = booleanValue;
+        }
+
+        public byte getByteValue() {
+            return byteValue;
+        }
+
+        public void setByteValue(final byte byteValue) {
+            this.byteValue = byteValue;
+        }
+
+        public char getCharValue() {
+            return charValue;
+        }
+
+        public void setCharValue(final char charValue) {
+            this.charValue = charValue;
+        }
+
+        public short getShortValue() {
+            return shortValue;
+        }
+
+        public void setShortValue(final short shortValue) {
+            this.shortValue = shortValue;
+        }
+
+        public int getIntValue() {
+            return intValue;
+        }
+
+        public void setIntValue(final int intValue) {
+            this.intValue = intValue;
+        }
+
+        public long getLongValue() {
+            return longValue;
+        }
+
+        public void setLongValue(final long longValue) {
+            this.longValue = longValue;
+        }
+
+        public float getFloatValue() {
+            return floatValue;
+        }
+
+        public void setFloatValue(final float floatValue) {
+            this.floatValue = floatValue;
+        }
+
+        public double getDoubleValue() {
+            return doubleValue;
+        }
+
+        public void setDoubleValue(final double doubleValue) {
+            this.doubleValue = doubleValue;
+        }
+    }
+
+    public static class WrapperBean {
+        private Long count;
+
+        public Long getCount() {
+            return count;
+        }
+
+        public void setCount(final Long count) {
+            this.count = count;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.test;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.firas.framework.bean.ByFieldNameBeanConverter;
+import tech.firas.framework.bean.FieldFilter;
+
+public class ProjectionTests {
+
+    @Test
+    public void testProject() throws NoSuchMethodException {
+        for (final boolean generated : new boolean[] {false, true}) {
+            final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+            conf.setAllowBytecodeGeneration(generated);
+            final ByFieldNameBeanConverter<ByFieldNameBeanConverterTests.A, ByFieldNameBeanConverterTests.B>
+                    converter = new ByFieldNameBeanConverter<>(ByFieldNameBeanConverterTests.A.class,
+                            ByFieldNameBeanConverterTests.B.class, conf);
+            final String[] names = converter.getMappedFieldNames();
+            Assert.assertEquals(6, names.length);
+
+            final ByFieldNameBeanConverter<ByFieldNameBeanConverterTests.A, ByFieldNameBeanConverterTests.B>
+                    projected = converter.project(Arrays.asList(names[0], names[2], "unknown"));
+            Assert.assertArrayEquals(new String[] {names[0], names[2]}, projected.getMappedFieldNames());
+            Assert.assertSame(projected, converter.project(Arrays.asList(names[2], names[0])));
+
+            final BitSet mask = new BitSet();
+            mask.set(0);
+            mask.set(2);
+            Assert.assertSame(projected, converter.project(mask));
+            Assert.assertSame(projected, converter.project(new FieldFilter() {
+                @Override
+                public boolean accept(final String fieldName) {
+                    return fieldName.equals(names[0]) || fieldName.equals(names[2]);
+                }
+            }));
+
+            final ByFieldNameBeanConverterTests.A a = new ByFieldNameBeanConverterTests.A();
+            final ByFieldNameBeanConverterTests.B full = converter.convert(a);
+            final ByFieldNameBeanConverterTests.B b = projected.convert(a);
+            final ByFieldNameBeanConverterTests.B empty = new ByFieldNameBeanConverterTests.B();
+            Assert.assertArrayEquals(converter.project(Collections.singleton(names[0])).getMappedFieldNames(),
+                    new String[] {names[0]});
+            for (int i = 0; i < names.length; i += 1) {
+                final Object expected = i == 0 || i == 2 ? get(full, names[i]) : get(empty, names[i]);
+                Assert.assertEquals(names[i], expected, get(b, names[i]));
+            }
+
+            final BitSet all = new BitSet();
+            all.set(0, 10);
+            Assert.assertSame(converter, converter.project(all));
+        }
+    }
+
+    private static Object get(final Object bean, final String fieldName) {
+        try {
+            final Field field = bean.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            return field.get(bean);
+        } catch (ReflectiveOperationException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
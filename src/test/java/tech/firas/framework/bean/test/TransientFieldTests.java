@@ -0,0 +1,109 @@
+/*
+ * Copyright 2020-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package tech.firas.framework.bean.test;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import tech.firas.framework.bean.ByFieldNameBeanConverter;
+
+public class TransientFieldTests {
+
+    @Test
+    public void testTransientSourceFieldSkippedByDefault() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter<Source, Target> converter =
+                new ByFieldNameBeanConverter<>(Source.class, Target.class, null);
+        final Target target = converter.convert(new Source("a", "b"));
+        Assert.assertEquals("a", target.getName());
+        Assert.assertNull(target.getCache());
+    }
+
+    @Test
+    public void testTransientSourceFieldCopiedIfAllowed() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+        conf.setAllowGetTransient(true);
+        final ByFieldNameBeanConverter<Source, Target> converter =
+                new ByFieldNameBeanConverter<>(Source.class, Target.class, conf);
+        final Target target = converter.convert(new Source("a", "b"));
+        Assert.assertEquals("a", target.getName());
+        Assert.assertEquals("b", target.getCache());
+    }
+
+    @Test
+    public void testTransientTargetFieldSkippedByDefault() throws NoSuchMethodException {
+        final ByFieldNameBeanConverter.Configuration conf = new ByFieldNameBeanConverter.Configuration();
+        conf.setAllowGetTransient(true);
+        final ByFieldNameBeanConverter<Source, Source> converter =
+                new ByFieldNameBeanConverter<>(Source.class, Source.class, conf);
+        final Source copy = converter.convert(new Source("a", "b"));
+        Assert.assertEquals("a", copy.getName());
+        Assert.assertNull(copy.getCache());
+
+        conf.setAllowSetTransient(true);
+        Assert.assertEquals("b", new ByFieldNameBeanConverter<>(Source.class, Source.class, conf)
+                .convert(new Source("a", "b")).getCache());
+    }
+
+    public static class Source {
+        private String name;
+        private transient String cache;
+
+        public Source() {
+        }
+
+        public Source(final String name, final String cache) {
+            this.name = name;
+            this.cache = cache;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        public String getCache() {
+            return cache;
+        }
+
+        public void setCache(final String cache) {
+            this.cache = cache;
+        }
+    }
+
+    public static class Target {
+        private String name;
+        private String cache;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        public String getCache() {
+            return cache;
+        }
+
+        public void setCache(final String cache) {
+            this.cache = cache;
+        }
+    }
+}